@@ -0,0 +1,76 @@
+package com.markl.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.markl.game.Gog;
+import com.markl.game.ai.minimax.AIMinimax;
+import com.markl.game.engine.board.Board;
+
+/**
+ * Fixed depth single threaded {@link AIMinimax} search of the side to move.
+ * Reports searches per second and searched nodes per second.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AIMinimaxBenchmark {
+
+  @Param({"2", "3", "4"})
+  public int depth;
+
+  @Param({"1", "2", "3", "4"})
+  public long seed;
+
+  @Param({"0", "20"})
+  public int plies;
+
+  private Board board;
+  private AIMinimax ai;
+
+  /** Searched nodes, reported by JMH as nodes per second */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Nodes {
+    public long nodes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      this.nodes = 0;
+    }
+  }
+
+  @Setup
+  public void setup() {
+    final Gog gog = BenchPositions.createGame(seed, plies);
+    this.board = gog.getBoard();
+    this.ai = new AIMinimax(depth, 0, 1, AIMinimax.Disposition.AGGRESSIVE);
+    gog.addAI(ai, gog.getCurrTurnMaker());
+  }
+
+  @TearDown
+  public void tearDown() {
+    ai.dispose();
+  }
+
+  @Benchmark
+  public int searchMove(Nodes nodes) {
+    final int bestMove = ai.searchMove(board);
+    nodes.nodes += ai.getNodeCount();
+    return bestMove;
+  }
+}
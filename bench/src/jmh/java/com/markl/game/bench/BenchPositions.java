@@ -0,0 +1,63 @@
+package com.markl.game.bench;
+
+import java.util.Random;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.util.Log;
+import com.markl.game.util.Utils;
+
+/**
+ * Fixed seeded positions shared by all benchmarks. A position is a seeded
+ * random board build followed by an amount of seeded random plies, so the
+ * same seed and plies always give the same position.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class BenchPositions {
+
+  /**
+   * Creates a game in PLAYING state on a fixed seeded position. WHITE always
+   * moves first.
+   *
+   * @param seed  random build and random play seed.
+   * @param plies amount of random plies to play after the build.
+   * @return Gog of the position.
+   */
+  public static Gog createGame(final long seed, final int plies) {
+    Log.setLogger(Log.NONE);
+    Utils.setRandomSeed(seed);
+
+    final Gog gog = new Gog();
+    final Board board = gog.getBoard();
+    gog.getBoardBuilder().createBoardRandomBuild();
+    gog.getBoardBuilder().build(true);
+    gog.enterGame();
+    gog.setFirstMoveMaker(Alliance.WHITE);
+    gog.start();
+
+    final Random rand = new Random(seed);
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+    for (int i = 0; i < plies && gog.isPlaying(); i++) {
+      final int movesCount = board.generateMoves(gog.getCurrTurnMaker(), moves);
+      if (movesCount == 0)
+        break;
+
+      final int move = moves[rand.nextInt(movesCount)];
+      board.move(new Move(gog.getCurrTurnMakerPlayer(), board,
+            PackedMove.getSrcTileId(move), PackedMove.getTgtTileId(move)), false);
+    }
+
+    return gog;
+  }
+
+  private BenchPositions() {
+    throw new RuntimeException("You cannot instantiate BenchPositions class");
+  }
+}
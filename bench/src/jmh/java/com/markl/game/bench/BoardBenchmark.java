@@ -0,0 +1,56 @@
+package com.markl.game.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.MoveGenerator;
+
+/**
+ * Legal move generation of the side to move.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+
+  @Param({"1", "2", "3", "4"})
+  public long seed;
+
+  @Param({"0", "20"})
+  public int plies;
+
+  private Gog gog;
+  private Board board;
+  private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+  @Setup
+  public void setup() {
+    this.gog = BenchPositions.createGame(seed, plies);
+    this.board = gog.getBoard();
+  }
+
+  @Benchmark
+  public List<Move> getLegalMoves() {
+    return board.getLegalMoves();
+  }
+
+  @Benchmark
+  public int generateMoves() {
+    return board.generateMoves(gog.getCurrTurnMaker(), moves);
+  }
+}
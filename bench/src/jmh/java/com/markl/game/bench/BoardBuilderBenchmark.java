@@ -0,0 +1,49 @@
+package com.markl.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.BoardBuilder;
+import com.markl.game.util.Log;
+import com.markl.game.util.Utils;
+
+/**
+ * Random board builds. Each invocation gets a fresh {@link BoardBuilder} since
+ * building on an already complete config does nothing.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardBuilderBenchmark {
+
+  private BoardBuilder boardBuilder;
+
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    Log.setLogger(Log.NONE);
+    Utils.setRandomSeed(1);
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    this.boardBuilder = new Gog().getBoardBuilder();
+  }
+
+  @Benchmark
+  public BoardBuilder createBoardRandomBuild() {
+    boardBuilder.createBoardRandomBuild();
+    return boardBuilder;
+  }
+}
@@ -0,0 +1,86 @@
+package com.markl.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.engine.board.Player;
+
+/**
+ * {@link Move} evaluation and execution over a fixed set of legal moves of the
+ * side to move. Scores are per move.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveBenchmark {
+
+  /** Amount of moves per invocation. Legal moves are repeated to fill it */
+  private static final int MOVES = 32;
+
+  @Param({"1", "2", "3", "4"})
+  public long seed;
+
+  @Param({"0", "20"})
+  public int plies;
+
+  private Board board;
+  private Player player;
+  private final int[] srcTileIds = new int[MOVES];
+  private final int[] tgtTileIds = new int[MOVES];
+
+  @Setup
+  public void setup() {
+    final Gog gog = BenchPositions.createGame(seed, plies);
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    final int movesCount = gog.getBoard().generateMoves(gog.getCurrTurnMaker(), moves);
+
+    if (movesCount == 0)
+      throw new IllegalStateException("No legal moves on seed " + seed + " after " + plies + " plies");
+
+    this.board = gog.getBoard();
+    this.player = gog.getCurrTurnMakerPlayer();
+    for (int i = 0; i < MOVES; i++) {
+      srcTileIds[i] = PackedMove.getSrcTileId(moves[i % movesCount]);
+      tgtTileIds[i] = PackedMove.getTgtTileId(moves[i % movesCount]);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES)
+  public void evaluate(Blackhole blackhole) {
+    for (int i = 0; i < MOVES; i++) {
+      final Move move = new Move(player, board, srcTileIds[i], tgtTileIds[i]);
+      move.evaluate();
+      blackhole.consume(move.getMoveType());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES)
+  public void executeUndoExecution(Blackhole blackhole) {
+    for (int i = 0; i < MOVES; i++) {
+      final Move move = new Move(player, board, srcTileIds[i], tgtTileIds[i]);
+      move.evaluate();
+      blackhole.consume(move.execute());
+      blackhole.consume(move.undoExecution());
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.markl.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.markl.game.Gog;
+import com.markl.game.ai.mcts.RolloutEngine;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.CompactBoard;
+
+/**
+ * Random playouts of {@link RolloutEngine} from the side to move. Reports
+ * playouts per second and played plies per second.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RolloutBenchmark {
+
+  @Param({"1", "2", "3", "4"})
+  public long seed;
+
+  @Param({"0", "20"})
+  public int plies;
+
+  @Param({"200"})
+  public int maxPlies;
+
+  private CompactBoard board;
+  private Alliance sideToMove;
+  private RolloutEngine rollout;
+
+  /** Played plies, reported by JMH as plies per second */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Plies {
+    public long plies;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      this.plies = 0;
+    }
+  }
+
+  @Setup
+  public void setup() {
+    final Gog gog = BenchPositions.createGame(seed, plies);
+    this.board = gog.getBoard().getCompactBoard();
+    this.sideToMove = gog.getCurrTurnMaker();
+    this.rollout = new RolloutEngine(seed);
+  }
+
+  @Benchmark
+  public Alliance playout(Plies plies) {
+    rollout.load(board);
+    final Alliance winner = rollout.play(sideToMove, maxPlies);
+    plies.plies += rollout.getPlyCount();
+    return winner;
+  }
+}
@@ -0,0 +1,151 @@
+package com.markl.game.control;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.Gdx;
+import com.markl.game.ai.minimax.AI;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.ui.screen.GameScreen;
+
+/**
+ * Runs the {@link AI} search on a background thread so that the render thread
+ * never blocks while the AI thinks. The search works on a copy of the game
+ * board and its chosen move is posted back to the render thread with
+ * Gdx.app.postRunnable() where it is made through {@link MoveManager}.
+ *
+ * Cancelling never waits for the search to stop. The cancelled search winds
+ * down in the background and its result is dropped, while a newly requested
+ * search is started once it has, since both would share the AI state.
+ *
+ * All methods must be called on the render thread.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class AIService {
+
+  private GameScreen gameScreen;
+  private final ExecutorService executor;
+  private boolean isSearchRunning; // Search on the executor, possibly cancelled, not yet posted back
+  private boolean isMoveRequested; // Move requested and neither applied nor cancelled
+  private int searchId = 0;        // Id of the latest requested search. Stale results are dropped
+
+  public AIService(GameScreen gameScreen) {
+    this.gameScreen = gameScreen;
+    this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, "AIService");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Starts searching the AI move in the background. Cancels any search
+   * already running, and starts once it has stopped.
+   */
+  public void requestMove() {
+    cancel();
+
+    this.isMoveRequested = true;
+    if (!isSearchRunning)
+      startSearch();
+  }
+
+  /**
+   * Cancels the requested search, if any, and drops its result. Returns
+   * right away, the search stops within its next time check.
+   */
+  public void cancel() {
+    this.searchId++;
+    this.isMoveRequested = false;
+
+    if (isSearchRunning)
+      gameScreen.gog.getAI().cancelSearch();
+  }
+
+  /**
+   * Checks if the AI is currently thinking of a move.
+   * @return boolean true if a move is requested and not yet made, else false.
+   */
+  public boolean isThinking() {
+    return this.isMoveRequested;
+  }
+
+  /**
+   * Stops the background thread and the AI. The service can not be used
+   * afterwards. Returns right away, the AI is disposed on the background
+   * thread once a running search has stopped using it.
+   */
+  public void dispose() {
+    cancel();
+
+    final AI ai = gameScreen.gog.getAI();
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        ai.dispose();
+      }
+    });
+    executor.shutdown();
+  }
+
+  private void startSearch() {
+    final AI ai = gameScreen.gog.getAI();
+    final Board board = gameScreen.board.copy();
+    final int id = this.searchId;
+
+    ai.prepareSearch();
+    this.isSearchRunning = true;
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        int bestMove = PackedMove.NONE;
+        try {
+          bestMove = ai.searchMove(board);
+        } catch (RuntimeException e) {
+          Gdx.app.error(AIService.class.getName(), "AI search failed", e);
+        } finally {
+          final int searchedMove = bestMove;
+          Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+              onSearchDone(id, searchedMove);
+            }
+          });
+        }
+      }
+    });
+  }
+
+  private void onSearchDone(int id, int bestMove) {
+    this.isSearchRunning = false;
+
+    // Search has been cancelled or superseded, start the superseding one if any
+    if (id != this.searchId) {
+      if (isMoveRequested)
+        startSearch();
+      return;
+    }
+
+    this.isMoveRequested = false;
+
+    final AI ai = gameScreen.gog.getAI();
+    if (bestMove == PackedMove.NONE ||
+        gameScreen.gog.getCurrTurnMaker() != ai.getAIAlliance())
+      return;
+
+    final Move aiMove = new Move(gameScreen.gog.getPlayer(ai.getAIAlliance()), gameScreen.board,
+        PackedMove.getSrcTileId(bestMove), PackedMove.getTgtTileId(bestMove));
+    aiMove.evaluate();
+    ai.onMoveGenerated(aiMove);
+
+    gameScreen.moveManager.makeMove(aiMove.getSrcTileId(), aiMove.getTgtTileId(), false, false, true);
+  }
+}
@@ -2,6 +2,7 @@ package com.markl.game.control;
 
 import com.markl.game.engine.board.Board;
 import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.Move.MoveType;
 import com.markl.game.engine.board.pieces.Piece;
 import com.markl.game.ui.board.PieceUI;
 import com.markl.game.ui.board.TileUI;
@@ -25,12 +26,41 @@ public class MoveManager {
 
   public void makeMove(int srcTileId, int tgtTileId, boolean isUpdateServer,
                        boolean isAiMove, boolean isAnimate) {
+    final Move newMove = new Move(gameScreen.gog.getCurrTurnMakerPlayer(), gameScreen.board, srcTileId, tgtTileId);
+
+    if (gameScreen.gameMode == GameMode.ONLINE && isUpdateServer) {
+      // The server arbitrates engagements, the move is made once it tells the outcome
+      newMove.evaluate();
+      if (newMove.getMoveType() != MoveType.INVALID)
+        gameScreen.gameClient.sendMove(srcTileId, tgtTileId);
+      gameScreen.pieceUIManager.animateRelapse(gameScreen.tilesUI.get(srcTileId).getPieceUI(), 1);
+      gameScreen.activeTileUI = null;
+      return;
+    }
+
+    executeMove(newMove, isAiMove, isAnimate);
+  }
+
+  /**
+   * Makes a move arbitrated by the server, of either player.
+   * @param moveType outcome told by the server, since the enemy ranks are unknown.
+   */
+  public void makeServerMove(int srcTileId, int tgtTileId, MoveType moveType) {
+    final Move newMove = new Move(gameScreen.gog.getCurrTurnMakerPlayer(), gameScreen.board, srcTileId, tgtTileId);
+    if (moveType != MoveType.NORMAL)
+      newMove.setBias(moveType);
+
+    executeMove(newMove, false, true);
+  }
+
+  private void executeMove(Move newMove, boolean isAiMove, boolean isAnimate) {
     gameScreen.gog.clearMoveHistoryForward();
 
+    final int srcTileId = newMove.getSrcTileId();
+    final int tgtTileId = newMove.getTgtTileId();
     final TileUI srcTileUI = gameScreen.tilesUI.get(srcTileId);
 
     final PieceUI srcPieceUI = srcTileUI.getPieceUI();
-    final Move newMove = new Move(gameScreen.gog.getCurrTurnMakerPlayer(), gameScreen.board, srcTileId, tgtTileId);
     final int moveType = gameScreen.board.move(newMove, false);
 
     if (moveType != -1) {
@@ -56,18 +86,11 @@ public class MoveManager {
       // TODO: Delete later //
       // Gdx.app.log(this.getClas().getName(), gameScreen.gog.printMoveHistory());
 
-      if (gameScreen.gameMode == GameMode.ONLINE) {
-        if (isUpdateServer)
-          gameScreen.serverSocket.updateMove(newMove);
-      } else {
-        // Make AI Move
-        if (gameScreen.gog.isPlaying() && isAiMove) {
-          if (gameScreen.gog.getCurrTurnMakerPlayer().getAlliance() ==
-              gameScreen.gog.getAI().getAIAlliance()) {
-            Move aiMove = gameScreen.gog.getAI().generateMove();
-            if (aiMove != null) // Is this necessary?
-              makeMove(aiMove.getSrcTileId(), aiMove.getTgtTileId(), false, false, true);
-              }
+      // Make AI Move in the background
+      if (gameScreen.gog.isPlaying() && isAiMove) {
+        if (gameScreen.gog.getCurrTurnMakerPlayer().getAlliance() ==
+            gameScreen.gog.getAI().getAIAlliance()) {
+          gameScreen.aiService.requestMove();
         }
       }
     } else {
@@ -81,6 +104,9 @@ public class MoveManager {
   }
 
   public boolean undoLastMove(boolean isAnimate) {
+    if (gameScreen.aiService != null)
+      gameScreen.aiService.cancel();
+
     Move lastMove = gameScreen.gog.undoMove();
     if (lastMove == null)
       return false;
@@ -123,6 +149,9 @@ public class MoveManager {
   }
 
   public boolean redoNextMove(boolean isAnimate) {
+    if (gameScreen.aiService != null)
+      gameScreen.aiService.cancel();
+
     Move nextMove = gameScreen.gog.redoMove();
     if (nextMove == null)
       return false;
@@ -170,18 +199,14 @@ public class MoveManager {
       if (isAnimate) {
         gameScreen.pieceUIManager.relocatePieceUI(srcTileId, tgtTileId);
       }
+
+      if (gameScreen.gameMode == GameMode.ONLINE && isUpdateServer)
+        gameScreen.gameClient.sendArrangement();
     } else {
       gameScreen.pieceUIManager.animateRelapse(srcPieceUI, 1);
     }
 
     gameScreen.activeTileUI = null; // Remove old origin TileUI highlight
-
-    // TODO: Update server //
-    // if (gameScreen.gameMode == GameMode.ONLINE) {
-    //  if (isUpdateServer)
-    //    gameScreen.serverSocket.updateMove(newMove);
-    // }
-
   }
 
 }
@@ -0,0 +1,419 @@
+package com.markl.game.network;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.pieces.Piece;
+import com.markl.game.ui.screen.GameScreen;
+
+/**
+ * Online game of the {@link GameScreen} against the game server, over a
+ * {@link GameTransport}.
+ *
+ * The server alone knows the ranks of the enemy pieces and arbitrates every
+ * engagement. Enemy pieces are thus placed as hidden Private placeholders,
+ * and moves of both players are made on the local board once the server
+ * tells their outcome.
+ *
+ * Events arrive on the network thread of the transport, and are decoded there
+ * and handed over to the render thread, which owns the game.
+ *
+ * A dropped connection is reconnected with backoff, resuming the match with
+ * the session token given on joining. The server then replays only the moves
+ * made after the last one applied here, onto the board as it stands, or tells
+ * the arrangement it kept if the formation has not been submitted yet.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class GameClient implements GameTransport.Listener, GameCodec.EventHandler {
+
+  public static final float MIN_RECONNECT_DELAY = 1f;  // Seconds before the first reconnection attempt
+  public static final float MAX_RECONNECT_DELAY = 16f; // Seconds between later attempts, at most
+
+  private final GameScreen gameScreen;
+  private final GameTransport transport;
+  private String matchId;            // Joined match, null if none
+  private Alliance myAlliance;       // Alliance in the joined match
+  private boolean isArranging;       // Joined and own formation not submitted yet
+  private boolean isSubmitted;       // Own formation submitted, game not started yet
+  private boolean isArrangedOffline; // Relocated while disconnected, thus newer than the server arrangement
+  private String sessionToken;       // Token to resume the joined match with, null if none
+  private int lastTurnId;            // Turn of the last move applied on the board
+  private boolean isClosing;         // Closed on purpose, not to be reconnected
+  private float reconnectDelay = MIN_RECONNECT_DELAY;
+
+  public GameClient(GameScreen gameScreen, GameTransport transport) {
+    this.gameScreen = gameScreen;
+    this.transport = transport;
+  }
+
+  /**
+   * Connects to the server and asks to be paired with any waiting player.
+   */
+  public void connect() {
+    isClosing = false;
+    transport.connect(this);
+    final ByteBuffer buf = allocate();
+    GameCodec.writeJoinAny(buf);
+    send(buf, GameTransport.NO_COALESCE);
+  }
+
+  /**
+   * Disconnects from the server for good. The server keeps the seat until the
+   * disconnection times out, after which the match is forfeited.
+   */
+  public void close() {
+    isClosing = true;
+    transport.close();
+  }
+
+  /**
+   * Tells the server the own formation as currently arranged. Called on every
+   * relocation, a burst of which is sent as the latest formation only.
+   */
+  public void sendArrangement() {
+    if (!isArranging)
+      return;
+    if (!transport.isConnected()) {
+      isArrangedOffline = true;
+      return; // Sent on resuming
+    }
+
+    final ByteBuffer buf = allocate();
+    GameCodec.writeArrange(buf, collectFormation());
+    send(buf, GameCodec.OP_ARRANGE);
+  }
+
+  /**
+   * Submits the own formation as currently arranged. The game starts once the
+   * enemy has submitted its formation too.
+   */
+  public void submitFormation() {
+    if (!isArranging)
+      return;
+
+    isArranging = false;
+    isSubmitted = true;
+    isArrangedOffline = false;
+    final ByteBuffer buf = allocate();
+    GameCodec.writeFormation(buf, collectFormation());
+    send(buf, GameCodec.OP_ARRANGE); // Supersedes a still queued arrangement
+  }
+
+  /**
+   * Asks the server to make a move of the own piece in the current turn.
+   */
+  public void sendMove(int srcTileId, int tgtTileId) {
+    final ByteBuffer buf = allocate();
+    GameCodec.writeMove(buf, gameScreen.gog.getCurrTurn(), srcTileId, tgtTileId);
+    send(buf, GameTransport.NO_COALESCE);
+  }
+
+  @Override
+  public void onConnected() {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        reconnectDelay = MIN_RECONNECT_DELAY;
+        Gdx.app.log("GameClient", "Connected");
+      }
+    });
+  }
+
+  @Override
+  public void onMessage(ByteBuffer message) {
+    try {
+      GameCodec.decodeEvent(message, this);
+    } catch (IllegalArgumentException e) {
+      Gdx.app.error("GameClient", "Malformed event", e);
+      transport.close();
+    }
+  }
+
+  @Override
+  public void onDisconnected(final String reason) {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        if (reason != null)
+          Gdx.app.log("GameClient", "Disconnected: " + reason);
+        if (isClosing || sessionToken == null)
+          return;
+
+        Gdx.app.log("GameClient", "Reconnecting in " + reconnectDelay + "s");
+        Timer.schedule(new Timer.Task() {
+          @Override
+          public void run() {
+            resume();
+          }
+        }, reconnectDelay);
+        reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY);
+      }
+    });
+  }
+
+  @Override
+  public void onJoined(final String matchId, final Alliance alliance, final String sessionToken) {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        GameClient.this.matchId = matchId;
+        GameClient.this.myAlliance = alliance;
+        GameClient.this.sessionToken = sessionToken;
+        lastTurnId = 0;
+        isSubmitted = false;
+        isArrangedOffline = false;
+        Gdx.app.log("GameClient", "Joined match " + matchId + " as " + alliance);
+
+        gameScreen.initEngine();
+        final Gog gog = gameScreen.gog;
+        gog.setMyPlayer(alliance, alliance.name());
+        gog.setEnemyPlayer(getOpponent(alliance), getOpponent(alliance).name());
+        gameScreen.isBoardInverted = alliance == Alliance.BLACK;
+        gameScreen.boardBuilder.createTerritoryRandomBuild(alliance);
+        gameScreen.initBoardUI();
+        // The own player arranges as the turn maker until the server picks the first move maker
+        gameScreen.initGame(alliance);
+
+        isArranging = true;
+        sendArrangement();
+      }
+    });
+  }
+
+  @Override
+  public void onArrangement(final byte[] formation) {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        if (!isArranging)
+          return;
+
+        if (isArrangedOffline) {
+          // Relocated since the server kept it, the own arrangement is newer
+          isArrangedOffline = false;
+          sendArrangement();
+        } else {
+          applyFormation(formation);
+        }
+      }
+    });
+  }
+
+  @Override
+  public void onResumeRejected() {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        // Match concluded and removed, or forfeited while away
+        Gdx.app.error("GameClient", "Unable to resume match " + matchId);
+        sessionToken = null;
+        matchId = null;
+        isArranging = false;
+        transport.close();
+      }
+    });
+  }
+
+  @Override
+  public void onJoinRejected(String matchId) {
+    Gdx.app.log("GameClient", "Unable to join match " + matchId);
+  }
+
+  @Override
+  public void onFormationRejected() {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        Gdx.app.error("GameClient", "Formation rejected by server");
+      }
+    });
+  }
+
+  @Override
+  public void onMatchStarted(final Alliance firstMoveMaker, final byte[] formation,
+      final long enemyOccupancy)
+  {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        final Gog gog = gameScreen.gog;
+        if (gog.isPlaying() || gog.isGameOver())
+          return; // Sent again on resuming
+
+        final Alliance enemyAlliance = getOpponent(myAlliance);
+        for (int i = 0; i < FormationBook.TERRITORY_TILES; i++) {
+          if ((enemyOccupancy & (1L << i)) == 0)
+            continue;
+
+          final int tileId = FormationBook.getTileId(enemyAlliance, i);
+          final Piece placeholder = BoardUtils.pieceInstanceCreator(gog, BoardUtils.PRIVATE_RANK,
+              gog.getEnemyPlayer(), enemyAlliance);
+          gameScreen.board.insertPiece(tileId, placeholder);
+          gog.incTotalPiecesCount(enemyAlliance);
+          gameScreen.pieceUIManager.generatePieceUI(tileId);
+        }
+
+        isArranging = false;
+        isSubmitted = false;
+        gog.setFirstMoveMaker(firstMoveMaker);
+        gog.start();
+        Gdx.app.log("GameClient", "Game Started! First Move: " + firstMoveMaker);
+      }
+    });
+  }
+
+  @Override
+  public void onMoveMade(final int turnId, final int srcTileId, final int tgtTileId,
+      final MoveType moveType)
+  {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        if (turnId <= lastTurnId)
+          return; // Already applied before resuming
+
+        if (turnId != gameScreen.gog.getCurrTurn())
+          Gdx.app.error("GameClient", "Move of turn " + turnId + " in turn " + gameScreen.gog.getCurrTurn());
+        lastTurnId = turnId;
+        gameScreen.moveManager.makeServerMove(srcTileId, tgtTileId, moveType);
+      }
+    });
+  }
+
+  @Override
+  public void onMoveRejected(int turnId) {
+    Gdx.app.log("GameClient", "Move of turn " + turnId + " rejected by server");
+  }
+
+  @Override
+  public void onGameOver(final Alliance winner) {
+    Gdx.app.postRunnable(new Runnable() {
+      @Override
+      public void run() {
+        matchId = null;
+        sessionToken = null;
+        isArranging = false;
+        isSubmitted = false;
+        final Gog gog = gameScreen.gog;
+        if (gog != null && !gog.isGameOver()) {
+          gog.endGame(winner != null ? gog.getPlayer(winner) : null);
+          gameScreen.pieceUIManager.showAllPieceUI();
+        }
+        Gdx.app.log("GameClient", "Game Over! Winner: " + winner);
+      }
+    });
+  }
+
+  /**
+   * Reconnects and resumes the joined match from the last applied move. The
+   * server tells the arrangement it kept, unless the own pieces have been
+   * relocated since, in which case the own arrangement is sent instead. A
+   * submitted formation is sent again, as it may have been lost with the
+   * connection.
+   */
+  private void resume() {
+    if (isClosing || sessionToken == null || transport.isConnected())
+      return;
+
+    Gdx.app.log("GameClient", "Resuming match " + matchId + " from turn " + lastTurnId);
+    transport.connect(this);
+    final ByteBuffer buf = allocate();
+    GameCodec.writeResume(buf, sessionToken, lastTurnId);
+    send(buf, GameTransport.NO_COALESCE);
+
+    if (isArranging && isArrangedOffline) {
+      final ByteBuffer arrangement = allocate();
+      GameCodec.writeArrange(arrangement, collectFormation());
+      send(arrangement, GameCodec.OP_ARRANGE);
+    } else if (isSubmitted) {
+      final ByteBuffer formation = allocate();
+      GameCodec.writeFormation(formation, collectFormation());
+      send(formation, GameCodec.OP_ARRANGE);
+    }
+  }
+
+  /**
+   * Places the own pieces as in the given formation, e.g. the arrangement the
+   * server kept. Ignored unless it holds the very pieces on the board.
+   */
+  private void applyFormation(byte[] formation) {
+    final byte[] current = collectFormation();
+    if (Arrays.equals(current, formation))
+      return;
+
+    final byte[] sortedCurrent = current.clone();
+    final byte[] sortedFormation = formation.clone();
+    Arrays.sort(sortedCurrent);
+    Arrays.sort(sortedFormation);
+    if (!Arrays.equals(sortedCurrent, sortedFormation)) {
+      Gdx.app.error("GameClient", "Arrangement of other pieces ignored");
+      return;
+    }
+
+    final Piece[] pieces = new Piece[FormationBook.TERRITORY_TILES];
+    for (int i = 0; i < pieces.length; i++) {
+      final int tileId = FormationBook.getTileId(myAlliance, i);
+      pieces[i] = gameScreen.board.getPiece(tileId);
+      if (pieces[i] != null) {
+        gameScreen.board.deletePiece(tileId);
+        gameScreen.pieceUIManager.removePieceUI(tileId);
+      }
+    }
+
+    for (int i = 0; i < formation.length; i++) {
+      for (int j = 0; j < pieces.length && formation[i] != BoardUtils.EMPTY_CODE; j++) {
+        if (pieces[j] != null && BoardUtils.getRankCode(pieces[j].getRank()) == formation[i]) {
+          final int tileId = FormationBook.getTileId(myAlliance, i);
+          gameScreen.board.insertPiece(tileId, pieces[j]);
+          gameScreen.pieceUIManager.generatePieceUI(tileId);
+          pieces[j] = null;
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Collects the rank codes of the own pieces by territory index.
+   */
+  private byte[] collectFormation() {
+    final byte[] formation = new byte[FormationBook.TERRITORY_TILES];
+    for (int i = 0; i < formation.length; i++) {
+      final Piece piece = gameScreen.board.getPiece(FormationBook.getTileId(myAlliance, i));
+      if (piece != null)
+        formation[i] = (byte) BoardUtils.getRankCode(piece.getRank());
+    }
+
+    return formation;
+  }
+
+  private void send(ByteBuffer buf, int coalesceKey) {
+    buf.flip();
+    if (!transport.send(buf, coalesceKey)) {
+      // Outbound queue full or already disconnected, resent once resumed
+      Gdx.app.error("GameClient", "Server unreachable, reconnecting");
+      transport.close();
+    }
+  }
+
+  private static ByteBuffer allocate() {
+    return ByteBuffer.allocate(GameCodec.MAX_MESSAGE_SIZE);
+  }
+
+  private static Alliance getOpponent(Alliance alliance) {
+    return alliance == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+  }
+
+  public String getMatchId()      { return this.matchId; }
+  public Alliance getMyAlliance() { return this.myAlliance; }
+  public boolean isArranging()    { return this.isArranging; }
+}
@@ -0,0 +1,77 @@
+package com.markl.game.network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Connection of the client to the game server, carrying whole
+ * {@link GameCodec} messages both ways.
+ *
+ * Sending never blocks. Messages are queued in a bounded outbound queue, and
+ * refused once it is full, leaving it to the caller to back off, e.g. drop
+ * the connection, rather than piling up messages a stalled network cannot
+ * carry.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public interface GameTransport {
+
+  /** Coalescing key of messages that are never replaced by later ones */
+  int NO_COALESCE = -1;
+
+  /**
+   * Connection events. Raised on the network thread of the transport, thus
+   * implementations must hand them over to the thread owning the game.
+   */
+  interface Listener {
+    /** The connection is open, queued messages are being sent */
+    void onConnected();
+
+    /**
+     * @param message one whole message, only valid during the call.
+     */
+    void onMessage(ByteBuffer message);
+
+    /**
+     * @param reason readable cause of the disconnection, null if closed by
+     *               {@link GameTransport#close()}.
+     */
+    void onDisconnected(String reason);
+  }
+
+  /**
+   * Opens the connection in the background. Messages may be sent right away
+   * and are queued until it is open. May be called again once disconnected,
+   * opening a new connection.
+   * @param listener Listener of the connection events.
+   */
+  void connect(Listener listener);
+
+  /**
+   * Queues a message for sending.
+   * @param message whole message, from its position to its limit. Retained,
+   *                thus must not be modified afterwards.
+   * @return boolean true if queued, false if the outbound queue is full or
+   *         the connection is closed.
+   */
+  boolean send(ByteBuffer message);
+
+  /**
+   * Queues a message for sending, replacing a still queued message of the same
+   * key. A burst of messages superseding each other, e.g. the formation while
+   * arranging, is thus sent as one. Such a message may be held back for a
+   * short while so that the rest of its burst has the time to replace it.
+   * @param message     whole message, see {@link #send(ByteBuffer)}.
+   * @param coalesceKey key of the superseding messages.
+   * @return boolean true if queued or replaced, false if the outbound queue is
+   *         full or the connection is closed.
+   */
+  boolean send(ByteBuffer message, int coalesceKey);
+
+  /**
+   * Closes the connection. Queued messages are dropped.
+   */
+  void close();
+
+  boolean isConnected();
+}
@@ -0,0 +1,356 @@
+package com.markl.game.network;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameTransport} over a WebSocket, on a single non blocking socket
+ * channel served by its own thread. Depends on nothing but java.nio, so that
+ * neither an HTTP client nor a JSON library is loaded on Android.
+ *
+ * Queued messages are framed into a single write buffer and written as far as
+ * the socket takes them. Whatever does not fit stays queued, up to the queue
+ * capacity, while the socket drains.
+ *
+ * A message sent with a coalescing key is held for the coalescing delay
+ * before it is framed, so that the later messages of a burst replace it
+ * rather than follow it. Messages are framed in order, thus those behind a
+ * held message wait for it too, for at most the delay.
+ *
+ * Once disconnected, the transport may be connected again, e.g. to resume the
+ * match after a dropped connection.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class WebSocketTransport implements GameTransport, Runnable {
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 32;
+  public static final long DEFAULT_COALESCE_DELAY_MILLIS = 50; // Longer than a burst of UI relocations
+
+  private static final int BUFFER_SIZE = 4096; // Read and write buffer size, fits the handshake
+
+  private final String host;
+  private final int port;
+  private final int queueCapacity;
+  private final long coalesceDelayNanos;
+  private final ArrayDeque<Pending> outbound = new ArrayDeque<>(); // Guarded by itself
+  private final Random random = new Random();                     // Mask keys need no secure random
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private final ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE); // In fill mode
+  private Listener listener;
+  private Selector selector;
+  private Thread thread;
+  private String acceptKey;              // Expected Sec-WebSocket-Accept of the handshake
+  private volatile boolean isConnected;  // Handshake done
+  private volatile boolean isClosed;     // Closed locally or dropped
+  private String closeReason;            // Reason of a close frame of the server
+
+  private final WebSocketFrames.FrameHandler frameHandler = new WebSocketFrames.FrameHandler() {
+    @Override
+    public void onFrame(int opcode, ByteBuffer payload) {
+      switch (opcode) {
+        case WebSocketFrames.OP_BINARY:
+          listener.onMessage(payload);
+          break;
+
+        case WebSocketFrames.OP_PING:
+          if (writeBuffer.remaining() >= WebSocketFrames.MAX_FRAME_SIZE)
+            WebSocketFrames.writeFrame(writeBuffer, WebSocketFrames.OP_PONG, payload, random);
+          break;
+
+        case WebSocketFrames.OP_CLOSE:
+          closeReason = "Connection closed by server";
+          break;
+
+        case WebSocketFrames.OP_PONG:
+          break;
+
+        default:
+          throw new IllegalArgumentException("Unsupported opcode " + opcode);
+      }
+    }
+  };
+
+  /**
+   * Message waiting in the outbound queue.
+   */
+  private static class Pending {
+    private ByteBuffer message;
+    private final int coalesceKey;
+    private final long dueTime; // System.nanoTime() to frame it at, kept when replaced
+
+    private Pending(ByteBuffer message, int coalesceKey, long dueTime) {
+      this.message = message;
+      this.coalesceKey = coalesceKey;
+      this.dueTime = dueTime;
+    }
+  }
+
+  public WebSocketTransport(String host, int port) {
+    this(host, port, DEFAULT_QUEUE_CAPACITY, DEFAULT_COALESCE_DELAY_MILLIS);
+  }
+
+  /**
+   * @param host                host of the game server.
+   * @param port                port of the game server.
+   * @param queueCapacity       max amount of unsent messages.
+   * @param coalesceDelayMillis time a message with a coalescing key is held
+   *                            for later messages of the same key to replace it.
+   */
+  public WebSocketTransport(String host, int port, int queueCapacity, long coalesceDelayMillis) {
+    this.host = host;
+    this.port = port;
+    this.queueCapacity = queueCapacity;
+    this.coalesceDelayNanos = TimeUnit.MILLISECONDS.toNanos(coalesceDelayMillis);
+  }
+
+  @Override
+  public void connect(Listener listener) {
+    if (thread != null) {
+      if (!isClosed)
+        throw new IllegalStateException("Transport already connected");
+      awaitThread();
+    }
+
+    try {
+      this.selector = Selector.open();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open selector", e);
+    }
+
+    readBuffer.clear();
+    writeBuffer.clear();
+    closeReason = null;
+    isConnected = false;
+    synchronized (outbound) {
+      isClosed = false;
+    }
+
+    this.listener = listener;
+    this.thread = new Thread(this, "WebSocketTransport");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public boolean send(ByteBuffer message) {
+    return send(message, NO_COALESCE);
+  }
+
+  @Override
+  public boolean send(ByteBuffer message, int coalesceKey) {
+    if (message.remaining() > WebSocketFrames.MAX_PAYLOAD_SIZE)
+      throw new IllegalArgumentException("Message of " + message.remaining() + " bytes too long");
+
+    synchronized (outbound) {
+      if (isClosed)
+        return false;
+
+      boolean isQueued = false;
+      if (coalesceKey != NO_COALESCE) {
+        for (Pending pending : outbound) {
+          if (pending.coalesceKey == coalesceKey) {
+            pending.message = message;
+            isQueued = true;
+          }
+        }
+      }
+
+      if (!isQueued) {
+        if (outbound.size() >= queueCapacity)
+          return false;
+        final long dueTime = coalesceKey != NO_COALESCE ? System.nanoTime() + coalesceDelayNanos : 0L;
+        outbound.add(new Pending(message, coalesceKey, dueTime));
+      }
+    }
+
+    if (selector != null)
+      selector.wakeup();
+    return true;
+  }
+
+  @Override
+  public void close() {
+    synchronized (outbound) {
+      isClosed = true;
+      outbound.clear();
+    }
+
+    if (selector != null)
+      selector.wakeup();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return isConnected && !isClosed;
+  }
+
+  public int getPendingCount() {
+    synchronized (outbound) {
+      return outbound.size();
+    }
+  }
+
+  @Override
+  public void run() {
+    final Selector selector = this.selector; // Replaced once reconnected
+    final Listener listener = this.listener;
+    SocketChannel channel = null;
+    String reason = null;
+
+    try {
+      channel = SocketChannel.open();
+      channel.configureBlocking(false);
+      channel.socket().setTcpNoDelay(true);
+      channel.connect(new InetSocketAddress(host, port));
+      final SelectionKey key = channel.register(selector, SelectionKey.OP_CONNECT);
+      long heldNanos = 0L; // Until the next held message is due, 0 if none
+
+      while (!isClosed) {
+        if (heldNanos > 0L)
+          selector.select(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(heldNanos)));
+        else
+          selector.select();
+        // Ready operations of unselected keys are stale, only trust a selected key
+        final boolean isSelected = selector.selectedKeys().remove(key);
+
+        if (isSelected && key.isConnectable() && channel.finishConnect()) {
+          final String clientKey = WebSocketFrames.createKey(random);
+          acceptKey = WebSocketFrames.getAcceptKey(clientKey);
+          writeBuffer.put(("GET / HTTP/1.1\r\n" +
+                "Host: " + host + ":" + port + "\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Key: " + clientKey + "\r\n" +
+                "Sec-WebSocket-Version: 13\r\n" +
+                "\r\n").getBytes(WebSocketFrames.ASCII));
+        }
+
+        if (isSelected && key.isReadable()) {
+          if (channel.read(readBuffer) < 0)
+            throw new EOFException("Connection closed by server");
+          reason = readMessages();
+          if (reason != null)
+            break;
+        }
+
+        if (channel.isConnected()) {
+          heldNanos = isConnected ? frameOutbound() : 0L;
+          writeBuffer.flip();
+          channel.write(writeBuffer);
+          writeBuffer.compact();
+          key.interestOps(SelectionKey.OP_READ | (writeBuffer.position() > 0 ? SelectionKey.OP_WRITE : 0));
+        }
+      }
+
+      // Say goodbye if closed locally, without waiting for the answer
+      if (isClosed && isConnected && writeBuffer.remaining() >= WebSocketFrames.MAX_FRAME_SIZE) {
+        WebSocketFrames.writeFrame(writeBuffer, WebSocketFrames.OP_CLOSE, ByteBuffer.allocate(0), random);
+        writeBuffer.flip();
+        channel.write(writeBuffer);
+      }
+    } catch (IOException e) {
+      reason = e.toString();
+    } catch (IllegalArgumentException e) {
+      reason = "Protocol error: " + e.getMessage();
+    } finally {
+      try {
+        if (channel != null)
+          channel.close();
+        selector.close();
+      } catch (IOException e) {
+        // Closing anyway
+      }
+
+      final boolean isClosedLocally;
+      synchronized (outbound) {
+        isClosedLocally = isClosed && reason == null;
+        isClosed = true;
+        outbound.clear();
+      }
+      isConnected = false;
+      listener.onDisconnected(isClosedLocally ? null : reason);
+    }
+  }
+
+  /**
+   * Waits for the thread of the previous connection to finish, unless called
+   * from it, i.e. from {@link Listener#onDisconnected}.
+   */
+  private void awaitThread() {
+    if (thread == Thread.currentThread())
+      return;
+
+    boolean isInterrupted = false;
+    while (thread.isAlive()) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+
+    if (isInterrupted)
+      Thread.currentThread().interrupt();
+  }
+
+  /**
+   * Completes the handshake and passes the received messages to the listener.
+   * @return String reason to disconnect, null to carry on.
+   */
+  private String readMessages() {
+    readBuffer.flip();
+
+    try {
+      if (!isConnected) {
+        final int end = WebSocketFrames.findHandshakeEnd(readBuffer);
+        if (end < 0)
+          return null;
+
+        final byte[] response = new byte[end - readBuffer.position()];
+        readBuffer.get(response);
+        final String headers = new String(response, WebSocketFrames.ASCII);
+        if (!headers.startsWith("HTTP/1.1 101") ||
+            !acceptKey.equals(WebSocketFrames.getHeader(headers, "Sec-WebSocket-Accept")))
+          return "Handshake refused: " + headers.substring(0, Math.max(0, headers.indexOf('\r')));
+
+        isConnected = true;
+        listener.onConnected();
+      }
+
+      while (closeReason == null && WebSocketFrames.readFrame(readBuffer, false, frameHandler));
+    } finally {
+      readBuffer.compact();
+    }
+
+    return closeReason;
+  }
+
+  /**
+   * Frames as many due queued messages as the write buffer takes.
+   * @return long nanoseconds until the held message at the head of the queue
+   *         is due, 0 if none is held.
+   */
+  private long frameOutbound() {
+    synchronized (outbound) {
+      while (!outbound.isEmpty() && writeBuffer.remaining() >= WebSocketFrames.MAX_FRAME_SIZE) {
+        final Pending head = outbound.peek();
+        final long heldNanos = head.dueTime - System.nanoTime();
+        if (head.dueTime != 0L && heldNanos > 0L)
+          return heldNanos;
+        WebSocketFrames.writeFrame(writeBuffer, WebSocketFrames.OP_BINARY, outbound.poll().message, random);
+      }
+    }
+
+    return 0L;
+  }
+}
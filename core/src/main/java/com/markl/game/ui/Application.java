@@ -18,6 +18,7 @@ import com.markl.game.ui.screen.GameScreen.GameMode;
 import com.markl.game.ui.screen.LoadingScreen;
 import com.markl.game.ui.screen.MainMenuScreen;
 import com.markl.game.ui.screen.SplashScreen;
+import com.markl.game.util.Log;
 
 public class Application extends Game {
 
@@ -40,6 +41,18 @@ public class Application extends Game {
 
   @Override
   public void create() {
+    // Forward engine and AI logs to the libGDX application logger
+    Log.setLogger(new Log.Logger() {
+      @Override
+      public void log(String tag, String message) { Gdx.app.log(tag, message); }
+
+      @Override
+      public void error(String tag, String message, Throwable exception) { Gdx.app.error(tag, message, exception); }
+
+      @Override
+      public void debug(String tag, String message) { Gdx.app.debug(tag, message); }
+    });
+
     assets = new AssetManager();
     batch = new SpriteBatch();
     camera = new OrthographicCamera();
@@ -143,7 +143,9 @@ public class PieceUIListener extends ClickListener {
   public boolean isPieceTouchable() {
     if (isOwnedByTurnMakerPlayer() && (gameScreen.gog.isPlaying() || gameScreen.gog.isArrangeMode())) {
       if (gameScreen.gameMode == GameMode.ONLINE)
-        return isCurrentTurnMaker();
+        return gameScreen.gog.isPlaying() ? isCurrentTurnMaker() : gameScreen.gameClient.isArranging();
+      else if (gameScreen.gameMode == GameMode.SINGLE)
+        return !gameScreen.aiService.isThinking(); // AI pieces are untouchable while it thinks
       else
         return true;
     }
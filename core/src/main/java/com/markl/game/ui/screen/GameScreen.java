@@ -24,6 +24,7 @@ import static com.markl.game.util.Constants.TILE_SIZE;
 import static com.markl.game.util.Constants.VIEWPORT_HEIGHT;
 import static com.markl.game.util.Constants.VIEWPORT_WIDTH;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -31,6 +32,7 @@ import java.util.Map;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -40,17 +42,21 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import com.markl.game.Gog;
+import com.markl.game.ai.endgame.EndgameTable;
 import com.markl.game.ai.minimax.AIMinimax;
+import com.markl.game.control.AIService;
 import com.markl.game.control.MoveManager;
 import com.markl.game.control.PieceUIManager;
 import com.markl.game.engine.board.Alliance;
 import com.markl.game.engine.board.Board;
 import com.markl.game.engine.board.BoardBuilder;
+import com.markl.game.engine.board.FormationBook;
 import com.markl.game.engine.board.Move;
 import com.markl.game.engine.board.Move.MoveType;
 import com.markl.game.engine.board.Player;
 import com.markl.game.engine.board.pieces.Piece;
-import com.markl.game.network.ServerSocket;
+import com.markl.game.network.GameClient;
+import com.markl.game.network.WebSocketTransport;
 import com.markl.game.ui.Application;
 import com.markl.game.ui.board.TileUI;
 import com.markl.game.ui.screen.window.AiDebuggerWindow;
@@ -75,6 +81,7 @@ public class GameScreen implements Screen {
   public Board board;
   public PieceUIManager pieceUIManager;
   public MoveManager moveManager;
+  public AIService aiService;
   public BoardBuilder boardBuilder;
   public Player playerBlack;
   public Player playerWhite;
@@ -99,7 +106,7 @@ public class GameScreen implements Screen {
   public AiDebuggerWindow aiDebuggerWin;
 
   // Network
-  public ServerSocket serverSocket;
+  public GameClient gameClient;
 
   public GameScreen(final Application app, GameMode gameMode) {
     this.app = app;
@@ -115,7 +122,7 @@ public class GameScreen implements Screen {
     this.hud = new GameScreenHUD(this);
 
     // TODO: Delete. For testing only!
-    aiDebuggerWin = new AiDebuggerWindow("Test", app.uiskin, this);
+    aiDebuggerWin = new AiDebuggerWindow("AI Debugger", app.uiskin, this);
     aiDebuggerWin.setWidth(VIEWPORT_WIDTH - (VIEWPORT_WIDTH / 5));
     aiDebuggerWin.setHeight(VIEWPORT_HEIGHT - (VIEWPORT_HEIGHT / 5));
     aiDebuggerWin.setZIndex(9999);
@@ -130,20 +137,25 @@ public class GameScreen implements Screen {
 
     if (gameMode == GameMode.SINGLE) {
       initEngine();
-      boardBuilder.createBoardRandomBuild();
       gog.setMyPlayer(Alliance.WHITE, "white");
       gog.setEnemyPlayer(Alliance.BLACK, "black");
-      gog.addAI(new AIMinimax(2, this, AIMinimax.Disposition.AGGRESSIVE), Alliance.BLACK);
+      final AIMinimax ai = new AIMinimax(Constants.AI_MAX_SEARCH_DEPTH, Constants.AI_THINK_TIME_MILLIS,
+            Constants.AI_SEARCH_THREADS, AIMinimax.Disposition.AGGRESSIVE);
+      ai.setEndgameTable(loadEndgameTable());
+      gog.addAI(ai, Alliance.BLACK);
       // gog.addAI(new AIDumb(), Alliance.BLACK);
+      // gog.addAI(new AIMCTS(Constants.AI_MCTS_MAX_ITERATIONS, Constants.AI_THINK_TIME_MILLIS), Alliance.BLACK);
+      gog.getAI().setFormationBook(loadFormationBook());
+      boardBuilder.createTerritoryRandomBuild(Alliance.WHITE);
+      gog.getAI().createTerritory(boardBuilder);
       initBoardUI();
       initGame(Alliance.WHITE);
 
+      this.aiService = new AIService(this);
+
       // Make AI move if first move maker
-      if (gog.getCurrTurnMakerPlayer().getAlliance() == Alliance.BLACK) {
-        Move aiMove = gog.getAI().generateMove();
-        if (aiMove != null)
-          moveManager.makeMove(aiMove.getSrcTileId(), aiMove.getTgtTileId(), false, true, true);
-      }
+      if (gog.getCurrTurnMakerPlayer().getAlliance() == Alliance.BLACK)
+        aiService.requestMove();
 
     } else if (gameMode == GameMode.LOCAL) {
       initEngine();
@@ -152,9 +164,8 @@ public class GameScreen implements Screen {
       initGame();
     } else if (gameMode == GameMode.ONLINE) {
       // Connect to server
-      this.serverSocket = new ServerSocket("localhost", 8080, this);
-      serverSocket.connectSocket();
-      serverSocket.configSocketEvents();
+      this.gameClient = new GameClient(this, new WebSocketTransport("localhost", 8080));
+      gameClient.connect();
     }
   }
 
@@ -238,6 +249,10 @@ public class GameScreen implements Screen {
   @Override
   public void dispose() {
     System.out.println("GameScreen dispose");
+    if (this.aiService != null)
+      this.aiService.dispose();
+    if (this.gameClient != null)
+      this.gameClient.close();
     this.stage.dispose();
     this.shapeRend.dispose();
   }
@@ -253,6 +268,35 @@ public class GameScreen implements Screen {
       this.moveManager = new MoveManager(this);
   }
 
+  /**
+   * Loads the formation book asset. Memory-mapped if the asset is a plain
+   * file, else read into memory, e.g. from within the Android package.
+   * @return FormationBook, null if missing or unreadable.
+   */
+  public FormationBook loadFormationBook() {
+    final FileHandle handle = Gdx.files.internal(Constants.FORMATION_BOOK_PATH);
+    if (!handle.exists())
+      return null;
+
+    try {
+      if (handle.file().isFile())
+        return FormationBook.open(handle.file());
+      return FormationBook.wrap(handle.readBytes());
+    } catch (IOException | RuntimeException e) {
+      Gdx.app.error("GameScreen", "Unable to load formation book", e);
+      return null;
+    }
+  }
+
+  public EndgameTable loadEndgameTable() {
+    try {
+      return EndgameTable.open(Gdx.files.local(Constants.ENDGAME_TABLE_PATH).file());
+    } catch (IOException | RuntimeException e) {
+      Gdx.app.error("GameScreen", "Unable to open endgame table", e);
+      return new EndgameTable();
+    }
+  }
+
   public void initBoardUI() {
     for (int i = 0; i < TOTAL_BOARD_TILES; i++) {
 
@@ -11,6 +11,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
+import com.markl.game.ui.screen.GameScreen.GameMode;
 import com.markl.game.util.Constants;
 
 /**
@@ -65,6 +66,17 @@ public class GameScreenHUD {
       public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
         gameScreen.activeTileUI = null;
         gameScreen.destTileUI = null;
+
+        if (gameScreen.gameMode == GameMode.ONLINE) {
+          // Started by the server once both formations are submitted
+          if (gameScreen.gameClient.isArranging()) {
+            gameScreen.gameClient.submitFormation();
+            startLbl.setVisible(false);
+          }
+          super.touchUp(event, x, y, pointer, button);
+          return;
+        }
+
         gameScreen.gog.start();
 
         startLbl.setVisible(false);
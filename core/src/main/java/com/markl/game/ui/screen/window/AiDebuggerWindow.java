@@ -1,12 +1,19 @@
 package com.markl.game.ui.screen.window;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Window;
+import com.badlogic.gdx.utils.Align;
+import com.markl.game.ai.minimax.AI;
+import com.markl.game.ai.minimax.AIMinimax;
+import com.markl.game.ai.minimax.SearchStats;
 import com.markl.game.ui.screen.GameScreen;
 
 /**
- * TODO Class Description.
+ * Shows the {@link SearchStats} of the AI search, updated live after every
+ * iteration while the AI thinks.
  *
  * @author Mark Lucernas
  * Created on 01/04/2021.
@@ -14,10 +21,39 @@ import com.markl.game.ui.screen.GameScreen;
 public class AiDebuggerWindow extends Window {
 
   private GameScreen gameScreen;
+  private final Label statsLbl;
+  private SearchStats shownStats; // Stats currently in the label, rebuilt only when new ones are published
 
   public AiDebuggerWindow(String title, Skin skin, GameScreen gameScreen) {
     super(title, skin);
     this.gameScreen = gameScreen;
+
+    statsLbl = new Label("", skin);
+    statsLbl.setAlignment(Align.topLeft);
+    statsLbl.setWrap(true);
+    add(statsLbl).expand().fill().pad(10);
+  }
+
+  @Override
+  public void act(float delta) {
+    super.act(delta);
+
+    final AI ai = gameScreen.gog != null ? gameScreen.gog.getAI() : null;
+    if (!(ai instanceof AIMinimax)) {
+      statsLbl.setText("No search statistics for this AI");
+      shownStats = null;
+      return;
+    }
+
+    final SearchStats stats = ((AIMinimax) ai).getSearchStats();
+    if (stats != shownStats) {
+      shownStats = stats;
+      statsLbl.setText(formatStats(stats));
+    }
+
+    // Rendering is not continuous, keep frames coming while the AI thinks
+    if (gameScreen.aiService != null && gameScreen.aiService.isThinking())
+      Gdx.graphics.requestRendering();
   }
 
   @Override
@@ -27,4 +63,21 @@ public class AiDebuggerWindow extends Window {
     super.draw(batch, parentAlpha);
   }
 
+  private static String formatStats(SearchStats stats) {
+    final StringBuilder builder = new StringBuilder();
+    builder.append(String.format("Depth: %d    Score: %d%n", stats.getDepth(), stats.getScore()));
+    builder.append(String.format("Nodes: %d    Nodes/s: %.0f    Time: %.1f ms%n", stats.getNodes(),
+          stats.getNodesPerSecond(), stats.getElapsedNanos() / 1e6));
+    builder.append(String.format("TT hit rate: %.1f%%    Branching factor: %.2f%n",
+          stats.getTTHitRate() * 100, stats.getBranchingFactor()));
+    builder.append("PV: ").append(stats.getPVString()).append('\n');
+
+    builder.append('\n').append("Iterations:").append('\n');
+    for (int depth = 1; depth <= stats.getDepth(); depth++)
+      builder.append(String.format("  depth %2d  %10d nodes  %8.1f ms%n", depth,
+            stats.getIterationNodes(depth), stats.getIterationNanos(depth) / 1e6));
+
+    return builder.toString();
+  }
+
 }
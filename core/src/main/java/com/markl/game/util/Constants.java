@@ -44,10 +44,18 @@ public class Constants {
   public static final Color TILE_INVALID_HIGHLIGHT_COLOR    = new Color(0x7f7f7fff); // GRAY
   public static final Color TILE_NORMAL_HIGHLIGHT_COLOR     = new Color(0x0000bfff); // BLUE
 
+  // AI
+  public static final int AI_MAX_SEARCH_DEPTH    = 32;
+  public static final long AI_THINK_TIME_MILLIS  = 200;
+  public static final int AI_SEARCH_THREADS      = Runtime.getRuntime().availableProcessors();
+  public static final int AI_MCTS_MAX_ITERATIONS = 100000;
+
   // Resources
   public static final String PIECE_ATLAS_PATH = "pieces/piecesTex.atlas";
   public static final String UI_SKIN_ATLAS_PATH = "skin/uiskin.atlas";
   public static final String UI_SKIN_JSON_PATH = "skin/uiskin.json";
+  public static final String FORMATION_BOOK_PATH = "formations.book";
+  public static final String ENDGAME_TABLE_PATH = "endgame.table";
 
 
   /**
@@ -0,0 +1,145 @@
+package com.markl.game.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link WebSocketTransport} merges a burst of superseding
+ * messages into a single frame, against a bare WebSocket server on a local
+ * socket.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+class WebSocketTransportTest {
+
+  private static final int TIMEOUT_MILLIS = 5000;
+  private static final long COALESCE_DELAY_MILLIS = 500; // Far longer than the burst takes
+
+  private ServerSocket server;
+  private Socket socket;
+  private WebSocketTransport transport;
+  private final ByteBuffer in = ByteBuffer.allocate(4096); // In fill mode
+  private final CountDownLatch connected = new CountDownLatch(1);
+
+  /**
+   * Records the payloads of the frames read from the transport.
+   */
+  private static class Recorder implements WebSocketFrames.FrameHandler {
+    private final List<byte[]> payloads = new ArrayList<>();
+
+    @Override
+    public void onFrame(int opcode, ByteBuffer payload) {
+      final byte[] bytes = new byte[payload.remaining()];
+      payload.get(bytes);
+      payloads.add(bytes);
+    }
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    this.transport = new WebSocketTransport(InetAddress.getLoopbackAddress().getHostAddress(),
+        server.getLocalPort(), WebSocketTransport.DEFAULT_QUEUE_CAPACITY, COALESCE_DELAY_MILLIS);
+    this.transport.connect(new GameTransport.Listener() {
+      @Override public void onConnected()                 { connected.countDown(); }
+      @Override public void onMessage(ByteBuffer message) {}
+      @Override public void onDisconnected(String reason) {}
+    });
+
+    this.socket = server.accept();
+    this.socket.setSoTimeout(TIMEOUT_MILLIS);
+    acceptHandshake();
+    assertTrue(connected.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    transport.close();
+    socket.close();
+    server.close();
+  }
+
+  @Test
+  @DisplayName("Test WebSocketTransport.send() coalescing")
+  void coalesceTest() throws IOException {
+    // A burst of arrangements, then a message that is never replaced
+    for (int i = 0; i < 20; i++)
+      assertTrue(transport.send(ByteBuffer.wrap(new byte[] { GameCodec.OP_ARRANGE, (byte) i }),
+            GameCodec.OP_ARRANGE));
+    assertTrue(transport.send(ByteBuffer.wrap(new byte[] { GameCodec.OP_MOVE })));
+    assertEquals(2, transport.getPendingCount());
+
+    // Only the last arrangement is sent, and still ahead of the later message
+    final Recorder recorder = new Recorder();
+    while (recorder.payloads.size() < 2)
+      readFrames(recorder);
+    assertEquals(2, recorder.payloads.size());
+    assertArrayEquals(new byte[] { GameCodec.OP_ARRANGE, 19 }, recorder.payloads.get(0));
+    assertArrayEquals(new byte[] { GameCodec.OP_MOVE }, recorder.payloads.get(1));
+    assertEquals(0, transport.getPendingCount());
+  }
+
+  /**
+   * Reads the opening handshake of the transport and accepts it.
+   */
+  private void acceptHandshake() throws IOException {
+    int end = -1;
+    while (end < 0) {
+      read();
+      in.flip();
+      end = WebSocketFrames.findHandshakeEnd(in);
+      in.compact();
+    }
+
+    final String headers = new String(in.array(), 0, end, WebSocketFrames.ASCII);
+    in.flip();
+    in.position(end);
+    in.compact();
+
+    final String key = WebSocketFrames.getHeader(headers, "Sec-WebSocket-Key");
+    final OutputStream out = socket.getOutputStream();
+    out.write(("HTTP/1.1 101 Switching Protocols\r\n" +
+          "Upgrade: websocket\r\n" +
+          "Connection: Upgrade\r\n" +
+          "Sec-WebSocket-Accept: " + WebSocketFrames.getAcceptKey(key) + "\r\n" +
+          "\r\n").getBytes(WebSocketFrames.ASCII));
+    out.flush();
+  }
+
+  /**
+   * Reads whatever the transport sent and passes its whole frames on.
+   */
+  private void readFrames(Recorder recorder) throws IOException {
+    read();
+    in.flip();
+    while (WebSocketFrames.readFrame(in, true, recorder));
+    in.compact();
+  }
+
+  private void read() throws IOException {
+    final InputStream stream = socket.getInputStream();
+    final int count = stream.read(in.array(), in.position(), in.remaining());
+    if (count < 0)
+      throw new IOException("Connection closed by transport");
+    in.position(in.position() + count);
+  }
+}
@@ -3,7 +3,6 @@ package com.markl.game;
 import java.util.HashMap;
 import java.util.Map;
 
-import com.badlogic.gdx.Gdx;
 import com.markl.game.ai.minimax.AI;
 import com.markl.game.engine.board.Alliance;
 import com.markl.game.engine.board.Board;
@@ -400,14 +399,4 @@ public class Gog {
   /** Modifier methods */
   public void setBoard(Board board)      { this.board = board; }
   public void setGameState(GameState gs) { this.gameState = gs; }
-
-  @Override
-  protected Object clone() throws CloneNotSupportedException {
-    Gog newGameState = new Gog();
-
-    newGameState.setFirstMoveMaker(firstMoveMaker);
-    newGameState.setMyAlliance(myAlliance);
-
-    return super.clone();
-  }
 }
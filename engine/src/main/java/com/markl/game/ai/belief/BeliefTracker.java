@@ -0,0 +1,321 @@
+package com.markl.game.ai.belief;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.pieces.Piece;
+
+/**
+ * Tracks the probability distribution over the 15 ranks of every enemy piece.
+ *
+ * Each engagement the AI takes part in rules out the enemy ranks that would
+ * not have produced the observed outcome against the known AI rank. The
+ * remaining possibilities are then balanced against the legal piece counts of
+ * {@link BoardUtils} with a few passes of iterative proportional fitting, so
+ * that e.g. pinning down the enemy Spy lowers the Spy odds of every other
+ * enemy piece. Eliminated pieces are kept since their ranks are no longer
+ * available to the remaining pieces.
+ *
+ * Distributions are recomputed only when a new engagement is observed, thus
+ * all queries by piece id are array lookups.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class BeliefTracker {
+
+  public static final int MAX_PIECES;                                    // Legal amount of pieces of a player
+  private static final int RANK_SLOTS = BoardUtils.RANK_CODE_COUNT + 1;  // Rank codes 1 to 15 indexed directly
+  public static final int ALL_RANKS_MASK = ((1 << RANK_SLOTS) - 1) & ~1;  // Rank code bits 1 to 15
+  private static final int NORMALIZE_PASSES = 16;
+
+  static {
+    int piecesCount = 0;
+    for (int rankCode = 1; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++)
+      piecesCount += BoardUtils.getRankCodeCount(rankCode);
+    MAX_PIECES = piecesCount;
+  }
+
+  private Alliance enemyAlliance;
+  private int[] slotOfPieceId = new int[MAX_PIECES * 2];             // Slot of each enemy piece id. -1 if untracked
+  private final int[] masks = new int[MAX_PIECES];                   // Possible rank codes bit mask of each slot
+  private final boolean[] isEliminated = new boolean[MAX_PIECES];
+  private final double[] probabilities = new double[MAX_PIECES * RANK_SLOTS];
+  private final double[] expectedRankCodes = new double[MAX_PIECES];
+  private final MoveType[] likelyOutcomes = new MoveType[MAX_PIECES * RANK_SLOTS * 2]; // Most likely engagement per slot, AI rank and aggressor
+  private int piecesCount;
+  private int observedTurnId;  // Id of the last observed turn
+  private Move observedMove;   // Move of the last observed turn, used to detect undone turns
+  private boolean isDirty;     // Has an observation not yet been normalized
+
+  public BeliefTracker() {
+    reset(null);
+  }
+
+  /**
+   * Forgets everything observed.
+   * @param enemyAlliance Alliance of the tracked pieces.
+   */
+  public void reset(final Alliance enemyAlliance) {
+    this.enemyAlliance = enemyAlliance;
+    this.piecesCount = 0;
+    this.observedTurnId = 0;
+    this.observedMove = null;
+    this.isDirty = true;
+    Arrays.fill(slotOfPieceId, -1);
+  }
+
+  /**
+   * Observes the turns made since the last update. Starts over if a turn has
+   * been undone in the meantime. Must be called on the game thread.
+   * @param gog           game to observe.
+   * @param enemyAlliance Alliance of the tracked pieces.
+   */
+  public void update(final Gog gog, final Alliance enemyAlliance) {
+    final Map<Integer, Move> moveHistory = gog.getMoveHistory();
+    final int lastTurnId = gog.getCurrTurn() - 1;
+
+    if (enemyAlliance != this.enemyAlliance || lastTurnId < observedTurnId ||
+        (observedTurnId > 0 && moveHistory.get(observedTurnId) != observedMove))
+      reset(enemyAlliance);
+
+    for (int turnId = observedTurnId + 1; turnId <= lastTurnId; turnId++)
+      observe(moveHistory.get(turnId));
+
+    this.observedTurnId = lastTurnId;
+    this.observedMove = lastTurnId > 0 ? moveHistory.get(lastTurnId) : null;
+
+    final Board board = gog.getBoard();
+    for (int tileId = 0; tileId < BoardUtils.TOTAL_BOARD_TILES; tileId++) {
+      final Piece piece = board.getPiece(tileId);
+      if (piece != null && piece.getAlliance() == enemyAlliance)
+        register(piece.getPieceId());
+    }
+
+    if (isDirty)
+      normalize();
+  }
+
+  /**
+   * Narrows the possible ranks of the enemy piece engaged in a move. The
+   * distributions are normalized on the next update.
+   * @param move executed Move. Ignored unless an engagement with an enemy piece.
+   */
+  public void observe(final Move move) {
+    if (move == null)
+      return;
+
+    final MoveType moveType = move.getMoveType();
+    final Piece srcPiece = move.getSrcPieceOrigin();
+    final Piece tgtPiece = move.getTgtPieceOrigin();
+
+    if (moveType == MoveType.NORMAL || moveType == MoveType.INVALID ||
+        srcPiece == null || tgtPiece == null)
+      return;
+
+    final boolean isAiAggressor = srcPiece.getAlliance() != enemyAlliance;
+    final Piece enemyPiece = isAiAggressor ? tgtPiece : srcPiece;
+    final int aiRankCode = BoardUtils.getRankCode((isAiAggressor ? srcPiece : tgtPiece).getRank());
+    final int slot = register(enemyPiece.getPieceId());
+    if (slot < 0)
+      return;
+
+    int mask = 0;
+    for (int rankCode = 1; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++) {
+      final MoveType outcome = isAiAggressor ?
+        Move.arbitrate(aiRankCode, rankCode) :
+        Move.arbitrate(rankCode, aiRankCode);
+      if (outcome == moveType)
+        mask |= 1 << rankCode;
+    }
+
+    // Contradicting outcomes, e.g. forced by a move bias, keep the old knowledge
+    if ((masks[slot] & mask) != 0)
+      masks[slot] &= mask;
+
+    if (moveType == MoveType.DRAW ||
+        (moveType == MoveType.AGGRESSIVE_WIN) == isAiAggressor)
+      isEliminated[slot] = true;
+
+    this.isDirty = true;
+  }
+
+  private int register(final int pieceId) {
+    if (pieceId < 0)
+      return -1;
+    if (pieceId >= slotOfPieceId.length) {
+      final int prevLength = slotOfPieceId.length;
+      slotOfPieceId = Arrays.copyOf(slotOfPieceId, Math.max(pieceId + 1, prevLength * 2));
+      Arrays.fill(slotOfPieceId, prevLength, slotOfPieceId.length, -1);
+    }
+
+    if (slotOfPieceId[pieceId] >= 0 || piecesCount == MAX_PIECES)
+      return slotOfPieceId[pieceId];
+
+    final int slot = piecesCount++;
+    slotOfPieceId[pieceId] = slot;
+    masks[slot] = ALL_RANKS_MASK;
+    isEliminated[slot] = false;
+    this.isDirty = true;
+    return slot;
+  }
+
+  /**
+   * Fits the distributions to both the possible ranks of each piece and the
+   * legal piece counts by alternately scaling the rank and the piece sums.
+   */
+  private void normalize() {
+    for (int slot = 0; slot < piecesCount; slot++)
+      for (int rankCode = 1; rankCode < RANK_SLOTS; rankCode++)
+        probabilities[slot * RANK_SLOTS + rankCode] = (masks[slot] & (1 << rankCode)) != 0 ? 1 : 0;
+
+    // Tracked pieces may fall short of the full set, e.g. in test builds
+    final double countScale = piecesCount / (double) MAX_PIECES;
+
+    for (int pass = 0; pass < NORMALIZE_PASSES; pass++) {
+      for (int rankCode = 1; rankCode < RANK_SLOTS; rankCode++) {
+        double sum = 0;
+        for (int slot = 0; slot < piecesCount; slot++)
+          sum += probabilities[slot * RANK_SLOTS + rankCode];
+        if (sum == 0)
+          continue;
+
+        final double scale = BoardUtils.getRankCodeCount(rankCode) * countScale / sum;
+        for (int slot = 0; slot < piecesCount; slot++)
+          probabilities[slot * RANK_SLOTS + rankCode] *= scale;
+      }
+
+      for (int slot = 0; slot < piecesCount; slot++) {
+        double sum = 0;
+        for (int rankCode = 1; rankCode < RANK_SLOTS; rankCode++)
+          sum += probabilities[slot * RANK_SLOTS + rankCode];
+        if (sum == 0)
+          continue;
+
+        for (int rankCode = 1; rankCode < RANK_SLOTS; rankCode++)
+          probabilities[slot * RANK_SLOTS + rankCode] /= sum;
+      }
+    }
+
+    for (int slot = 0; slot < piecesCount; slot++) {
+      double expectedRankCode = 0;
+      for (int rankCode = 1; rankCode < RANK_SLOTS; rankCode++)
+        expectedRankCode += rankCode * probabilities[slot * RANK_SLOTS + rankCode];
+      expectedRankCodes[slot] = expectedRankCode;
+
+      for (int aiRankCode = 1; aiRankCode < RANK_SLOTS; aiRankCode++) {
+        likelyOutcomes[(slot * RANK_SLOTS + aiRankCode) * 2] = findLikelyOutcome(slot, aiRankCode, false);
+        likelyOutcomes[(slot * RANK_SLOTS + aiRankCode) * 2 + 1] = findLikelyOutcome(slot, aiRankCode, true);
+      }
+    }
+
+    this.isDirty = false;
+  }
+
+  private MoveType findLikelyOutcome(final int slot, final int aiRankCode, final boolean isAiAggressor) {
+    double drawProbability = 0;
+    double winProbability = 0;
+    double loseProbability = 0;
+
+    for (int rankCode = 1; rankCode < RANK_SLOTS; rankCode++) {
+      final double probability = probabilities[slot * RANK_SLOTS + rankCode];
+      final MoveType outcome = isAiAggressor ?
+        Move.arbitrate(aiRankCode, rankCode) :
+        Move.arbitrate(rankCode, aiRankCode);
+
+      if (outcome == MoveType.DRAW)
+        drawProbability += probability;
+      else if (outcome == MoveType.AGGRESSIVE_WIN)
+        winProbability += probability;
+      else
+        loseProbability += probability;
+    }
+
+    if (winProbability >= loseProbability && winProbability >= drawProbability)
+      return MoveType.AGGRESSIVE_WIN;
+    else if (loseProbability >= drawProbability)
+      return MoveType.AGGRESSIVE_LOSE;
+    else
+      return MoveType.DRAW;
+  }
+
+  /**
+   * Gets the tracking slot of an enemy piece.
+   * @param pieceId id of the enemy piece.
+   * @return int slot from 0 to getPiecesCount() - 1, -1 if untracked.
+   */
+  public int getSlot(final int pieceId) {
+    return pieceId >= 0 && pieceId < slotOfPieceId.length ? slotOfPieceId[pieceId] : -1;
+  }
+
+  /**
+   * Gets the probability of an enemy piece being of a rank.
+   * @param pieceId  id of the enemy piece.
+   * @param rankCode rank code from 1 to 15.
+   * @return double probability, 0 if the piece is untracked.
+   */
+  public double getProbability(final int pieceId, final int rankCode) {
+    final int slot = getSlot(pieceId);
+    return slot >= 0 ? probabilities[slot * RANK_SLOTS + rankCode] : 0;
+  }
+
+  /**
+   * Gets the mean rank code of an enemy piece.
+   * @param pieceId id of the enemy piece.
+   * @return double expected rank code, 0 if the piece is untracked.
+   */
+  public double getExpectedRankCode(final int pieceId) {
+    final int slot = getSlot(pieceId);
+    return slot >= 0 ? expectedRankCodes[slot] : 0;
+  }
+
+  /**
+   * Gets the most likely result of an engagement between an AI piece and an
+   * enemy piece.
+   * @param pieceId       id of the enemy piece.
+   * @param aiRankCode    rank code of the AI piece.
+   * @param isAiAggressor is the AI piece the aggressor.
+   * @return MoveType DRAW, AGGRESSIVE_WIN or AGGRESSIVE_LOSE as seen by the
+   * aggressor, null if the piece is untracked.
+   */
+  public MoveType getLikelyOutcome(final int pieceId, final int aiRankCode, final boolean isAiAggressor) {
+    final int slot = getSlot(pieceId);
+    if (slot < 0)
+      return null;
+
+    return likelyOutcomes[(slot * RANK_SLOTS + aiRankCode) * 2 + (isAiAggressor ? 1 : 0)];
+  }
+
+  /**
+   * Checks if any rank of an enemy piece has been ruled out by an engagement.
+   * @param pieceId id of the enemy piece.
+   * @return boolean true if observed, else false.
+   */
+  public boolean isObserved(final int pieceId) {
+    final int slot = getSlot(pieceId);
+    return slot >= 0 && masks[slot] != ALL_RANKS_MASK;
+  }
+
+  /**
+   * Gets the possible ranks of a tracked piece.
+   * @param slot tracking slot.
+   * @return int bit mask with bit n set if rank code n is possible.
+   */
+  public int getPossibleRanks(final int slot) {
+    return masks[slot];
+  }
+
+  public boolean isEliminated(final int slot) {
+    return isEliminated[slot];
+  }
+
+  public int getPiecesCount() {
+    return this.piecesCount;
+  }
+}
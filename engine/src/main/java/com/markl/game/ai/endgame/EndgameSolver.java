@@ -0,0 +1,570 @@
+package com.markl.game.ai.endgame;
+
+import static com.markl.game.engine.board.BoardUtils.TOTAL_BOARD_TILES;
+
+import com.markl.game.ai.belief.BeliefTracker;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.MoveGenerator;
+
+/**
+ * Proof-number search proving forced wins of the AI in positions with few
+ * pieces left.
+ *
+ * The ranks of the enemy pieces are bounded by a mask of their possible
+ * ranks instead of being known. Engagement and Flag arrival outcomes are
+ * chosen by the enemy among those its possible ranks allow, narrowing the
+ * rank mask of the surviving enemy piece. Outcomes leaving the enemy without
+ * any possible Flag are impossible and skipped, and the only possible Flag
+ * left is known to be it. A win proven this way holds for any actual enemy
+ * ranks. Lines longer than {@link #MAX_PLIES} or reaching a position where
+ * the side to move can not move count as not won.
+ *
+ * Proven wins are stored in an {@link EndgameTable} as the winning move of
+ * every AI to move position of the proof, so that the rest of the endgame is
+ * played from the table.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class EndgameSolver {
+
+  public static final int MAX_PIECES = 8;           // Max pieces on the board, both sides, of solved positions
+  public static final int WIN_VALUE_BIT = 1 << 14;  // Table value of a won position, the winning move tiles | this bit
+
+  private static final int MAX_NODES = 1 << 17;
+  private static final int STOP_CHECK_INTERVAL = 255; // Expansion count mask between stop checks
+  private static final int MAX_PLIES = 48;
+  private static final int INFINITY = Integer.MAX_VALUE / 4;
+  private static final int FLAG_BIT = 1 << BoardUtils.FLAG_CODE;
+
+  // Node kinds
+  private static final byte OR_NODE = 0;    // AI to move
+  private static final byte AND_NODE = 1;   // Enemy to move
+  private static final byte SPLIT_NODE = 2; // Outcomes of a move, chosen by the enemy
+
+  // Piece entries: Tile id, enemy bit, then the rank code of an AI piece or the
+  // possible rank codes mask of an enemy piece. 0 once eliminated.
+  private static final int TILE_MASK = 0x7F;
+  private static final int ENEMY_BIT = 0x80;
+  private static final int VALUE_SHIFT = 8;
+
+  // Outcome statuses
+  private static final int ONGOING = 0;
+  private static final int AI_WIN = 1;
+  private static final int NO_WIN = 2;
+
+  private static final int MAX_MOVES = MAX_PIECES * 4;
+  private static final int MAX_OUTCOMES = 6; // Per move, by move type and whether the enemy piece is the Flag
+
+  private EndgameTable table = new EndgameTable();
+  private Alliance aiAlliance;
+  private int piecesCount;   // Piece entries per position
+  private int nodeCount;
+  private int[] proofs;
+  private int[] disproofs;
+  private int[] parents;
+  private int[] firstChildren; // -1 if not expanded
+  private int[] childCounts;
+  private int[] plies;
+  private int[] moves;         // Source Tile id | target Tile id << 7 of the move leading to the node
+  private byte[] kinds;
+  private int[] positions;     // MAX_PIECES piece entries per node
+
+  private final int[] occupants = new int[TOTAL_BOARD_TILES]; // Piece index + 1 on each Tile, 0 if empty
+  private final int[] moveSrcIndices = new int[MAX_MOVES];
+  private final int[] moveTgtTileIds = new int[MAX_MOVES];
+  private final int[] moveOutcomeCounts = new int[MAX_MOVES];
+  private final int[] outcomeTypes = new int[MAX_MOVES * MAX_OUTCOMES];    // MoveType value
+  private final int[] outcomeMasks = new int[MAX_MOVES * MAX_OUTCOMES];    // Possible ranks of the enemy piece
+  private final int[] outcomeStatuses = new int[MAX_MOVES * MAX_OUTCOMES];
+  private final int[] typeMasks = new int[4];
+
+  /**
+   * Tells a running solve to give up, e.g. once the think time of the AI is
+   * up or its search has been cancelled.
+   */
+  public interface StopCondition {
+    boolean isStopped();
+  }
+
+  public void setTable(EndgameTable table) { this.table = table; }
+  public EndgameTable getTable()           { return this.table; }
+  public int getNodeCount()                { return this.nodeCount; }
+
+  /**
+   * Tries to prove a forced win of the AI.
+   * @param board      position to solve, AI to move. At most MAX_PIECES pieces.
+   * @param aiAlliance Alliance of the AI.
+   * @param enemyMasks possible rank codes bit mask of the enemy piece on each
+   *                   Tile, bit n set if rank code n is possible.
+   * @param stop       checked every few hundred expansions, null to solve
+   *                   until proven or out of nodes.
+   * @return int winning move as source Tile id | target Tile id << 7, -1 if
+   *         no win is proven.
+   */
+  public int solve(final CompactBoard board, final Alliance aiAlliance, final int[] enemyMasks,
+      final StopCondition stop)
+  {
+    if (proofs == null)
+      allocate();
+
+    this.aiAlliance = aiAlliance;
+    this.piecesCount = 0;
+    this.nodeCount = 0;
+
+    final int root = createNode(-1, OR_NODE, 0, 0);
+    for (int tileId = 0; tileId < TOTAL_BOARD_TILES; tileId++) {
+      final int pieceCode = board.getCode(tileId);
+      if (pieceCode == BoardUtils.EMPTY_CODE)
+        continue;
+      if (piecesCount == MAX_PIECES)
+        return -1;
+
+      if (BoardUtils.getCodeAlliance(pieceCode) == aiAlliance) {
+        positions[piecesCount++] = tileId | (pieceCode & BoardUtils.RANK_CODE_MASK) << VALUE_SHIFT;
+      } else {
+        // Enemy pieces without a mask may be anything
+        final int mask = enemyMasks[tileId] != 0 ? enemyMasks[tileId] : BeliefTracker.ALL_RANKS_MASK;
+        positions[piecesCount++] = tileId | ENEMY_BIT | mask << VALUE_SHIFT;
+      }
+    }
+
+    if (!narrowFlag(root))
+      return -1;
+
+    final int cached = table.get(hash(root));
+    if (cached != EndgameTable.MISSING && (cached & WIN_VALUE_BIT) != 0)
+      return cached & ~WIN_VALUE_BIT;
+
+    proofs[root] = 1;
+    disproofs[root] = 1;
+
+    int expansions = 0;
+    while (proofs[root] != 0 && disproofs[root] != 0) {
+      if ((++expansions & STOP_CHECK_INTERVAL) == 0 && stop != null && stop.isStopped())
+        return -1;
+
+      final int node = selectMostProving(root);
+      if (!expand(node))
+        break;
+      updateAncestors(node);
+    }
+
+    if (proofs[root] != 0)
+      return -1;
+
+    storeProof(root);
+    return table.get(hash(root)) & ~WIN_VALUE_BIT;
+  }
+
+  private void allocate() {
+    this.proofs = new int[MAX_NODES];
+    this.disproofs = new int[MAX_NODES];
+    this.parents = new int[MAX_NODES];
+    this.firstChildren = new int[MAX_NODES];
+    this.childCounts = new int[MAX_NODES];
+    this.plies = new int[MAX_NODES];
+    this.moves = new int[MAX_NODES];
+    this.kinds = new byte[MAX_NODES];
+    this.positions = new int[MAX_NODES * MAX_PIECES];
+  }
+
+  private int createNode(final int parent, final byte kind, final int ply, final int move) {
+    final int node = nodeCount++;
+    parents[node] = parent;
+    kinds[node] = kind;
+    plies[node] = ply;
+    moves[node] = move;
+    firstChildren[node] = -1;
+    childCounts[node] = 0;
+    return node;
+  }
+
+  /**
+   * Follows the children that most need proving or disproving down to an
+   * unexpanded node.
+   */
+  private int selectMostProving(int node) {
+    while (firstChildren[node] >= 0) {
+      final int first = firstChildren[node];
+      final int end = first + childCounts[node];
+      int child = first;
+
+      if (kinds[node] == OR_NODE) {
+        while (child < end - 1 && proofs[child] != proofs[node])
+          child++;
+      } else {
+        while (child < end - 1 && disproofs[child] != disproofs[node])
+          child++;
+      }
+
+      node = child;
+    }
+
+    return node;
+  }
+
+  /**
+   * Generates the children of a node, with the outcomes of moves chosen by
+   * the enemy under split nodes.
+   * @return boolean false if out of nodes.
+   */
+  private boolean expand(final int node) {
+    final int base = node * MAX_PIECES;
+    final boolean isAiToMove = kinds[node] == OR_NODE;
+
+    for (int i = 0; i < TOTAL_BOARD_TILES; i++)
+      occupants[i] = 0;
+    for (int i = 0; i < piecesCount; i++)
+      if (positions[base + i] != 0)
+        occupants[positions[base + i] & TILE_MASK] = i + 1;
+
+    int movesCount = 0;
+    int splitOutcomes = 0;
+    for (int i = 0; i < piecesCount; i++) {
+      final int entry = positions[base + i];
+      if (entry == 0 || ((entry & ENEMY_BIT) == 0) != isAiToMove)
+        continue;
+
+      for (int direction = 0; direction < 4; direction++) {
+        final int tgtTileId = MoveGenerator.getAdjacentTileId(entry & TILE_MASK, direction);
+        if (tgtTileId < 0)
+          continue;
+
+        final int tgtIndex = occupants[tgtTileId] - 1;
+        if (tgtIndex >= 0 && ((positions[base + tgtIndex] ^ entry) & ENEMY_BIT) == 0)
+          continue;
+
+        final int outcomes = collectOutcomes(base, i, tgtIndex, tgtTileId, movesCount * MAX_OUTCOMES);
+        if (outcomes == 0)
+          continue;
+
+        moveSrcIndices[movesCount] = i;
+        moveTgtTileIds[movesCount] = tgtTileId;
+        moveOutcomeCounts[movesCount] = outcomes;
+        if (outcomes > 1)
+          splitOutcomes += outcomes;
+        movesCount++;
+      }
+    }
+
+    if (nodeCount + movesCount + splitOutcomes > MAX_NODES)
+      return false;
+
+    final int ply = plies[node] + 1;
+    final byte childKind = isAiToMove ? AND_NODE : OR_NODE;
+    firstChildren[node] = nodeCount;
+    childCounts[node] = movesCount;
+
+    // Direct children first so that they are contiguous
+    for (int m = 0; m < movesCount; m++) {
+      final int srcTileId = positions[base + moveSrcIndices[m]] & TILE_MASK;
+      final int move = srcTileId | moveTgtTileIds[m] << 7;
+      createNode(node, moveOutcomeCounts[m] > 1 ? SPLIT_NODE : childKind, ply, move);
+    }
+
+    for (int m = 0; m < movesCount; m++) {
+      final int child = firstChildren[node] + m;
+      final int outcomeBase = m * MAX_OUTCOMES;
+
+      if (moveOutcomeCounts[m] == 1) {
+        initChild(child, node, m, outcomeBase);
+        continue;
+      }
+
+      firstChildren[child] = nodeCount;
+      childCounts[child] = moveOutcomeCounts[m];
+      for (int k = 0; k < moveOutcomeCounts[m]; k++) {
+        final int outcome = createNode(child, childKind, ply, moves[child]);
+        initChild(outcome, node, m, outcomeBase + k);
+      }
+      computeNumbers(child);
+    }
+
+    return true;
+  }
+
+  /**
+   * Collects the outcomes of a move the enemy may choose from.
+   * @return int amount of possible outcomes.
+   */
+  private int collectOutcomes(final int base, final int srcIndex, final int tgtIndex,
+      final int tgtTileId, final int outcomeBase)
+  {
+    final int srcEntry = positions[base + srcIndex];
+    final boolean isAiMover = (srcEntry & ENEMY_BIT) == 0;
+    int count = 0;
+
+    // Other enemy pieces that may be the Flag
+    int otherFlags = 0;
+    for (int i = 0; i < piecesCount; i++) {
+      final int entry = positions[base + i];
+      if (i != srcIndex && i != tgtIndex && (entry & ENEMY_BIT) != 0 &&
+          ((entry >> VALUE_SHIFT) & FLAG_BIT) != 0)
+        otherFlags++;
+    }
+
+    if (tgtIndex < 0) {
+      final int value = srcEntry >> VALUE_SHIFT;
+      if (isAiMover) {
+        count = addOutcome(outcomeBase, count, Move.MoveType.NORMAL.getValue(), 0,
+            value == BoardUtils.FLAG_CODE && isEndRow(tgtTileId, aiAlliance) ? AI_WIN : ONGOING);
+      } else if ((value & FLAG_BIT) != 0 && isEndRow(tgtTileId, getEnemyAlliance())) {
+        // The enemy piece may be the Flag arriving at the end row
+        count = addOutcome(outcomeBase, count, Move.MoveType.NORMAL.getValue(), FLAG_BIT, NO_WIN);
+        if ((value & ~FLAG_BIT) != 0 && otherFlags > 0)
+          count = addOutcome(outcomeBase, count, Move.MoveType.NORMAL.getValue(), value & ~FLAG_BIT, ONGOING);
+      } else {
+        count = addOutcome(outcomeBase, count, Move.MoveType.NORMAL.getValue(), value, ONGOING);
+      }
+      return count;
+    }
+
+    final int tgtEntry = positions[base + tgtIndex];
+    final int aiRank = (isAiMover ? srcEntry : tgtEntry) >> VALUE_SHIFT;
+    final int enemyMask = (isAiMover ? tgtEntry : srcEntry) >> VALUE_SHIFT;
+
+    typeMasks[0] = typeMasks[2] = typeMasks[3] = 0;
+    for (int rankCode = 1; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++) {
+      if ((enemyMask & (1 << rankCode)) == 0)
+        continue;
+
+      final int type = (isAiMover ? Move.arbitrate(aiRank, rankCode) : Move.arbitrate(rankCode, aiRank)).getValue();
+      if (rankCode != BoardUtils.FLAG_CODE) {
+        typeMasks[type] |= 1 << rankCode;
+        continue;
+      }
+
+      // The enemy Flag engaged. Flags never draw.
+      final boolean isEnemyFlagLost = (type == Move.MoveType.AGGRESSIVE_WIN.getValue()) == isAiMover;
+      count = addOutcome(outcomeBase, count, type, FLAG_BIT, isEnemyFlagLost ? AI_WIN : NO_WIN);
+    }
+
+    for (int type = 0; type < 4; type++) {
+      final int mask = typeMasks[type];
+      if (type == 1 || mask == 0)
+        continue;
+
+      final boolean isEnemyLost = type == 0 || (type == Move.MoveType.AGGRESSIVE_WIN.getValue()) == isAiMover;
+      final boolean isAiLost = type == 0 || !isEnemyLost;
+
+      if (isAiLost && aiRank == BoardUtils.FLAG_CODE)
+        count = addOutcome(outcomeBase, count, type, mask, NO_WIN);
+      else if (otherFlags > 0)
+        count = addOutcome(outcomeBase, count, type, mask, ONGOING);
+    }
+
+    return count;
+  }
+
+  private int addOutcome(final int outcomeBase, final int count, final int type,
+      final int mask, final int status)
+  {
+    outcomeTypes[outcomeBase + count] = type;
+    outcomeMasks[outcomeBase + count] = mask;
+    outcomeStatuses[outcomeBase + count] = status;
+    return count + 1;
+  }
+
+  /**
+   * Sets the position and the proof numbers of a new child from an outcome
+   * of a move of its parent position.
+   */
+  private void initChild(final int child, final int node, final int m, final int outcome) {
+    final int base = node * MAX_PIECES;
+    final int childBase = child * MAX_PIECES;
+    System.arraycopy(positions, base, positions, childBase, piecesCount);
+
+    final int srcIndex = moveSrcIndices[m];
+    final int tgtTileId = moveTgtTileIds[m];
+    final int tgtIndex = occupants[tgtTileId] - 1;
+    final int srcEntry = positions[base + srcIndex];
+    final boolean isAiMover = (srcEntry & ENEMY_BIT) == 0;
+    final int mask = outcomeMasks[outcome];
+    final int movedEntry = (srcEntry & ~TILE_MASK) | tgtTileId;
+
+    switch (outcomeTypes[outcome]) {
+      case 0: // DRAW
+        positions[childBase + srcIndex] = 0;
+        positions[childBase + tgtIndex] = 0;
+        break;
+
+      case 1: // NORMAL
+        positions[childBase + srcIndex] = isAiMover ? movedEntry : withMask(movedEntry, mask);
+        break;
+
+      case 2: // AGGRESSIVE_WIN
+        positions[childBase + tgtIndex] = 0;
+        positions[childBase + srcIndex] = isAiMover ? movedEntry : withMask(movedEntry, mask);
+        break;
+
+      case 3: // AGGRESSIVE_LOSE
+        positions[childBase + srcIndex] = 0;
+        if (isAiMover)
+          positions[childBase + tgtIndex] = withMask(positions[base + tgtIndex], mask);
+        break;
+    }
+
+    switch (outcomeStatuses[outcome]) {
+      case AI_WIN:
+        proofs[child] = 0;
+        disproofs[child] = INFINITY;
+        return;
+
+      case NO_WIN:
+        proofs[child] = INFINITY;
+        disproofs[child] = 0;
+        return;
+    }
+
+    narrowFlag(child);
+
+    if (kinds[child] == OR_NODE) {
+      final int cached = table.get(hash(child));
+      if (cached != EndgameTable.MISSING && (cached & WIN_VALUE_BIT) != 0) {
+        proofs[child] = 0;
+        disproofs[child] = INFINITY;
+        return;
+      }
+    }
+
+    if (plies[child] >= MAX_PLIES) {
+      proofs[child] = INFINITY;
+      disproofs[child] = 0;
+    } else {
+      proofs[child] = 1;
+      disproofs[child] = 1;
+    }
+  }
+
+  /**
+   * Knows the only enemy piece that may be the Flag to be it.
+   * @return boolean false if no enemy piece may be the Flag.
+   */
+  private boolean narrowFlag(final int node) {
+    final int base = node * MAX_PIECES;
+    int flagIndex = -1;
+
+    for (int i = 0; i < piecesCount; i++) {
+      final int entry = positions[base + i];
+      if ((entry & ENEMY_BIT) != 0 && ((entry >> VALUE_SHIFT) & FLAG_BIT) != 0) {
+        if (flagIndex >= 0)
+          return true;
+        flagIndex = i;
+      }
+    }
+
+    if (flagIndex < 0)
+      return false;
+
+    positions[base + flagIndex] = withMask(positions[base + flagIndex], FLAG_BIT);
+    return true;
+  }
+
+  private void updateAncestors(int node) {
+    while (node >= 0) {
+      computeNumbers(node);
+      node = parents[node];
+    }
+  }
+
+  private void computeNumbers(final int node) {
+    final int first = firstChildren[node];
+    final int count = childCounts[node];
+
+    // A side that can not move does not lose, but the AI has not won either
+    if (count == 0) {
+      proofs[node] = INFINITY;
+      disproofs[node] = 0;
+      return;
+    }
+
+    if (kinds[node] == OR_NODE) {
+      int proof = INFINITY;
+      int disproof = 0;
+      for (int child = first; child < first + count; child++) {
+        proof = Math.min(proof, proofs[child]);
+        disproof = Math.min(INFINITY, disproof + disproofs[child]);
+      }
+      proofs[node] = proof;
+      disproofs[node] = disproof;
+    } else {
+      int proof = 0;
+      int disproof = INFINITY;
+      for (int child = first; child < first + count; child++) {
+        proof = Math.min(INFINITY, proof + proofs[child]);
+        disproof = Math.min(disproof, disproofs[child]);
+      }
+      proofs[node] = proof;
+      disproofs[node] = disproof;
+    }
+  }
+
+  /**
+   * Stores the winning move of every AI to move position of a proven tree.
+   */
+  private void storeProof(final int node) {
+    final int first = firstChildren[node];
+    if (first < 0)
+      return;
+
+    if (kinds[node] == OR_NODE) {
+      for (int child = first; child < first + childCounts[node]; child++) {
+        if (proofs[child] == 0) {
+          table.put(hash(node), moves[child] | WIN_VALUE_BIT);
+          storeProof(child);
+          return;
+        }
+      }
+    } else {
+      for (int child = first; child < first + childCounts[node]; child++)
+        storeProof(child);
+    }
+  }
+
+  /**
+   * Hashes the pieces of a position and the side to move, regardless of the
+   * order of the piece entries.
+   */
+  private long hash(final int node) {
+    final int base = node * MAX_PIECES;
+    long hash = aiAlliance == Alliance.BLACK ? 0x6A09E667F3BCC909L : 0xBB67AE8584CAA73BL;
+    if (kinds[node] != OR_NODE)
+      hash ^= 0x3C6EF372FE94F82BL;
+
+    for (int i = 0; i < piecesCount; i++) {
+      final int entry = positions[base + i];
+      if (entry != 0)
+        hash += mix(entry);
+    }
+
+    return hash;
+  }
+
+  private static long mix(final long value) {
+    long z = value * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private static int withMask(final int entry, final int mask) {
+    return (entry & (TILE_MASK | ENEMY_BIT)) | mask << VALUE_SHIFT;
+  }
+
+  /**
+   * Checks if a Tile is on the end row a Flag of an Alliance concludes the
+   * game on.
+   */
+  private static boolean isEndRow(final int tileId, final Alliance alliance) {
+    return alliance == Alliance.BLACK ? tileId >= BoardUtils.LAST_ROW_INIT :
+      tileId < BoardUtils.SECOND_ROW_INIT;
+  }
+
+  private Alliance getEnemyAlliance() {
+    return aiAlliance == Alliance.BLACK ? Alliance.WHITE : Alliance.BLACK;
+  }
+}
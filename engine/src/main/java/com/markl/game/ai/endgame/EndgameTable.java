@@ -0,0 +1,194 @@
+package com.markl.game.ai.endgame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import com.markl.game.util.Log;
+
+/**
+ * Cache of solved endgame positions, keyed by the position hash of
+ * {@link EndgameSolver}.
+ *
+ * Entries live in an open addressing hash table. When backed by a file,
+ * every new entry is appended to it as a 12 byte record, the key long and the
+ * value int, and all records are read back on open. A truncated last record,
+ * e.g. after a crash, is ignored.
+ *
+ * The file starts with a magic int and a version int. {@link #VERSION} must
+ * be bumped whenever the position hash or the value encoding of the
+ * EndgameSolver changes, so that tables of older versions are discarded
+ * instead of replaying moves of other positions.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class EndgameTable {
+
+  public static final int MISSING = -1;
+  public static final int MAGIC = 0x474F4745; // "GOGE"
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 8;
+  public static final int RECORD_SIZE = 12;
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private long[] keys = new long[INITIAL_CAPACITY]; // 0 marks an empty slot
+  private int[] values = new int[INITIAL_CAPACITY];
+  private int size;
+  private DataOutputStream out; // Appends new entries, null if not backed by a file
+
+  /**
+   * Creates an in memory table.
+   */
+  public EndgameTable() {}
+
+  /**
+   * Opens a file backed table, reading the entries of the file if it exists.
+   * A file of another version, or not a table at all, is overwritten.
+   * @param file table file. Created if missing.
+   * @return EndgameTable of the file.
+   */
+  public static EndgameTable open(final File file) throws IOException {
+    final EndgameTable table = new EndgameTable();
+    boolean isValid = false;
+    long validLength = HEADER_SIZE;
+
+    if (file.isFile()) {
+      final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      try {
+        isValid = in.readInt() == MAGIC && in.readInt() == VERSION;
+        while (isValid) {
+          table.insert(in.readLong(), in.readInt());
+          validLength += RECORD_SIZE;
+        }
+      } catch (EOFException e) {
+        // End of the records
+      } finally {
+        in.close();
+      }
+
+      if (!isValid && file.length() > 0)
+        Log.log(EndgameTable.class.getName(), "Discarding endgame table of another version: " + file);
+
+      // Drop a truncated last record, which would misalign the appended ones
+      if (isValid && file.length() > validLength) {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+          randomAccessFile.setLength(validLength);
+        } finally {
+          randomAccessFile.close();
+        }
+      }
+    }
+
+    table.out = new DataOutputStream(new FileOutputStream(file, isValid));
+    if (!isValid) {
+      table.out.writeInt(MAGIC);
+      table.out.writeInt(VERSION);
+      table.out.flush();
+    }
+    return table;
+  }
+
+  /**
+   * Gets the value of a position.
+   * @param key position hash.
+   * @return int value, {@link #MISSING} if not solved yet.
+   */
+  public int get(final long key) {
+    final long k = toStoredKey(key);
+    final int mask = keys.length - 1;
+
+    for (int i = hash(k) & mask; keys[i] != 0; i = (i + 1) & mask)
+      if (keys[i] == k)
+        return values[i];
+
+    return MISSING;
+  }
+
+  /**
+   * Stores the value of a position, and appends it to the file if any.
+   * Known positions are left unchanged.
+   * @param key   position hash.
+   * @param value non negative value.
+   */
+  public void put(final long key, final int value) {
+    if (get(key) != MISSING)
+      return;
+
+    insert(key, value);
+
+    if (out != null) {
+      try {
+        out.writeLong(key);
+        out.writeInt(value);
+        out.flush();
+      } catch (IOException e) {
+        // Keep solving in memory only
+        Log.log(this.getClass().getName(), "Unable to write endgame table: " + e.getMessage());
+        close();
+      }
+    }
+  }
+
+  /**
+   * Closes the file, if any. Entries are kept in memory.
+   */
+  public void close() {
+    if (out != null) {
+      try {
+        out.close();
+      } catch (IOException e) {
+        // Nothing left to write
+      }
+      out = null;
+    }
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  private void insert(final long key, final int value) {
+    if ((size + 1) * 2 > keys.length)
+      grow();
+
+    final long k = toStoredKey(key);
+    final int mask = keys.length - 1;
+    int i = hash(k) & mask;
+    while (keys[i] != 0 && keys[i] != k)
+      i = (i + 1) & mask;
+
+    if (keys[i] == 0)
+      size++;
+    keys[i] = k;
+    values[i] = value;
+  }
+
+  private void grow() {
+    final long[] prevKeys = keys;
+    final int[] prevValues = values;
+    this.keys = new long[prevKeys.length * 2];
+    this.values = new int[prevValues.length * 2];
+    this.size = 0;
+
+    for (int i = 0; i < prevKeys.length; i++)
+      if (prevKeys[i] != 0)
+        insert(prevKeys[i], prevValues[i]);
+  }
+
+  private static long toStoredKey(final long key) {
+    return key != 0 ? key : 1; // 0 marks empty slots
+  }
+
+  private static int hash(final long key) {
+    return (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+  }
+}
@@ -0,0 +1,206 @@
+package com.markl.game.ai.mcts;
+
+import com.markl.game.ai.belief.BeliefTracker;
+import com.markl.game.ai.minimax.AI;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.util.Log;
+import com.markl.game.util.XorShiftRandom;
+
+/**
+ * Information set Monte Carlo tree search AI.
+ *
+ * Instead of guessing engagement outcomes like {@link com.markl.game.ai.minimax.AIMinimax},
+ * every iteration searches a determinization of the game, i.e. a sample of the
+ * enemy ranks consistent with the engagements observed so far. All the samples
+ * share a single tree keyed by the moves, so the visit counts of the root
+ * moves are aggregated over the samples. The move visited the most is chosen.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class AIMCTS extends AI {
+
+  public static final int DEFAULT_PLAYOUTS_PER_SAMPLE = 8;
+
+  private static final double EXPLORATION = 0.7;  // UCB exploration constant for results from 0 to 1
+  private static final int MAX_PLAYOUT_PLIES = 200; // Playouts longer than this are scored by material
+
+  private final int maxIterations;     // Node budget. Each iteration expands at most one node
+  private final long thinkTimeMillis;  // Wall clock budget. 0 for no time limit
+  private final int playoutsPerSample; // Iterations searched on the same determinization
+  private final XorShiftRandom random;
+  private final BeliefTracker beliefTracker = new BeliefTracker();
+  private final Determinizer determinizer = new Determinizer();
+  private final CompactBoard sample = new CompactBoard(); // Determinized root position
+  private final CompactBoard world = new CompactBoard();  // Position of the current iteration
+  private final RolloutEngine rollout;
+  private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+  private final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+  private int iterationCount;
+
+  public AIMCTS(int maxIterations, long thinkTimeMillis) {
+    this(maxIterations, thinkTimeMillis, DEFAULT_PLAYOUTS_PER_SAMPLE, System.nanoTime());
+  }
+
+  public AIMCTS(int maxIterations, long thinkTimeMillis, int playoutsPerSample, long seed) {
+    this.maxIterations = maxIterations;
+    this.thinkTimeMillis = thinkTimeMillis;
+    this.playoutsPerSample = Math.max(1, playoutsPerSample);
+    this.random = new XorShiftRandom(seed);
+    this.rollout = new RolloutEngine(seed ^ 0x5DEECE66DL);
+  }
+
+  @Override
+  public void prepareSearch() {
+    super.prepareSearch();
+    beliefTracker.update(gog, getEnemyAlliance());
+    determinizer.update(gog.getBoard(), beliefTracker, getEnemyAlliance());
+  }
+
+  @Override
+  public int searchMove(Board board) {
+    final CompactBoard root = board.getCompactBoard();
+    final int rootMovesCount = MoveGenerator.generateMoves(root, aiAlliance, rootMoves, 0);
+    this.iterationCount = 0;
+
+    if (rootMovesCount == 0)
+      return PackedMove.NONE;
+    if (rootMovesCount == 1)
+      return rootMoves[0];
+
+    final long deadline = thinkTimeMillis > 0 ?
+      System.currentTimeMillis() + thinkTimeMillis : Long.MAX_VALUE;
+    final MCTSNode rootNode = new MCTSNode(null, PackedMove.NONE, getEnemyAlliance());
+
+    while (iterationCount < maxIterations && !isSearchCancelled() &&
+        System.currentTimeMillis() < deadline) {
+      if (iterationCount % playoutsPerSample == 0) {
+        sample.copyFrom(root);
+        determinizer.sample(random, sample);
+      }
+
+      world.copyFrom(sample);
+      iterate(rootNode);
+      iterationCount++;
+    }
+
+    Log.log(this.getClass().getName(), "Iterations: " + iterationCount);
+
+    // Root moves are legal in every determinization, so map the chosen move
+    // back onto the actual board
+    final MCTSNode best = rootNode.getMostVisitedChild();
+    if (best != null) {
+      for (int i = 0; i < rootMovesCount; i++)
+        if (MCTSNode.getMoveKey(rootMoves[i]) == best.moveKey)
+          return rootMoves[i];
+    }
+
+    return rootMoves[random.nextInt(rootMovesCount)];
+  }
+
+  /**
+   * Runs a single selection, expansion, playout and backpropagation pass on
+   * the world board.
+   */
+  private void iterate(final MCTSNode rootNode) {
+    MCTSNode node = rootNode;
+    Alliance side = aiAlliance;
+
+    // Select down the tree until a node with untried moves is expanded
+    while (!world.isGameOver() && world.getPly() < CompactBoard.MAX_PLIES) {
+      final int movesCount = MoveGenerator.generateMoves(world, side, moves, 0);
+      if (movesCount == 0)
+        break;
+
+      MCTSNode bestChild = null;
+      int bestMove = PackedMove.NONE;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      int untriedCount = 0;
+
+      for (int i = 0; i < movesCount; i++) {
+        final MCTSNode child = node.getChild(MCTSNode.getMoveKey(moves[i]));
+        if (child == null) {
+          moves[untriedCount++] = moves[i];
+          continue;
+        }
+
+        child.availabilityCount++;
+        final double value = child.getUpperConfidenceBound(EXPLORATION);
+        if (value > bestValue) {
+          bestValue = value;
+          bestChild = child;
+          bestMove = moves[i];
+        }
+      }
+
+      if (untriedCount > 0) {
+        final int move = moves[random.nextInt(untriedCount)];
+        node = node.addChild(MCTSNode.getMoveKey(move), side);
+        node.availabilityCount++;
+        world.makeMove(move);
+        side = getOpposingAlliance(side);
+        break;
+      }
+
+      node = bestChild;
+      world.makeMove(bestMove);
+      side = getOpposingAlliance(side);
+    }
+
+    final double result = playout(side);
+
+    // Backpropagate the result from the perspective of each node's mover
+    for (; node != null; node = node.parent) {
+      node.visitCount++;
+      node.reward += node.mover == aiAlliance ? result : 1 - result;
+    }
+  }
+
+  /**
+   * Plays random moves from the world board until the game concludes or the
+   * ply limit is reached. Unfinished playouts are scored by the rank codes
+   * left on each side.
+   * @param side Alliance to move first.
+   * @return double result for the AI from 0 for a loss to 1 for a win.
+   */
+  private double playout(final Alliance side) {
+    rollout.load(world);
+    final Alliance winner = rollout.play(side, MAX_PLAYOUT_PLIES);
+    if (winner != null)
+      return winner == aiAlliance ? 1 : 0;
+
+    final int aiMaterial = rollout.getMaterial(aiAlliance);
+    final int enemyMaterial = rollout.getMaterial(getEnemyAlliance());
+    return 0.5 + 0.5 * (aiMaterial - enemyMaterial) / (double) (aiMaterial + enemyMaterial);
+  }
+
+  private static Alliance getOpposingAlliance(final Alliance alliance) {
+    return alliance == Alliance.BLACK ? Alliance.WHITE : Alliance.BLACK;
+  }
+
+  public Alliance getEnemyAlliance() {
+    return getOpposingAlliance(aiAlliance);
+  }
+
+  /**
+   * Gets the amount of iterations of the last search.
+   * @return int iterationCount field.
+   */
+  public int getIterationCount() {
+    return this.iterationCount;
+  }
+
+  /**
+   * Gets the amount of iterations of the last search, each being a tree
+   * descent and a playout.
+   * @return int iterationCount field.
+   */
+  @Override
+  public int getNodeCount() {
+    return this.iterationCount;
+  }
+}
@@ -0,0 +1,124 @@
+package com.markl.game.ai.mcts;
+
+import java.util.Random;
+
+import com.markl.game.ai.belief.BeliefTracker;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.pieces.Piece;
+
+/**
+ * Samples enemy rank assignments consistent with what the AI has observed,
+ * i.e. the possible ranks kept by the {@link BeliefTracker}. Samples assign
+ * the legal piece set of the enemy to both its remaining and its eliminated
+ * pieces, so that ranks proven eliminated are not handed out again.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+final class Determinizer {
+
+  private static final int ALL_RANKS_MASK = ((1 << (BoardUtils.RANK_CODE_COUNT + 1)) - 1) & ~1; // Rank code bits 1 to 15
+  private static final int MAX_SAMPLE_TRIES = 32;
+  private static final int PIECES_COUNT = BeliefTracker.MAX_PIECES;
+
+  private final int[] aliveTiles = new int[PIECES_COUNT]; // Tile ids of the remaining enemy pieces
+  private final int[] masks = new int[PIECES_COUNT];      // Possible rank codes bit mask. Remaining pieces first, then eliminated
+  private final int[] order = new int[PIECES_COUNT];      // Piece indices from the most to the least constrained
+  private final int[] rankCounts = new int[BoardUtils.RANK_CODE_COUNT + 1];
+  private final int[] sampledRanks = new int[PIECES_COUNT];
+  private Alliance enemyAlliance;
+  private int aliveCount;
+  private int piecesCount;
+
+  /**
+   * Collects the enemy pieces of the game board and their possible ranks.
+   * Must be called on the game thread.
+   * @param board         game board.
+   * @param beliefTracker up to date rank beliefs of the enemy pieces.
+   * @param enemyAlliance Alliance of the enemy.
+   */
+  void update(final Board board, final BeliefTracker beliefTracker, final Alliance enemyAlliance) {
+    this.enemyAlliance = enemyAlliance;
+    this.aliveCount = 0;
+    this.piecesCount = 0;
+
+    for (int tileId = 0; tileId < BoardUtils.TOTAL_BOARD_TILES; tileId++) {
+      final Piece piece = board.getPiece(tileId);
+      if (piece == null || piece.getAlliance() != enemyAlliance || aliveCount == PIECES_COUNT)
+        continue;
+
+      final int slot = beliefTracker.getSlot(piece.getPieceId());
+      aliveTiles[aliveCount++] = tileId;
+      masks[piecesCount++] = slot >= 0 ? beliefTracker.getPossibleRanks(slot) : ALL_RANKS_MASK;
+    }
+
+    for (int slot = 0; slot < beliefTracker.getPiecesCount() && piecesCount < PIECES_COUNT; slot++)
+      if (beliefTracker.isEliminated(slot))
+        masks[piecesCount++] = beliefTracker.getPossibleRanks(slot);
+
+    // Sort by the amount of possible ranks so that scarce ranks go to the
+    // pieces that need them
+    for (int i = 0; i < piecesCount; i++) {
+      int j = i;
+      while (j > 0 && Integer.bitCount(masks[order[j - 1]]) > Integer.bitCount(masks[i])) {
+        order[j] = order[j - 1];
+        j--;
+      }
+      order[j] = i;
+    }
+  }
+
+  /**
+   * Overwrites the remaining enemy pieces of a board with a random rank
+   * assignment. Falls back to ignoring the constraints if no consistent
+   * assignment is found.
+   * @param random random source.
+   * @param board  board to determinize.
+   */
+  void sample(final Random random, final CompactBoard board) {
+    for (int tries = 1; tries <= MAX_SAMPLE_TRIES; tries++) {
+      if (tryAssign(random, tries == MAX_SAMPLE_TRIES))
+        break;
+    }
+
+    for (int i = 0; i < aliveCount; i++)
+      board.setPiece(aliveTiles[i], BoardUtils.encodePiece(sampledRanks[i], enemyAlliance));
+  }
+
+  private boolean tryAssign(final Random random, final boolean isUnconstrained) {
+    for (int rankCode = 1; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++)
+      rankCounts[rankCode] = BoardUtils.getRankCodeCount(rankCode);
+
+    for (int k = 0; k < piecesCount; k++) {
+      final int i = order[k];
+      final int mask = isUnconstrained ? ALL_RANKS_MASK : masks[i];
+
+      int total = 0;
+      for (int rankCode = 1; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++)
+        if ((mask & (1 << rankCode)) != 0)
+          total += rankCounts[rankCode];
+
+      if (total == 0)
+        return false;
+
+      // Pick a rank weighted by the amount of its unassigned pieces
+      int pick = random.nextInt(total);
+      int rankCode = 1;
+      for (; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++) {
+        if ((mask & (1 << rankCode)) == 0)
+          continue;
+        pick -= rankCounts[rankCode];
+        if (pick < 0)
+          break;
+      }
+
+      rankCounts[rankCode]--;
+      sampledRanks[i] = rankCode;
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,84 @@
+package com.markl.game.ai.mcts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.PackedMove;
+
+/**
+ * Node of the information set search tree of {@link AIMCTS}. Children are
+ * keyed by source and target Tile only since the outcome of an engagement
+ * depends on the sampled enemy ranks.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+final class MCTSNode {
+
+  final MCTSNode parent;
+  final int moveKey;              // PackedMove leading to this node without its move class
+  final Alliance mover;           // Alliance that made the move leading to this node
+  final List<MCTSNode> children = new ArrayList<MCTSNode>();
+  int visitCount;                 // Amount of iterations that went through this node
+  int availabilityCount;          // Amount of iterations this node's move was legal in
+  double reward;                  // Sum of the iteration results for the mover, each from 0 to 1
+
+  MCTSNode(final MCTSNode parent, final int moveKey, final Alliance mover) {
+    this.parent = parent;
+    this.moveKey = moveKey;
+    this.mover = mover;
+  }
+
+  /**
+   * Strips the move class of a packed move.
+   * @param move packed move.
+   * @return int packed move with INVALID move class.
+   */
+  static int getMoveKey(final int move) {
+    return PackedMove.withMoveType(move, MoveType.INVALID.getValue());
+  }
+
+  MCTSNode getChild(final int moveKey) {
+    for (int i = 0; i < children.size(); i++) {
+      final MCTSNode child = children.get(i);
+      if (child.moveKey == moveKey)
+        return child;
+    }
+
+    return null;
+  }
+
+  MCTSNode addChild(final int moveKey, final Alliance mover) {
+    final MCTSNode child = new MCTSNode(this, moveKey, mover);
+    children.add(child);
+    return child;
+  }
+
+  /**
+   * Upper confidence bound of this node weighted by how often its move was
+   * available rather than by the visits of its parent, since a move may be
+   * illegal in some of the sampled positions.
+   * @param exploration exploration constant.
+   * @return double UCB value. Unvisited nodes are always preferred.
+   */
+  double getUpperConfidenceBound(final double exploration) {
+    if (visitCount == 0)
+      return Double.POSITIVE_INFINITY;
+
+    return reward / visitCount +
+      exploration * Math.sqrt(Math.log(availabilityCount) / visitCount);
+  }
+
+  MCTSNode getMostVisitedChild() {
+    MCTSNode best = null;
+    for (int i = 0; i < children.size(); i++) {
+      final MCTSNode child = children.get(i);
+      if (best == null || child.visitCount > best.visitCount)
+        best = child;
+    }
+
+    return best;
+  }
+}
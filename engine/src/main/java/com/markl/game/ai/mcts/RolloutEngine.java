@@ -0,0 +1,237 @@
+package com.markl.game.ai.mcts;
+
+import static com.markl.game.engine.board.BoardUtils.BLACK_CODE_BIT;
+import static com.markl.game.engine.board.BoardUtils.EMPTY_CODE;
+import static com.markl.game.engine.board.BoardUtils.FLAG_CODE;
+import static com.markl.game.engine.board.BoardUtils.RANK_CODE_MASK;
+import static com.markl.game.engine.board.BoardUtils.TOTAL_BOARD_TILES;
+import static com.markl.game.engine.board.BoardUtils.WHITE_CODE_BIT;
+
+import com.markl.game.ai.belief.BeliefTracker;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.util.XorShiftRandom;
+
+/**
+ * Random playout engine for simulation based AIs.
+ *
+ * Plays on its own primitive board with a piece list per side so that a
+ * random move is picked by drawing a random piece and direction instead of
+ * generating all legal moves. Nothing is recorded for undo, a playout is
+ * restarted by loading a position again. Engagements follow the same rules as
+ * {@link Move#arbitrate}, and a Flag reaching the opposite end row concludes
+ * the game like in {@link Move#execute()}.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class RolloutEngine {
+
+  private static final int BLACK = 0;
+  private static final int WHITE = 1;
+  private static final int MAX_PIECES = BeliefTracker.MAX_PIECES;
+  private static final int MAX_PICK_TRIES = 16; // Random picks before falling back to generating all moves
+  private static final byte[] OUTCOMES = new byte[16 * 16]; // MoveType value of each aggressor and defender rank code
+
+  static {
+    for (int srcRank = 1; srcRank <= BoardUtils.RANK_CODE_COUNT; srcRank++)
+      for (int tgtRank = 1; tgtRank <= BoardUtils.RANK_CODE_COUNT; tgtRank++)
+        OUTCOMES[srcRank * 16 + tgtRank] = (byte) Move.arbitrate(srcRank, tgtRank).getValue();
+  }
+
+  private final XorShiftRandom random;
+  private final byte[] codes = new byte[TOTAL_BOARD_TILES];
+  private final int[] pieceTiles = new int[MAX_PIECES * 2];     // Tile ids of the pieces of each side
+  private final int[] pieceIndices = new int[TOTAL_BOARD_TILES]; // Index in pieceTiles of the piece occupying each Tile
+  private final int[] pieceCounts = new int[2];
+  private final int[] materials = new int[2];                    // Sum of the rank codes of each side
+  private final int[] fallbackMoves = new int[MoveGenerator.MAX_MOVES];
+  private int winner;                                            // Side index of the winner, -1 if undecided
+  private int plyCount;
+
+  public RolloutEngine(long seed) {
+    this.random = new XorShiftRandom(seed);
+  }
+
+  /**
+   * Loads the position of a board, discarding the current playout.
+   * @param board board to copy the pieces and winner from.
+   */
+  public void load(final CompactBoard board) {
+    pieceCounts[BLACK] = pieceCounts[WHITE] = 0;
+    materials[BLACK] = materials[WHITE] = 0;
+    this.plyCount = 0;
+
+    for (int tileId = 0; tileId < TOTAL_BOARD_TILES; tileId++) {
+      final int pieceCode = board.getCode(tileId);
+      codes[tileId] = (byte) pieceCode;
+      if (pieceCode == EMPTY_CODE)
+        continue;
+
+      final int side = getSide(pieceCode);
+      if (pieceCounts[side] == MAX_PIECES)
+        throw new IllegalArgumentException("More than " + MAX_PIECES + " pieces on a side");
+
+      pieceIndices[tileId] = pieceCounts[side];
+      pieceTiles[side * MAX_PIECES + pieceCounts[side]++] = tileId;
+      materials[side] += pieceCode & RANK_CODE_MASK;
+    }
+
+    final Alliance boardWinner = board.getWinner();
+    this.winner = boardWinner == null ? -1 : boardWinner == Alliance.BLACK ? BLACK : WHITE;
+  }
+
+  /**
+   * Plays random moves until the game concludes, a side can not move or the
+   * ply limit is reached.
+   * @param sideToMove Alliance to move first.
+   * @param maxPlies   max amount of plies to play.
+   * @return Alliance of the winner, null if undecided.
+   */
+  public Alliance play(final Alliance sideToMove, final int maxPlies) {
+    int side = sideToMove == Alliance.BLACK ? BLACK : WHITE;
+
+    while (winner < 0 && plyCount < maxPlies) {
+      final int move = pickMove(side);
+      if (move < 0)
+        break;
+
+      makeMove(move & 0x7F, move >>> 7);
+      side ^= 1;
+      plyCount++;
+    }
+
+    return getWinner();
+  }
+
+  /**
+   * Picks a random legal move of a side. Pieces are drawn uniformly, thus
+   * moves of pieces with fewer legal moves are somewhat more likely.
+   * @return int source Tile id | target Tile id << 7, -1 if no legal move.
+   */
+  private int pickMove(final int side) {
+    final int count = pieceCounts[side];
+    if (count == 0)
+      return -1;
+
+    final int base = side * MAX_PIECES;
+    final int allianceBit = side == BLACK ? BLACK_CODE_BIT : WHITE_CODE_BIT;
+
+    for (int tries = 0; tries < MAX_PICK_TRIES; tries++) {
+      final int srcTileId = pieceTiles[base + random.nextInt(count)];
+      final int tgtTileId = MoveGenerator.getAdjacentTileId(srcTileId, random.nextInt(4));
+      if (tgtTileId >= 0 && (codes[tgtTileId] & allianceBit) == 0)
+        return srcTileId | (tgtTileId << 7);
+    }
+
+    // Mostly blocked pieces, pick among all legal moves
+    int movesCount = 0;
+    for (int i = base, end = base + count; i < end; i++) {
+      final int srcTileId = pieceTiles[i];
+      for (int direction = 0; direction < 4; direction++) {
+        final int tgtTileId = MoveGenerator.getAdjacentTileId(srcTileId, direction);
+        if (tgtTileId >= 0 && (codes[tgtTileId] & allianceBit) == 0)
+          fallbackMoves[movesCount++] = srcTileId | (tgtTileId << 7);
+      }
+    }
+
+    return movesCount == 0 ? -1 : fallbackMoves[random.nextInt(movesCount)];
+  }
+
+  private void makeMove(final int srcTileId, final int tgtTileId) {
+    final int srcPieceCode = codes[srcTileId];
+    final int tgtPieceCode = codes[tgtTileId];
+    final int srcRank = srcPieceCode & RANK_CODE_MASK;
+    final int side = getSide(srcPieceCode);
+
+    if (tgtPieceCode == EMPTY_CODE) {
+      relocate(srcTileId, tgtTileId);
+
+      // Check if Flag has been maneuvered into the opposite end row of the board.
+      if (srcRank == FLAG_CODE && (side == BLACK ?
+            tgtTileId >= BoardUtils.LAST_ROW_INIT : tgtTileId < BoardUtils.SECOND_ROW_INIT))
+        this.winner = side;
+      return;
+    }
+
+    final int tgtRank = tgtPieceCode & RANK_CODE_MASK;
+    switch (OUTCOMES[srcRank * 16 + tgtRank]) {
+      case 0: // DRAW
+        remove(srcTileId);
+        remove(tgtTileId);
+        break;
+
+      case 2: // AGGRESSIVE_WIN
+        remove(tgtTileId);
+        relocate(srcTileId, tgtTileId);
+        if (tgtRank == FLAG_CODE)
+          this.winner = side;
+        break;
+
+      case 3: // AGGRESSIVE_LOSE
+        remove(srcTileId);
+        if (srcRank == FLAG_CODE)
+          this.winner = side ^ 1;
+        break;
+    }
+  }
+
+  private void relocate(final int srcTileId, final int tgtTileId) {
+    final int index = pieceIndices[srcTileId];
+    pieceTiles[getSide(codes[srcTileId]) * MAX_PIECES + index] = tgtTileId;
+    pieceIndices[tgtTileId] = index;
+    codes[tgtTileId] = codes[srcTileId];
+    codes[srcTileId] = EMPTY_CODE;
+  }
+
+  private void remove(final int tileId) {
+    final int pieceCode = codes[tileId];
+    final int side = getSide(pieceCode);
+    final int base = side * MAX_PIECES;
+    final int index = pieceIndices[tileId];
+
+    // Fill the gap with the last piece of the side
+    final int lastTileId = pieceTiles[base + --pieceCounts[side]];
+    pieceTiles[base + index] = lastTileId;
+    pieceIndices[lastTileId] = index;
+
+    materials[side] -= pieceCode & RANK_CODE_MASK;
+    codes[tileId] = EMPTY_CODE;
+  }
+
+  private static int getSide(final int pieceCode) {
+    return (pieceCode & BLACK_CODE_BIT) != 0 ? BLACK : WHITE;
+  }
+
+  /**
+   * Gets the winner of the current playout.
+   * @return Alliance of the winner, null if undecided.
+   */
+  public Alliance getWinner() {
+    return winner < 0 ? null : winner == BLACK ? Alliance.BLACK : Alliance.WHITE;
+  }
+
+  /**
+   * Gets the sum of the rank codes of the remaining pieces of a side.
+   * @param alliance side to sum.
+   * @return int material.
+   */
+  public int getMaterial(final Alliance alliance) {
+    return materials[alliance == Alliance.BLACK ? BLACK : WHITE];
+  }
+
+  public int getCode(final int tileId) {
+    return codes[tileId];
+  }
+
+  /**
+   * Gets the amount of plies played since the last load.
+   * @return int plyCount field.
+   */
+  public int getPlyCount() {
+    return this.plyCount;
+  }
+}
@@ -0,0 +1,116 @@
+package com.markl.game.ai.minimax;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.BoardBuilder;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.PackedMove;
+
+/**
+ * Abstract class for AI algorithms
+ *
+ * A move is generated in three steps so that the search itself can run on a
+ * worker thread (e.g. the AIService of the game UI):
+ *   1. {@link #prepareSearch()} on the game thread, reading game state.
+ *   2. {@link #searchMove(Board)} on any thread, touching only the given board.
+ *   3. {@link #onMoveGenerated(Move)} on the game thread with the chosen move.
+ *
+ * @author Mark Lucernas
+ * Created on 11/26/2020.
+ */
+public abstract class AI {
+
+  protected Gog gog;
+  protected Alliance aiAlliance;
+  protected FormationBook formationBook;      // Initial formations to pick from, null if none
+  private volatile boolean isSearchCancelled; // Set from the game thread to abort a running search
+
+  public AI() {}
+
+  public void setGog(Gog gog)                      { this.gog = gog; }
+  public void setAIAlliance(Alliance aiAlliance)   { this.aiAlliance = aiAlliance; }
+  public Alliance getAIAlliance()                  { return this.aiAlliance; }
+  public void setFormationBook(FormationBook book) { this.formationBook = book; }
+  public FormationBook getFormationBook()          { return this.formationBook; }
+
+  /**
+   * Arranges the initial pieces of the AI territory, sampled from the
+   * formation book if any, else randomly. Must be called after the AI has been
+   * added to the game.
+   * @param builder BoardBuilder of the game board.
+   */
+  public void createTerritory(BoardBuilder builder) {
+    builder.createTerritoryBookBuild(aiAlliance, formationBook);
+  }
+
+  /**
+   * Prepares the next search from the current game state. Must be called on
+   * the game thread before {@link #searchMove(Board)}.
+   */
+  public void prepareSearch() {
+    this.isSearchCancelled = false;
+  }
+
+  /**
+   * Searches the best move of the AI. May run on a worker thread, so it must
+   * not touch anything but the given board.
+   *
+   * @param board board to search on. Restored to its initial state on return.
+   * @return int best {@link PackedMove}, PackedMove.NONE if no legal move.
+   */
+  public abstract int searchMove(Board board);
+
+  /**
+   * Called on the game thread with the evaluated move chosen by the search
+   * before it is made on the game board.
+   * @param move generated Move.
+   */
+  public void onMoveGenerated(Move move) {}
+
+  /**
+   * Asks the running search to stop as soon as possible. Safe to call from
+   * any thread.
+   */
+  public void cancelSearch() {
+    this.isSearchCancelled = true;
+  }
+
+  public boolean isSearchCancelled() {
+    return this.isSearchCancelled;
+  }
+
+  /**
+   * Gets the amount of nodes visited by the last search, e.g. to compare the
+   * search speed of AIs.
+   * @return int node count, 0 if not counted.
+   */
+  public int getNodeCount() {
+    return 0;
+  }
+
+  /**
+   * Releases any resources held by the AI, e.g. search threads.
+   */
+  public void dispose() {}
+
+  /**
+   * Generates a move synchronously on the game board.
+   * @return Move evaluated move to make, null if no legal move.
+   */
+  public Move generateMove() {
+    prepareSearch();
+
+    final int bestMove = searchMove(gog.getBoard());
+    if (bestMove == PackedMove.NONE)
+      return null;
+
+    final Move move = new Move(gog.getPlayer(aiAlliance), gog.getBoard(),
+        PackedMove.getSrcTileId(bestMove), PackedMove.getTgtTileId(bestMove));
+    move.evaluate();
+    onMoveGenerated(move);
+
+    return move;
+  }
+}
@@ -0,0 +1,46 @@
+package com.markl.game.ai.minimax;
+
+import java.util.Random;
+
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.util.Utils;
+
+/**
+ * Dumb single player AI that make random moves
+ *
+ * @author Mark Lucernas
+ * Created on 11/26/2020.
+ */
+public class AIDumb extends AI {
+
+  private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+  private final Random random; // Null to draw from the shared Utils random
+
+  public AIDumb() {
+    this(null);
+  }
+
+  /**
+   * @param random Random to pick moves with, e.g. seeded to replay games.
+   */
+  public AIDumb(Random random) {
+    this.random = random;
+  }
+
+  public int createRandomMove(Board board) {
+    final int movesCount = board.generateMoves(aiAlliance, moves);
+
+    if (movesCount == 0)
+      return PackedMove.NONE;
+
+    // Pick random legal move and return
+    return moves[random != null ? random.nextInt(movesCount) : Utils.getRandomInt(0, movesCount - 1)];
+  }
+
+  @Override
+  public int searchMove(Board board) {
+    return createRandomMove(board);
+  }
+}
@@ -0,0 +1,876 @@
+package com.markl.game.ai.minimax;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.markl.game.ai.belief.BeliefTracker;
+import com.markl.game.ai.endgame.EndgameSolver;
+import com.markl.game.ai.endgame.EndgameTable;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.engine.board.pieces.Piece;
+import com.markl.game.util.Log;
+
+/**
+ * Single player AI using minimax algorithm
+ *
+ * @author Mark Lucernas
+ * Created on 11/25/2020.
+ */
+public class AIMinimax extends AI {
+
+  // AI strategic disposition for decision weights
+  public enum Disposition {
+    CONSERVATIVE(1), MODERATE(2), AGGRESSIVE(3);
+    private final int value;
+
+    Disposition(final int value) {
+      this.value = value;
+    }
+
+    public int getValue() { return this.value; }
+  }
+
+  /** Score of a concluded game. Far above any material score */
+  public static final int WIN_SCORE = 1000000;
+
+  /** Node count mask between deadline checks */
+  private static final int TIME_CHECK_INTERVAL = 1023;
+
+  /** The endgame solver may take up to 1/ENDGAME_TIME_DIVISOR of the think time */
+  private static final int ENDGAME_TIME_DIVISOR = 4;
+
+  /** Transposition tables of all workers hold 2^TT_SIZE_BITS entries in total */
+  private static final int TT_SIZE_BITS = 18;
+  private static final int TT_MIN_SIZE_BITS = 14;
+
+  /** Max plies of engagements and Flag runs searched past the regular depth */
+  public static final int MAX_QUIESCENCE_DEPTH = 6;
+
+  private int nodeCount = 0;
+  private int maxDepth;         // Max depth of the iterative deepening
+  private long thinkTimeMillis; // Time budget per move. 0 if unbounded
+  private int threadCount;      // Amount of threads to split the root moves among
+  private long deadline;        // System.nanoTime() when the search must stop
+  private long endgameDeadline; // System.nanoTime() when the endgame solver must give up
+  private Disposition disposition;
+  private final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+  private SearchWorker[] workers;
+  private Future<?>[] workerResults;
+  private ExecutorService executor; // Runs all workers but the first. null if single threaded
+  private int rootBestWorker;       // Worker index of the best root move of the last iteration
+  private int rootBestScore;
+  private volatile SearchStats searchStats = SearchStats.EMPTY; // Of the latest iteration
+
+  private int rankEvaluateBias = 0; // Assumed rank code of enemy pieces never engaged
+
+  private final BeliefTracker beliefTracker = new BeliefTracker();
+  private final EndgameSolver endgameSolver = new EndgameSolver();
+  private final int[] enemyRankMasks = new int[BoardUtils.TOTAL_BOARD_TILES]; // Possible ranks of the enemy piece on each Tile
+
+  private final EndgameSolver.StopCondition endgameStop = new EndgameSolver.StopCondition() {
+    @Override
+    public boolean isStopped() {
+      return isSearchCancelled() || System.nanoTime() > endgameDeadline;
+    }
+  };
+
+  /**
+   * Creates a fixed depth AI without time budget.
+   *
+   * @param depth       search depth.
+   * @param disposition AI strategic disposition.
+   */
+  public AIMinimax(int depth, Disposition disposition) {
+    this(depth, 0, 1, disposition);
+  }
+
+  /**
+   * Creates a single threaded, time bounded AI that deepens its search up to
+   * max depth until the think time runs out.
+   *
+   * @param maxDepth        max search depth.
+   * @param thinkTimeMillis time budget per move in milliseconds. 0 if unbounded.
+   * @param disposition     AI strategic disposition.
+   */
+  public AIMinimax(int maxDepth, long thinkTimeMillis, Disposition disposition) {
+    this(maxDepth, thinkTimeMillis, 1, disposition);
+  }
+
+  /**
+   * Creates a time bounded AI that splits its search among multiple threads.
+   * Given a fixed depth, the chosen moves only depend on the thread count.
+   *
+   * @param maxDepth        max search depth.
+   * @param thinkTimeMillis time budget per move in milliseconds. 0 if unbounded.
+   * @param threadCount     amount of search threads.
+   * @param disposition     AI strategic disposition.
+   */
+  public AIMinimax(int maxDepth, long thinkTimeMillis, int threadCount, Disposition disposition) {
+    this.maxDepth = maxDepth;
+    this.thinkTimeMillis = thinkTimeMillis;
+    this.threadCount = Math.max(1, threadCount);
+    this.disposition = disposition;
+    applyDisposition();
+  }
+
+  public void applyDisposition() {
+    if (this.disposition != null) {
+      switch(this.disposition.getValue()) {
+        case 1:
+          rankEvaluateBias = 10;
+          break;
+        case 2:
+          rankEvaluateBias = 7;
+          break;
+        case 3:
+          rankEvaluateBias = 5;
+          break;
+      }
+    }
+  }
+
+  /**
+   * Evaluates a board from scratch. The search keeps an incremental
+   * {@link Evaluation} instead.
+   * @param board board to evaluate.
+   * @return int score, positive if in favor of the AI.
+   */
+  public int evaluateBoard(Board board) {
+    final Alliance winner = board.getWinner();
+    if (winner != null)
+      return winner == aiAlliance ? WIN_SCORE : -WIN_SCORE;
+
+    final Evaluation evaluation = new Evaluation(this);
+    evaluation.init(board);
+    return evaluation.evaluate(board);
+  }
+
+  /**
+   * Gets the material value of a piece, its rank code on both sides. AI
+   * pieces are worth their rank code, enemy pieces their believed rank code
+   * once engaged, else a rank code assumed according to the AI disposition.
+   * Power levels are not used, as the Spy power level would outweigh all
+   * other pieces.
+   * @param piece piece to value.
+   * @return int value.
+   */
+  public int getPieceValue(Piece piece) {
+    if (piece.getAlliance() == aiAlliance)
+      return BoardUtils.getRankCode(piece.getRank());
+
+    if (beliefTracker.isObserved(piece.getPieceId()))
+      return (int) Math.round(beliefTracker.getExpectedRankCode(piece.getPieceId()));
+
+    return rankEvaluateBias;
+  }
+
+  /**
+   * Gets the rank beliefs of the enemy pieces, kept up to date on every
+   * {@link #prepareSearch()}.
+   * @return BeliefTracker beliefTracker field.
+   */
+  public BeliefTracker getBeliefTracker() {
+    return this.beliefTracker;
+  }
+
+  /**
+   * Iterative deepening search. Searches one depth deeper at a time until the
+   * max depth is reached or the think time runs out, then returns the best
+   * move of the deepest completed iteration.
+   *
+   * Root moves are split among {@link SearchWorker}s, each searching on its
+   * own board copy with its own transposition table. Every iteration waits
+   * for all workers, so the result depends on the thread count but never on
+   * thread scheduling.
+   *
+   * @return int best {@link PackedMove}, PackedMove.NONE if no legal move.
+   */
+  public int iterativeDeepening(Board board) {
+    final long searchStart = System.nanoTime();
+    this.nodeCount = 0;
+    this.deadline = this.thinkTimeMillis > 0 ?
+      searchStart + this.thinkTimeMillis * 1000000L : Long.MAX_VALUE;
+    prepareWorkers(board);
+
+    final int rootMovesSize = board.generateMoves(aiAlliance, rootMoves);
+    int bestMove = PackedMove.NONE;
+
+    // Initial root order. Later iterations only bring the previous best move forward
+    workers[0].orderer.sortMoves(board.getCompactBoard(), rootMoves, rootMovesSize, 0,
+        PackedMove.NONE, true);
+
+    final long[] iterationNodes = new long[this.maxDepth];
+    final long[] iterationNanos = new long[this.maxDepth];
+    long iterationStart = searchStart;
+    int prevNodeCount = 0;
+    int completedDepth = 0;
+    int score = 0;
+    int[] pv = new int[0];
+    this.searchStats = SearchStats.EMPTY;
+
+    for (int depth = 1; depth <= this.maxDepth && rootMovesSize > 0; depth++) {
+      // Search previous iteration best move first
+      moveToFront(rootMoves, rootMovesSize, bestMove);
+
+      final int iterationBestMove = minimaxRoot(depth, rootMovesSize);
+      final boolean isTimeUp = isTimeUp();
+      final long now = System.nanoTime();
+
+      // Keep the best move of the aborted iteration only if none has completed
+      if (!isTimeUp || bestMove == PackedMove.NONE) {
+        bestMove = iterationBestMove;
+        completedDepth = depth;
+        score = rootBestScore;
+        iterationNodes[depth - 1] = nodeCount - prevNodeCount;
+        iterationNanos[depth - 1] = now - iterationStart;
+        if (bestMove != PackedMove.NONE)
+          pv = workers[rootBestWorker].collectPrincipalVariation(bestMove, depth);
+      }
+      prevNodeCount = nodeCount;
+      iterationStart = now;
+
+      long ttProbes = 0;
+      long ttHits = 0;
+      for (SearchWorker worker : workers) {
+        ttProbes += worker.tt.getProbes();
+        ttHits += worker.tt.getHits();
+      }
+
+      this.searchStats = new SearchStats(completedDepth, score, pv, iterationNodes,
+          iterationNanos, nodeCount, now - searchStart, ttProbes, ttHits);
+      Log.log(this.getClass().getName(), (isTimeUp ? "aborted " : "completed ") + searchStats);
+
+      if (isTimeUp || bestMove == PackedMove.NONE)
+        break;
+    }
+
+    return bestMove;
+  }
+
+  /**
+   * Searches all root moves to the given depth, split among the workers.
+   *
+   * @return int best {@link PackedMove} found, PackedMove.NONE if no legal move.
+   */
+  private int minimaxRoot(int depth, int rootMovesSize) {
+    for (SearchWorker worker : workers) {
+      worker.depth = depth;
+      worker.rootMovesSize = rootMovesSize;
+    }
+
+    if (workers.length == 1) {
+      workers[0].call();
+    } else {
+      // First worker runs on the calling thread
+      for (int i = 1; i < workers.length; i++)
+        workerResults[i] = executor.submit(workers[i]);
+      workers[0].call();
+
+      for (int i = 1; i < workers.length; i++) {
+        try {
+          workerResults[i].get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          cancelSearch();
+          throw new IllegalStateException("Search interrupted", e);
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+      }
+    }
+
+    // Highest score wins, ties go to the earliest root move
+    int bestScore = Integer.MIN_VALUE;
+    int bestIndex = -1;
+    this.nodeCount = 0;
+
+    for (SearchWorker worker : workers) {
+      this.nodeCount += worker.nodeCount;
+      if (worker.bestIndex >= 0 && (bestIndex < 0 || worker.bestScore > bestScore ||
+            (worker.bestScore == bestScore && worker.bestIndex < bestIndex))) {
+        bestScore = worker.bestScore;
+        bestIndex = worker.bestIndex;
+      }
+    }
+
+    this.rootBestWorker = bestIndex >= 0 ? bestIndex % workers.length : 0;
+    this.rootBestScore = bestScore;
+    return bestIndex >= 0 ? rootMoves[bestIndex] : PackedMove.NONE;
+  }
+
+  /**
+   * Creates the workers and their thread pool on first use or when the thread
+   * count changed, then gives every worker its own copy of the board.
+   */
+  private void prepareWorkers(Board board) {
+    if (this.workers == null || this.workers.length != this.threadCount) {
+      disposeWorkers();
+
+      // Split the table memory among the workers
+      final int ttSizeBits = Math.max(TT_MIN_SIZE_BITS,
+          TT_SIZE_BITS - (31 - Integer.numberOfLeadingZeros(this.threadCount)));
+
+      this.workers = new SearchWorker[this.threadCount];
+      for (int i = 0; i < this.threadCount; i++)
+        this.workers[i] = new SearchWorker(i, ttSizeBits);
+
+      if (this.threadCount > 1) {
+        this.workerResults = new Future<?>[this.threadCount];
+        this.executor = Executors.newFixedThreadPool(this.threadCount - 1, new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "AIMinimax-worker");
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+      }
+    }
+
+    for (int i = 0; i < this.workers.length; i++)
+      this.workers[i].reset(i == 0 ? board : board.copy());
+  }
+
+  private void disposeWorkers() {
+    if (this.executor != null)
+      this.executor.shutdownNow();
+    this.executor = null;
+    this.workers = null;
+  }
+
+  private boolean isTimeUp() {
+    for (SearchWorker worker : workers)
+      if (worker.isTimeUp)
+        return true;
+
+    return false;
+  }
+
+  /**
+   * Search state owned by a single thread. Searches the root moves of its
+   * stripe, i.e. every threadCount-th move starting from its index, with
+   * alpha-beta on its own board copy.
+   */
+  private class SearchWorker implements Callable<Void> {
+
+    private final int index;
+    private final TranspositionTable tt;
+    private final MoveOrderer orderer = new MoveOrderer();
+    private final Evaluation evaluation = new Evaluation(AIMinimax.this);
+    private Board board;
+    private int[][] moveBuffers; // Packed moves buffer of each remaining depth
+    private final int[][] quiescenceMoveBuffers = new int[MAX_QUIESCENCE_DEPTH + 1][MoveGenerator.MAX_MOVES];
+    private int nodeCount;
+    private boolean isTimeUp;    // Is the search aborted due to time budget or cancellation
+    private int depth;           // Depth of the current iteration
+    private int rootMovesSize;
+    private int bestIndex;       // Root move index of the best move of the iteration. -1 if none
+    private int bestScore;
+
+    private SearchWorker(int index, int ttSizeBits) {
+      this.index = index;
+      this.tt = new TranspositionTable(ttSizeBits);
+    }
+
+    private void reset(Board board) {
+      if (this.moveBuffers == null || this.moveBuffers.length <= maxDepth)
+        this.moveBuffers = new int[maxDepth + 1][MoveGenerator.MAX_MOVES];
+
+      this.board = board;
+      this.nodeCount = 0;
+      this.isTimeUp = false;
+      this.tt.newSearch();
+      this.orderer.ensureCapacity(maxDepth + MAX_QUIESCENCE_DEPTH);
+      this.orderer.newSearch();
+      this.evaluation.init(board);
+    }
+
+    @Override
+    public Void call() {
+      int alpha = Integer.MIN_VALUE;
+      this.bestIndex = -1;
+      this.bestScore = Integer.MIN_VALUE;
+
+      for (int i = this.index; i < this.rootMovesSize; i += workers.length) {
+        this.nodeCount++;
+        final int nextMove = getHypotheticalMove(board, rootMoves[i]);
+        evaluation.makeMove(board, nextMove);
+
+        final int value = minimax(depth - 1, alpha, Integer.MAX_VALUE, false);
+
+        evaluation.unmakeMove(board, nextMove);
+
+        if (isTimeUp)
+          break;
+
+        if (value > alpha || this.bestIndex < 0) {
+          alpha = value;
+          this.bestIndex = i;
+          this.bestScore = value;
+        }
+      }
+
+      return null;
+    }
+
+    private int minimax(int depth, int alpha, int beta, boolean isMaximizing) {
+      if ((nodeCount & TIME_CHECK_INTERVAL) == 0 &&
+          (isSearchCancelled() || System.nanoTime() > deadline))
+        isTimeUp = true;
+
+      if (isTimeUp)
+        return 0;
+
+      final Alliance winner = board.getWinner();
+      if (winner != null)
+        // Prefer quicker wins and slower loses
+        return winner == aiAlliance ? WIN_SCORE + depth : -WIN_SCORE - depth;
+
+      if (depth == 0)
+        return quiescence(MAX_QUIESCENCE_DEPTH, alpha, beta, isMaximizing);
+
+      final Alliance turnMaker = isMaximizing ? aiAlliance : getEnemyAlliance();
+      final long key = board.getZobristKey() ^
+        (turnMaker == Alliance.WHITE ? CompactBoard.ZOBRIST_WHITE_TO_MOVE : 0L);
+      final long entry = tt.probe(key);
+      int ttMove = PackedMove.NONE;
+
+      if (entry != 0L) {
+        ttMove = TranspositionTable.getBestMove(entry);
+
+        // Only trust scores of this search, deep enough for the remaining depth
+        if (tt.isCurrentSearch(entry) && TranspositionTable.getDepth(entry) >= depth) {
+          final int ttScore = TranspositionTable.getScore(entry);
+          switch (TranspositionTable.getBound(entry)) {
+            case TranspositionTable.BOUND_EXACT:
+              return ttScore;
+            case TranspositionTable.BOUND_LOWER:
+              alpha = Math.max(alpha, ttScore);
+              break;
+            case TranspositionTable.BOUND_UPPER:
+              beta = Math.min(beta, ttScore);
+              break;
+          }
+          if (alpha >= beta)
+            return ttScore;
+        }
+      }
+
+      final int[] legalMoves = moveBuffers[depth];
+      final int legalMovesSize = board.generateMoves(turnMaker, legalMoves);
+
+      if (legalMovesSize == 0)
+        return evaluation.evaluate(board);
+
+      // Search the best move of the stored position first, then the likeliest cutoffs
+      final int ply = this.depth - depth;
+      orderer.scoreMoves(board.getCompactBoard(), legalMoves, legalMovesSize, ply, ttMove,
+          isMaximizing);
+
+      final int origAlpha = alpha;
+      final int origBeta = beta;
+      int bestMove = PackedMove.NONE;
+      int bestScore;
+
+      if (isMaximizing) {
+        bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < legalMovesSize; i++) {
+          this.nodeCount++;
+          final int move = orderer.pickMove(legalMoves, legalMovesSize, ply, i);
+          final int nextMove = getHypotheticalMove(board, move);
+          evaluation.makeMove(board, nextMove);
+
+          final int value = minimax(depth - 1, alpha, beta, !isMaximizing);
+          if (value > bestScore) {
+            bestScore = value;
+            bestMove = move;
+          }
+
+          evaluation.unmakeMove(board, nextMove);
+
+          alpha = Math.max(alpha, bestScore);
+          if (alpha >= beta) {
+            orderer.onCutoff(move, ply, depth);
+            break;
+          }
+        }
+      } else {
+        bestScore = Integer.MAX_VALUE;
+        for (int i = 0; i < legalMovesSize; i++) {
+          this.nodeCount++;
+          final int move = orderer.pickMove(legalMoves, legalMovesSize, ply, i);
+          final int nextMove = getHypotheticalMove(board, move);
+          evaluation.makeMove(board, nextMove);
+
+          final int value = minimax(depth - 1, alpha, beta, !isMaximizing);
+          if (value < bestScore) {
+            bestScore = value;
+            bestMove = move;
+          }
+
+          evaluation.unmakeMove(board, nextMove);
+
+          beta = Math.min(beta, bestScore);
+          if (alpha >= beta) {
+            orderer.onCutoff(move, ply, depth);
+            break;
+          }
+        }
+      }
+
+      // Scores of an aborted search are meaningless
+      if (!isTimeUp) {
+        int bound;
+        if (bestScore <= origAlpha)
+          bound = TranspositionTable.BOUND_UPPER;
+        else if (bestScore >= origBeta)
+          bound = TranspositionTable.BOUND_LOWER;
+        else
+          bound = TranspositionTable.BOUND_EXACT;
+
+        tt.store(key, depth, bestScore, bound, bestMove);
+      }
+
+      return bestScore;
+    }
+
+    /**
+     * Extends the search past the regular depth until the position is quiet,
+     * so that a pending engagement, e.g. an enemy piece next to the AI Flag,
+     * is not evaluated as if nothing were about to happen.
+     *
+     * Only engagements and AI Flag moves onto its end row are searched. The
+     * side to move may also stand pat on the static evaluation, since it is
+     * never forced to engage.
+     *
+     * @param qDepth remaining quiescence depth. Stands pat at 0.
+     */
+    private int quiescence(int qDepth, int alpha, int beta, boolean isMaximizing) {
+      if ((nodeCount & TIME_CHECK_INTERVAL) == 0 &&
+          (isSearchCancelled() || System.nanoTime() > deadline))
+        isTimeUp = true;
+
+      if (isTimeUp)
+        return 0;
+
+      final Alliance winner = board.getWinner();
+      if (winner != null)
+        return winner == aiAlliance ? WIN_SCORE : -WIN_SCORE;
+
+      final int standPat = evaluation.evaluate(board);
+      if (qDepth == 0)
+        return standPat;
+
+      if (isMaximizing) {
+        if (standPat >= beta)
+          return standPat;
+        alpha = Math.max(alpha, standPat);
+      } else {
+        if (standPat <= alpha)
+          return standPat;
+        beta = Math.min(beta, standPat);
+      }
+
+      final Alliance turnMaker = isMaximizing ? aiAlliance : getEnemyAlliance();
+      final int[] legalMoves = quiescenceMoveBuffers[qDepth];
+      final int generatedSize = board.generateMoves(turnMaker, legalMoves);
+
+      // Keep the engagements and Flag runs only
+      int legalMovesSize = 0;
+      for (int i = 0; i < generatedSize; i++)
+        if (PackedMove.isAggressive(legalMoves[i]) || isFlagRun(legalMoves[i], isMaximizing))
+          legalMoves[legalMovesSize++] = legalMoves[i];
+
+      final int ply = this.depth + MAX_QUIESCENCE_DEPTH - qDepth;
+      orderer.scoreMoves(board.getCompactBoard(), legalMoves, legalMovesSize, ply,
+          PackedMove.NONE, isMaximizing);
+
+      int bestScore = standPat;
+      for (int i = 0; i < legalMovesSize; i++) {
+        final int move = orderer.pickMove(legalMoves, legalMovesSize, ply, i);
+        this.nodeCount++;
+        final int nextMove = getHypotheticalMove(board, move);
+        evaluation.makeMove(board, nextMove);
+        final int value = quiescence(qDepth - 1, alpha, beta, !isMaximizing);
+        evaluation.unmakeMove(board, nextMove);
+
+        if (isMaximizing) {
+          bestScore = Math.max(bestScore, value);
+          alpha = Math.max(alpha, bestScore);
+        } else {
+          bestScore = Math.min(bestScore, value);
+          beta = Math.min(beta, bestScore);
+        }
+
+        if (alpha >= beta)
+          break;
+      }
+
+      return bestScore;
+    }
+
+    /**
+     * Follows the best moves stored in the transposition table from the root.
+     * The board is left unchanged.
+     * @param rootMove best root move, searched by this worker.
+     * @param maxSize  max moves, i.e. the depth of the iteration.
+     * @return int[] packed moves, with the engagement results searched.
+     */
+    private int[] collectPrincipalVariation(int rootMove, int maxSize) {
+      final int[] pv = new int[maxSize];
+      final int[] legalMoves = quiescenceMoveBuffers[0];
+      Alliance turnMaker = aiAlliance;
+      int move = rootMove;
+      int size = 0;
+
+      while (size < maxSize && move != PackedMove.NONE && board.getWinner() == null) {
+        pv[size] = getHypotheticalMove(board, move);
+        board.makeMove(pv[size++]);
+
+        turnMaker = turnMaker == aiAlliance ? getEnemyAlliance() : aiAlliance;
+        final long key = board.getZobristKey() ^
+          (turnMaker == Alliance.WHITE ? CompactBoard.ZOBRIST_WHITE_TO_MOVE : 0L);
+        final long entry = tt.probe(key);
+        final int ttMove = entry != 0L ? TranspositionTable.getBestMove(entry) : PackedMove.NONE;
+
+        // Entries may be overwritten by other positions of the same index
+        move = PackedMove.NONE;
+        final int legalMovesSize = board.generateMoves(turnMaker, legalMoves);
+        for (int i = 0; i < legalMovesSize; i++)
+          if (legalMoves[i] == ttMove)
+            move = ttMove;
+      }
+
+      for (int i = size - 1; i >= 0; i--)
+        board.unmakeMove(pv[i]);
+
+      return Arrays.copyOf(pv, size);
+    }
+
+    /**
+     * Is the move the AI Flag stepping onto its end row, i.e. winning. The
+     * enemy Flag is not known to the AI.
+     */
+    private boolean isFlagRun(int move, boolean isMaximizing) {
+      if (!isMaximizing)
+        return false;
+
+      final int srcTileId = PackedMove.getSrcTileId(move);
+      final int tgtTileId = PackedMove.getTgtTileId(move);
+      if ((board.getCompactBoard().getCode(srcTileId) & BoardUtils.RANK_CODE_MASK) != BoardUtils.FLAG_CODE)
+        return false;
+
+      return aiAlliance == Alliance.BLACK ?
+        tgtTileId >= BoardUtils.LAST_ROW_INIT : tgtTileId < BoardUtils.SECOND_ROW_INIT;
+    }
+  }
+
+  /**
+   * Swaps a move to the front of the moves buffer so that it is searched first.
+   * Does nothing if the move is not in the buffer.
+   */
+  private static void moveToFront(int[] moves, int movesSize, int move) {
+    if (move == PackedMove.NONE)
+      return;
+
+    for (int i = 1; i < movesSize; i++) {
+      if (moves[i] == move) {
+        moves[i] = moves[0];
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+
+  public void setThinkTimeMillis(long thinkTimeMillis) { this.thinkTimeMillis = thinkTimeMillis; }
+  public long getThinkTimeMillis()                     { return this.thinkTimeMillis; }
+  public void setMaxDepth(int maxDepth)                { this.maxDepth = maxDepth; }
+  public int getMaxDepth()                             { return this.maxDepth; }
+  public void setThreadCount(int threadCount)          { this.threadCount = Math.max(1, threadCount); }
+  public int getThreadCount()                          { return this.threadCount; }
+  public int getNodeCount()                            { return this.nodeCount; }
+
+  /**
+   * Gets the statistics of the latest search iteration. Safe to call from any
+   * thread while searching.
+   * @return SearchStats searchStats field, SearchStats.EMPTY before the first iteration.
+   */
+  public SearchStats getSearchStats() {
+    return this.searchStats;
+  }
+
+  /**
+   * Gets the transposition table of the first search worker.
+   * @return TranspositionTable of the first worker, null if nothing searched yet.
+   */
+  public TranspositionTable getTranspositionTable() {
+    return this.workers != null ? this.workers[0].tt : null;
+  }
+
+  public void setDisposition(Disposition disposition) {
+    if (disposition != null)
+      this.disposition = disposition;
+  }
+
+  public Disposition getDisposition() {
+    if (this.disposition != null)
+      return this.disposition;
+
+    return null;
+  }
+
+  /**
+   * Makes a move on the board with its engagement result forced according to
+   * the AI knowledge of the enemy piece instead of the true enemy rank.
+   *
+   * @return int the actually made packed move, used to unmake it.
+   */
+  public int makeHypotheticalMove(Board board, int move) {
+    move = getHypotheticalMove(board, move);
+    board.makeMove(move);
+    return move;
+  }
+
+  /**
+   * Forces the engagement result of a move according to the AI knowledge of
+   * the enemy piece instead of the true enemy rank.
+   *
+   * @return int the packed move to make in the search.
+   */
+  public int getHypotheticalMove(Board board, int move) {
+    // Use AI disposition or enemy piece beliefs to force piece engagement result
+    if (PackedMove.isAggressive(move)) {
+      final Piece srcPiece = board.getPiece(PackedMove.getSrcTileId(move));
+      final Piece tgtPiece = board.getPiece(PackedMove.getTgtTileId(move));
+      final boolean isAiAggressor = srcPiece.getAlliance() == aiAlliance;
+      final Piece aiPiece = isAiAggressor ? srcPiece : tgtPiece;
+      final Piece enemyPiece = isAiAggressor ? tgtPiece : srcPiece;
+      MoveType bias;
+
+      // Use the most likely result once the enemy piece has been engaged,
+      // else assume according to the AI disposition
+      if (beliefTracker.isObserved(enemyPiece.getPieceId())) {
+        bias = beliefTracker.getLikelyOutcome(enemyPiece.getPieceId(),
+            BoardUtils.getRankCode(aiPiece.getRank()), isAiAggressor);
+      } else {
+        int aiEngagement; // Engagement result from AI point of view. 1 win, 0 draw, -1 lose
+        if (this.disposition == Disposition.CONSERVATIVE)
+          aiEngagement = -1;
+        else if (this.disposition == Disposition.MODERATE)
+          aiEngagement = 0;
+        else
+          aiEngagement = 1;
+
+        if (aiEngagement == 0)
+          bias = MoveType.DRAW;
+        else if ((aiEngagement > 0) == isAiAggressor)
+          bias = MoveType.AGGRESSIVE_WIN;
+        else
+          bias = MoveType.AGGRESSIVE_LOSE;
+      }
+
+      move = PackedMove.withMoveType(move, bias.getValue());
+    }
+
+    return move;
+  }
+
+  /**
+   * Tries to prove a forced win with the {@link EndgameSolver} once few
+   * pieces are left, beyond the horizon of the search. Gives up after a share
+   * of the think time, as unproven positions are solved again every move.
+   * @param board board to solve, AI to move.
+   * @return int winning {@link PackedMove}, PackedMove.NONE if no win proven.
+   */
+  private int solveEndgame(Board board) {
+    final CompactBoard compactBoard = board.getCompactBoard();
+    if (compactBoard.countPieces(aiAlliance) + compactBoard.countPieces(getEnemyAlliance()) >
+        EndgameSolver.MAX_PIECES)
+      return PackedMove.NONE;
+
+    this.endgameDeadline = this.thinkTimeMillis > 0 ?
+      System.nanoTime() + this.thinkTimeMillis * 1000000L / ENDGAME_TIME_DIVISOR : Long.MAX_VALUE;
+    final int solvedMove = endgameSolver.solve(compactBoard, aiAlliance, enemyRankMasks, endgameStop);
+    this.nodeCount = endgameSolver.getNodeCount();
+    if (solvedMove < 0)
+      return PackedMove.NONE;
+
+    final int rootMovesSize = board.generateMoves(aiAlliance, rootMoves);
+    for (int i = 0; i < rootMovesSize; i++)
+      if (PackedMove.getSrcTileId(rootMoves[i]) == (solvedMove & 0x7F) &&
+          PackedMove.getTgtTileId(rootMoves[i]) == solvedMove >>> 7)
+        return rootMoves[i];
+
+    return PackedMove.NONE;
+  }
+
+  /**
+   * Sets the table the endgame solver caches proven wins in, e.g. one backed
+   * by a file to keep them across games.
+   * @param table EndgameTable to use.
+   */
+  public void setEndgameTable(EndgameTable table) {
+    this.endgameSolver.setTable(table);
+  }
+
+  public EndgameTable getEndgameTable() {
+    return this.endgameSolver.getTable();
+  }
+
+  public Alliance getEnemyAlliance() {
+    return aiAlliance == Alliance.BLACK ? Alliance.WHITE : Alliance.BLACK;
+  }
+
+  @Override
+  public void prepareSearch() {
+    super.prepareSearch();
+    beliefTracker.update(gog, getEnemyAlliance());
+
+    // Read for the endgame solver, which may run on another thread
+    final Board board = gog.getBoard();
+    final Alliance enemyAlliance = getEnemyAlliance();
+    for (int tileId = 0; tileId < BoardUtils.TOTAL_BOARD_TILES; tileId++) {
+      final Piece piece = board.getPiece(tileId);
+      final int slot = piece != null && piece.getAlliance() == enemyAlliance ?
+        beliefTracker.getSlot(piece.getPieceId()) : -1;
+      enemyRankMasks[tileId] = slot >= 0 ? beliefTracker.getPossibleRanks(slot) : 0;
+    }
+  }
+
+  @Override
+  public int searchMove(Board board) {
+    final int solvedMove = solveEndgame(board);
+    if (solvedMove != PackedMove.NONE) {
+      Log.log(this.getClass().getName(), "Endgame solved: " + PackedMove.toString(solvedMove));
+      return solvedMove;
+    }
+
+    return iterativeDeepening(board);
+  }
+
+  @Override
+  public void onMoveGenerated(Move move) {
+    Log.log(this.getClass().getName(), move.toString());
+  }
+
+  /**
+   * Stops the worker threads and closes the endgame table file, if any.
+   */
+  @Override
+  public void dispose() {
+    disposeWorkers();
+    endgameSolver.getTable().close();
+  }
+}
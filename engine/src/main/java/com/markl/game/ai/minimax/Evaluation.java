@@ -0,0 +1,216 @@
+package com.markl.game.ai.minimax;
+
+import static com.markl.game.engine.board.BoardUtils.BOARD_TILES_COL_COUNT;
+import static com.markl.game.engine.board.BoardUtils.BOARD_TILES_ROW_COUNT;
+import static com.markl.game.engine.board.BoardUtils.TOTAL_BOARD_TILES;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+import com.markl.game.engine.board.pieces.Piece;
+
+/**
+ * Incrementally maintained static evaluation of {@link AIMinimax}, scored
+ * from the AI point of view. Terms:
+ *   - material, the AI piece rank codes against the believed enemy rank
+ *     codes, see {@link AIMinimax#getPieceValue(Piece)}.
+ *   - mobility, the legal moves of the AI against those of the enemy.
+ *   - flag advancement, the rows the AI Flag has advanced towards the end
+ *     row where it concludes the game.
+ *   - flag safety, the enemy pieces adjacent to the AI Flag.
+ *
+ * The enemy Flag is unknown to the AI, thus has no terms. Material and
+ * mobility are updated on every make from the moved Tiles and their
+ * neighbours only, and restored from a stack on unmake. Owned by a single
+ * search thread.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class Evaluation {
+
+  public static final int MATERIAL_WEIGHT     = 8;
+  public static final int MOBILITY_WEIGHT     = 1;
+  public static final int FLAG_ADVANCE_WEIGHT = 4;  // Per row
+  public static final int FLAG_THREAT_WEIGHT  = 16; // Per adjacent enemy piece
+
+  private static final int STATE_SIZE = 3; // Saved material, mobility and flag Tile per ply
+  private static final int MAX_AFFECTED_TILES = 10;
+
+  private final AIMinimax ai;
+  private final int[] stack = new int[CompactBoard.MAX_PLIES * STATE_SIZE];
+  private final int[] affectedTiles = new int[MAX_AFFECTED_TILES];
+  private Alliance aiAlliance;
+  private int stackSize;
+  private int material;   // Sum of the signed piece values
+  private int mobility;   // AI minus enemy legal moves
+  private int aiFlagTile; // Tile id of the AI Flag, -1 if none
+
+  public Evaluation(AIMinimax ai) {
+    this.ai = ai;
+  }
+
+  /**
+   * Computes all terms from scratch. Must be called before searching a board.
+   * @param board board to evaluate.
+   */
+  public void init(final Board board) {
+    final CompactBoard compactBoard = board.getCompactBoard();
+    this.aiAlliance = ai.getAIAlliance();
+    this.stackSize = 0;
+    this.material = 0;
+    this.mobility = 0;
+    this.aiFlagTile = -1;
+
+    for (int tileId = 0; tileId < TOTAL_BOARD_TILES; tileId++) {
+      final Piece piece = board.getPiece(tileId);
+      if (piece == null)
+        continue;
+
+      material += getSignedValue(piece);
+      mobility += getSignedMobility(compactBoard, tileId);
+      if (piece.getAlliance() == aiAlliance &&
+          (compactBoard.getCode(tileId) & BoardUtils.RANK_CODE_MASK) == BoardUtils.FLAG_CODE)
+        aiFlagTile = tileId;
+    }
+  }
+
+  /**
+   * Makes a move on the board and updates the terms.
+   * @param board board to make the move on.
+   * @param move  {@link PackedMove} to make, with its engagement result.
+   */
+  public void makeMove(final Board board, final int move) {
+    final CompactBoard compactBoard = board.getCompactBoard();
+    final int srcTileId = PackedMove.getSrcTileId(move);
+    final int tgtTileId = PackedMove.getTgtTileId(move);
+
+    stack[stackSize++] = material;
+    stack[stackSize++] = mobility;
+    stack[stackSize++] = aiFlagTile;
+
+    switch (PackedMove.getMoveTypeValue(move)) {
+      case 0: // DRAW
+        material -= getSignedValue(board.getPiece(srcTileId));
+        material -= getSignedValue(board.getPiece(tgtTileId));
+        break;
+
+      case 2: // AGGRESSIVE_WIN
+        material -= getSignedValue(board.getPiece(tgtTileId));
+        break;
+
+      case 3: // AGGRESSIVE_LOSE
+        material -= getSignedValue(board.getPiece(srcTileId));
+        break;
+    }
+
+    // Only pieces on or next to the moved Tiles can gain or lose moves
+    final int affectedSize = collectAffectedTiles(srcTileId, tgtTileId);
+    for (int i = 0; i < affectedSize; i++)
+      mobility -= getSignedMobility(compactBoard, affectedTiles[i]);
+
+    board.makeMove(move);
+
+    for (int i = 0; i < affectedSize; i++)
+      mobility += getSignedMobility(compactBoard, affectedTiles[i]);
+
+    if (srcTileId == aiFlagTile)
+      aiFlagTile = compactBoard.isOccupiedBy(tgtTileId, aiAlliance) &&
+        (compactBoard.getCode(tgtTileId) & BoardUtils.RANK_CODE_MASK) == BoardUtils.FLAG_CODE ? tgtTileId : -1;
+    else if (tgtTileId == aiFlagTile && !compactBoard.isOccupiedBy(tgtTileId, aiAlliance))
+      aiFlagTile = -1;
+  }
+
+  /**
+   * Unmakes the last move made with {@link #makeMove(Board, int)} and
+   * restores the terms.
+   * @param board board to unmake the move on.
+   * @param move  last made {@link PackedMove}.
+   */
+  public void unmakeMove(final Board board, final int move) {
+    board.unmakeMove(move);
+    aiFlagTile = stack[--stackSize];
+    mobility = stack[--stackSize];
+    material = stack[--stackSize];
+  }
+
+  /**
+   * Gets the static evaluation of the current position.
+   * @param board board the terms are maintained for.
+   * @return int score, positive if in favor of the AI.
+   */
+  public int evaluate(final Board board) {
+    int score = material * MATERIAL_WEIGHT + mobility * MOBILITY_WEIGHT;
+
+    if (aiFlagTile >= 0) {
+      final CompactBoard compactBoard = board.getCompactBoard();
+      final int row = aiFlagTile / BOARD_TILES_COL_COUNT;
+      score += FLAG_ADVANCE_WEIGHT *
+        (aiAlliance == Alliance.BLACK ? row : BOARD_TILES_ROW_COUNT - 1 - row);
+
+      final Alliance enemyAlliance = ai.getEnemyAlliance();
+      for (int direction = 0; direction < 4; direction++) {
+        final int tileId = MoveGenerator.getAdjacentTileId(aiFlagTile, direction);
+        if (tileId >= 0 && compactBoard.isOccupiedBy(tileId, enemyAlliance))
+          score -= FLAG_THREAT_WEIGHT;
+      }
+    }
+
+    return score;
+  }
+
+  public int getMaterial()   { return this.material; }
+  public int getMobility()   { return this.mobility; }
+  public int getAIFlagTile() { return this.aiFlagTile; }
+
+  private int getSignedValue(final Piece piece) {
+    final int value = ai.getPieceValue(piece);
+    return piece.getAlliance() == aiAlliance ? value : -value;
+  }
+
+  /**
+   * Gets the amount of legal moves of the piece on a Tile.
+   * @return int moves, negative for enemy pieces, 0 if the Tile is empty.
+   */
+  private int getSignedMobility(final CompactBoard board, final int tileId) {
+    final int pieceCode = board.getCode(tileId);
+    if (pieceCode == BoardUtils.EMPTY_CODE)
+      return 0;
+
+    final int allianceBits = pieceCode & ~BoardUtils.RANK_CODE_MASK;
+    int moves = 0;
+    for (int direction = 0; direction < 4; direction++) {
+      final int adjTileId = MoveGenerator.getAdjacentTileId(tileId, direction);
+      if (adjTileId >= 0 && (board.getCode(adjTileId) & allianceBits) == 0)
+        moves++;
+    }
+
+    return BoardUtils.getCodeAlliance(pieceCode) == aiAlliance ? moves : -moves;
+  }
+
+  private int collectAffectedTiles(final int srcTileId, final int tgtTileId) {
+    int size = 0;
+    affectedTiles[size++] = srcTileId;
+    affectedTiles[size++] = tgtTileId;
+
+    for (int i = 0; i < 2; i++) {
+      final int tileId = affectedTiles[i];
+      for (int direction = 0; direction < 4; direction++) {
+        final int adjTileId = MoveGenerator.getAdjacentTileId(tileId, direction);
+        if (adjTileId < 0)
+          continue;
+
+        boolean isCollected = false;
+        for (int j = 0; j < size && !isCollected; j++)
+          isCollected = affectedTiles[j] == adjTileId;
+        if (!isCollected)
+          affectedTiles[size++] = adjTileId;
+      }
+    }
+
+    return size;
+  }
+}
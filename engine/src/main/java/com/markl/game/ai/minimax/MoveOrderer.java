@@ -0,0 +1,182 @@
+package com.markl.game.ai.minimax;
+
+import static com.markl.game.engine.board.BoardUtils.TOTAL_BOARD_TILES;
+
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+
+/**
+ * Orders the moves of a search node so that alpha-beta cuts off as early as
+ * possible. Moves are searched in this order:
+ *   1. The best move stored in the transposition table.
+ *   2. Flag advances towards the opposite end row.
+ *   3. Engagements of opposing pieces.
+ *   4. Killer moves, i.e. quiet moves that caused a cutoff in a sibling node.
+ *   5. The remaining quiet moves by their history score.
+ *
+ * Moves are picked one at a time so that nodes cut off early do not pay for
+ * sorting all their moves. Owned by a single search thread.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class MoveOrderer {
+
+  private static final int TT_MOVE_SCORE      = 1 << 30;
+  private static final int FLAG_ADVANCE_SCORE = 1 << 29;
+  private static final int ENGAGEMENT_SCORE   = 1 << 28;
+  private static final int KILLER_SCORE       = 1 << 27; // Second killer scores one less
+  private static final int MAX_HISTORY_SCORE  = 1 << 26; // History is halved once a score reaches this
+  private static final int KILLERS_PER_PLY    = 2;
+
+  private int[] killers = new int[0];                // Killer move keys of each ply, KILLERS_PER_PLY per ply
+  private int[][] scores = new int[0][];             // Move scores of each ply
+  private final int[] history = new int[TOTAL_BOARD_TILES * TOTAL_BOARD_TILES]; // Cutoff score by source and target Tile
+
+  /**
+   * Makes room for searches up to the given ply.
+   * @param maxPly deepest ply to order moves at.
+   */
+  public void ensureCapacity(final int maxPly) {
+    if (scores.length > maxPly)
+      return;
+
+    final int[] prevKillers = killers;
+    this.killers = new int[(maxPly + 1) * KILLERS_PER_PLY];
+    System.arraycopy(prevKillers, 0, killers, 0, prevKillers.length);
+    this.scores = new int[maxPly + 1][MoveGenerator.MAX_MOVES];
+  }
+
+  /**
+   * Forgets the killer moves and ages the history of the previous search,
+   * whose position was one move pair earlier.
+   */
+  public void newSearch() {
+    for (int i = 0; i < killers.length; i++)
+      killers[i] = PackedMove.NONE;
+    for (int i = 0; i < history.length; i++)
+      history[i] >>= 1;
+  }
+
+  /**
+   * Scores the generated moves of a node. Must be called before picking.
+   * @param board       board the moves were generated on.
+   * @param moves       generated moves.
+   * @param movesSize   amount of moves.
+   * @param ply         distance from the root.
+   * @param ttMove      best move from the transposition table, PackedMove.NONE if none.
+   * @param isRankKnown are the ranks of the moving side known, i.e. is it the
+   *                    AI. Flag advances of the enemy can not be recognized.
+   */
+  public void scoreMoves(final CompactBoard board, final int[] moves, final int movesSize,
+      final int ply, final int ttMove, final boolean isRankKnown)
+  {
+    final int[] plyScores = scores[ply];
+    final int killer0 = killers[ply * KILLERS_PER_PLY];
+    final int killer1 = killers[ply * KILLERS_PER_PLY + 1];
+
+    for (int i = 0; i < movesSize; i++) {
+      final int move = moves[i];
+      final int key = getMoveKey(move);
+      final int srcTileId = PackedMove.getSrcTileId(move);
+      final int tgtTileId = PackedMove.getTgtTileId(move);
+
+      if (move == ttMove)
+        plyScores[i] = TT_MOVE_SCORE;
+      else if (isRankKnown && isFlagAdvance(board.getCode(srcTileId), srcTileId, tgtTileId))
+        plyScores[i] = FLAG_ADVANCE_SCORE;
+      else if (PackedMove.isAggressive(move))
+        plyScores[i] = ENGAGEMENT_SCORE;
+      else if (key == killer0)
+        plyScores[i] = KILLER_SCORE;
+      else if (key == killer1)
+        plyScores[i] = KILLER_SCORE - 1;
+      else
+        plyScores[i] = history[srcTileId * TOTAL_BOARD_TILES + tgtTileId];
+    }
+  }
+
+  /**
+   * Swaps the best scored move among the not yet picked ones into the given
+   * index.
+   * @param moves     scored moves.
+   * @param movesSize amount of moves.
+   * @param ply       ply the moves were scored at.
+   * @param index     amount of moves already picked.
+   * @return int the picked move.
+   */
+  public int pickMove(final int[] moves, final int movesSize, final int ply, final int index) {
+    final int[] plyScores = scores[ply];
+    int best = index;
+
+    for (int i = index + 1; i < movesSize; i++)
+      if (plyScores[i] > plyScores[best])
+        best = i;
+
+    if (best != index) {
+      final int move = moves[best];
+      final int score = plyScores[best];
+      moves[best] = moves[index];
+      plyScores[best] = plyScores[index];
+      moves[index] = move;
+      plyScores[index] = score;
+    }
+
+    return moves[index];
+  }
+
+  /**
+   * Scores and fully sorts moves, best first. Used for the root moves, which
+   * are all searched anyway.
+   */
+  public void sortMoves(final CompactBoard board, final int[] moves, final int movesSize,
+      final int ply, final int ttMove, final boolean isRankKnown)
+  {
+    scoreMoves(board, moves, movesSize, ply, ttMove, isRankKnown);
+    for (int i = 0; i < movesSize; i++)
+      pickMove(moves, movesSize, ply, i);
+  }
+
+  /**
+   * Remembers a move that caused a beta cutoff. Engagements are ordered
+   * early regardless, so only quiet moves are kept.
+   * @param move  move that caused the cutoff.
+   * @param ply   distance from the root.
+   * @param depth remaining depth of the node. Deeper cutoffs weigh more.
+   */
+  public void onCutoff(final int move, final int ply, final int depth) {
+    if (PackedMove.isAggressive(move))
+      return;
+
+    final int key = getMoveKey(move);
+    final int slot = ply * KILLERS_PER_PLY;
+    if (killers[slot] != key) {
+      killers[slot + 1] = killers[slot];
+      killers[slot] = key;
+    }
+
+    final int index = PackedMove.getSrcTileId(move) * TOTAL_BOARD_TILES + PackedMove.getTgtTileId(move);
+    history[index] += depth * depth;
+    if (history[index] >= MAX_HISTORY_SCORE)
+      for (int i = 0; i < history.length; i++)
+        history[i] >>= 1;
+  }
+
+  private static boolean isFlagAdvance(final int pieceCode, final int srcTileId, final int tgtTileId) {
+    if ((pieceCode & BoardUtils.RANK_CODE_MASK) != BoardUtils.FLAG_CODE)
+      return false;
+
+    // Black advances towards the last row, White towards the first
+    if ((pieceCode & BoardUtils.BLACK_CODE_BIT) != 0)
+      return tgtTileId > srcTileId + 1;
+
+    return tgtTileId < srcTileId - 1;
+  }
+
+  private static int getMoveKey(final int move) {
+    return PackedMove.withMoveType(move, MoveType.INVALID.getValue());
+  }
+}
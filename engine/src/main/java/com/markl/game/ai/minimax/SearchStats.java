@@ -0,0 +1,116 @@
+package com.markl.game.ai.minimax;
+
+import java.util.Arrays;
+
+import com.markl.game.engine.board.PackedMove;
+
+/**
+ * Immutable statistics of an {@link AIMinimax} search, published after every
+ * iteration of the iterative deepening so that other threads, e.g. the AI
+ * debugger window, can read them while the search runs.
+ *
+ * Nodes and time of an aborted iteration count towards the totals but not
+ * towards the per iteration figures.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class SearchStats {
+
+  public static final SearchStats EMPTY = new SearchStats(0, 0, new int[0], new long[0],
+      new long[0], 0, 0, 0, 0);
+
+  private final int depth;              // Deepest completed iteration
+  private final int score;              // Score of the best move, from the AI point of view
+  private final int[] pv;               // Principal variation, packed moves as searched
+  private final long[] iterationNodes;  // Nodes of each completed iteration, by depth - 1
+  private final long[] iterationNanos;  // Time of each completed iteration, by depth - 1
+  private final long nodes;             // All nodes of the search so far
+  private final long elapsedNanos;      // Time of the search so far
+  private final long ttProbes;
+  private final long ttHits;
+
+  public SearchStats(int depth, int score, int[] pv, long[] iterationNodes, long[] iterationNanos,
+      long nodes, long elapsedNanos, long ttProbes, long ttHits)
+  {
+    this.depth = depth;
+    this.score = score;
+    this.pv = pv.clone();
+    this.iterationNodes = Arrays.copyOf(iterationNodes, depth);
+    this.iterationNanos = Arrays.copyOf(iterationNanos, depth);
+    this.nodes = nodes;
+    this.elapsedNanos = elapsedNanos;
+    this.ttProbes = ttProbes;
+    this.ttHits = ttHits;
+  }
+
+  public int getDepth()           { return this.depth; }
+  public int getScore()           { return this.score; }
+  public long getNodes()          { return this.nodes; }
+  public long getElapsedNanos()   { return this.elapsedNanos; }
+  public long getTTProbes()       { return this.ttProbes; }
+  public long getTTHits()         { return this.ttHits; }
+  public int getPVSize()          { return this.pv.length; }
+  public int getPVMove(int index) { return this.pv[index]; }
+
+  /**
+   * Gets the nodes searched by an iteration.
+   * @param depth depth of the iteration, from 1 to {@link #getDepth()}.
+   */
+  public long getIterationNodes(int depth) {
+    return this.iterationNodes[depth - 1];
+  }
+
+  /**
+   * Gets the time taken by an iteration.
+   * @param depth depth of the iteration, from 1 to {@link #getDepth()}.
+   */
+  public long getIterationNanos(int depth) {
+    return this.iterationNanos[depth - 1];
+  }
+
+  public double getNodesPerSecond() {
+    return elapsedNanos > 0 ? nodes * 1e9 / elapsedNanos : 0;
+  }
+
+  /**
+   * Gets the share of transposition table probes that found an entry.
+   * @return double hit rate from 0 to 1.
+   */
+  public double getTTHitRate() {
+    return ttProbes > 0 ? (double) ttHits / ttProbes : 0;
+  }
+
+  /**
+   * Gets the effective branching factor, i.e. the growth of the nodes of the
+   * deepest iteration over the previous one.
+   * @return double branching factor, 0 if less than two iterations completed.
+   */
+  public double getBranchingFactor() {
+    if (depth < 2 || iterationNodes[depth - 2] == 0)
+      return 0;
+
+    return (double) iterationNodes[depth - 1] / iterationNodes[depth - 2];
+  }
+
+  /**
+   * Gets the principal variation as readable moves separated by spaces.
+   */
+  public String getPVString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < pv.length; i++) {
+      if (i > 0)
+        builder.append(' ');
+      builder.append(PackedMove.toString(pv[i]));
+    }
+
+    return builder.toString();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("depth %d, score %d, nodes %d, %.0f nodes/s, tt hits %.1f%%, " +
+        "branching %.2f, %.1f ms, pv %s", depth, score, nodes, getNodesPerSecond(),
+        getTTHitRate() * 100, getBranchingFactor(), elapsedNanos / 1e6, getPVString());
+  }
+}
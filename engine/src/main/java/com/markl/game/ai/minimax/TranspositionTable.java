@@ -0,0 +1,137 @@
+package com.markl.game.ai.minimax;
+
+/**
+ * Fixed-size transposition table of searched positions keyed by Zobrist key.
+ * Each entry is packed into two longs, the full key and its data, so the table
+ * never allocates after construction.
+ *
+ * Entries are replaced by depth: a position searched shallower never replaces
+ * a deeper entry of the current search. Entries left over from previous
+ * searches are always replaceable.
+ *
+ * Data layout:
+ *   bits  0 - 31 = score
+ *   bits 32 - 48 = best packed move
+ *   bits 49 - 56 = searched depth
+ *   bits 57 - 58 = bound
+ *   bits 59 - 63 = search generation
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class TranspositionTable {
+
+  /** Score bound of an entry */
+  public static final int BOUND_NONE  = 0;
+  public static final int BOUND_EXACT = 1;
+  public static final int BOUND_LOWER = 2; // Score is at least the stored score
+  public static final int BOUND_UPPER = 3; // Score is at most the stored score
+
+  private static final int MOVE_SHIFT       = 32;
+  private static final long MOVE_MASK       = (1L << 17) - 1;
+  private static final int DEPTH_SHIFT      = 49;
+  private static final long DEPTH_MASK      = 0xFF;
+  private static final int BOUND_SHIFT      = 57;
+  private static final long BOUND_MASK      = 0x3;
+  private static final int GENERATION_SHIFT = 59;
+  private static final long GENERATION_MASK = 0x1F;
+
+  private final long[] keys;
+  private final long[] data;
+  private final int indexMask;
+  private int generation;
+  private long probes;
+  private long hits;
+
+  /**
+   * Constructor that takes in the table size.
+   * @param sizeBits table holds 2^sizeBits entries.
+   */
+  public TranspositionTable(int sizeBits) {
+    this.keys = new long[1 << sizeBits];
+    this.data = new long[1 << sizeBits];
+    this.indexMask = (1 << sizeBits) - 1;
+  }
+
+  /**
+   * Starts a new search. Entries of previous searches become replaceable.
+   */
+  public void newSearch() {
+    this.generation = (this.generation + 1) & (int) GENERATION_MASK;
+    this.probes = 0;
+    this.hits = 0;
+  }
+
+  /**
+   * Empties the table.
+   */
+  public void clear() {
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = 0L;
+      data[i] = 0L;
+    }
+  }
+
+  /**
+   * Looks up a position.
+   * @param key Zobrist key of the position.
+   * @return long entry data, 0 if not found. Decode with the static getters.
+   */
+  public long probe(long key) {
+    final int index = (int) key & indexMask;
+    probes++;
+
+    if (keys[index] == key && data[index] != 0L) {
+      hits++;
+      return data[index];
+    }
+
+    return 0L;
+  }
+
+  /**
+   * Stores a searched position unless a deeper entry of the current search
+   * already occupies its slot.
+   *
+   * @param key      Zobrist key of the position.
+   * @param depth    searched depth.
+   * @param score    searched score.
+   * @param bound    score bound, one of the BOUND_* constants.
+   * @param bestMove best packed move found.
+   */
+  public void store(long key, int depth, int score, int bound, int bestMove) {
+    final int index = (int) key & indexMask;
+    final long entry = data[index];
+
+    if (entry != 0L && getGeneration(entry) == generation && getDepth(entry) > depth)
+      return;
+
+    keys[index] = key;
+    data[index] = (score & 0xFFFFFFFFL) |
+      ((bestMove & MOVE_MASK) << MOVE_SHIFT) |
+      ((depth & DEPTH_MASK) << DEPTH_SHIFT) |
+      ((bound & BOUND_MASK) << BOUND_SHIFT) |
+      (((long) generation & GENERATION_MASK) << GENERATION_SHIFT);
+  }
+
+  /**
+   * Checks if the entry was stored by the current search. Entries of previous
+   * searches are only reliable for move ordering since the evaluation may have
+   * changed in between.
+   * @param entry entry data returned by {@link #probe(long)}.
+   * @return boolean true if stored after the last {@link #newSearch()}, else false.
+   */
+  public boolean isCurrentSearch(long entry) {
+    return getGeneration(entry) == generation;
+  }
+
+  public static int getScore(long entry)    { return (int) entry; }
+  public static int getBestMove(long entry) { return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK); }
+  public static int getDepth(long entry)    { return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK); }
+  public static int getBound(long entry)    { return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK); }
+  private static int getGeneration(long entry) { return (int) ((entry >>> GENERATION_SHIFT) & GENERATION_MASK); }
+
+  public long getProbes() { return this.probes; }
+  public long getHits()   { return this.hits; }
+  public int getSize()    { return this.keys.length; }
+}
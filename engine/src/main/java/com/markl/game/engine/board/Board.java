@@ -3,7 +3,6 @@ package com.markl.game.engine.board;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -16,8 +15,11 @@ import com.markl.game.engine.board.pieces.Piece;
  */
 public class Board {
 
-  private Gog gog;                 // Game instance reference
-  private LinkedList<Tile> tiles;  // List of all Tiles containing data of each piece
+  private Gog gog;                   // Game instance reference
+  private ArrayList<Tile> tiles;     // List of all Tiles containing data of each piece
+  private CompactBoard compactBoard; // Compact mirror of tiles kept in sync by every piece manipulation
+  private final int[] moveBuffer = new int[MoveGenerator.MAX_MOVES];
+  private final Piece[] undoPieces = new Piece[CompactBoard.MAX_PLIES * 2]; // Source and target piece of each made move
 
   /**
    * No argument constructor
@@ -39,7 +41,8 @@ public class Board {
    * Initializes Board instance
    */
   private void initBoard() {
-    this.tiles = new LinkedList<Tile>();
+    this.tiles = new ArrayList<Tile>(BoardUtils.TOTAL_BOARD_TILES);
+    this.compactBoard = new CompactBoard();
     clearBoard();
   }
 
@@ -76,11 +79,111 @@ public class Board {
     return -1;
   }
 
+  /**
+   * Makes a move directly on the board without evaluating it, recording it
+   * into the move history or switching turns. The engagement result is taken
+   * from the move class of the packed move. Made moves must be unmade in
+   * reverse order with {@link #unmakeMove(int)}.
+   *
+   * @param move {@link PackedMove} to make. Must not be INVALID.
+   */
+  public void makeMove(final int move) {
+    final int srcTileId = PackedMove.getSrcTileId(move);
+    final int tgtTileId = PackedMove.getTgtTileId(move);
+    final Tile srcTile = getTile(srcTileId);
+    final Tile tgtTile = getTile(tgtTileId);
+    final Piece srcPiece = srcTile.getPiece();
+    final int ply = this.compactBoard.getPly();
+
+    this.compactBoard.makeMove(move);
+    this.undoPieces[ply * 2] = srcPiece;
+    this.undoPieces[ply * 2 + 1] = tgtTile.getPiece();
+
+    switch (PackedMove.getMoveTypeValue(move)) {
+      case 0: // DRAW
+        srcTile.removePiece();
+        tgtTile.removePiece();
+        break;
+
+      case 1: // NORMAL
+      case 2: // AGGRESSIVE_WIN
+        srcTile.removePiece();
+        tgtTile.removePiece();
+        tgtTile.insertPiece(srcPiece);
+        srcPiece.setPieceTileId(tgtTileId);
+        break;
+
+      case 3: // AGGRESSIVE_LOSE
+        srcTile.removePiece();
+        break;
+    }
+  }
+
+  /**
+   * Unmakes the last move made with {@link #makeMove(int)} and restores the
+   * captured pieces.
+   *
+   * @param move {@link PackedMove} last made.
+   */
+  public void unmakeMove(final int move) {
+    final int srcTileId = PackedMove.getSrcTileId(move);
+    final int tgtTileId = PackedMove.getTgtTileId(move);
+    final Tile srcTile = getTile(srcTileId);
+    final Tile tgtTile = getTile(tgtTileId);
+
+    this.compactBoard.unmakeMove(move);
+
+    final int ply = this.compactBoard.getPly();
+    final Piece srcPiece = this.undoPieces[ply * 2];
+    final Piece tgtPiece = this.undoPieces[ply * 2 + 1];
+    this.undoPieces[ply * 2] = null;
+    this.undoPieces[ply * 2 + 1] = null;
+
+    tgtTile.removePiece();
+    if (tgtPiece != null)
+      tgtTile.insertPiece(tgtPiece);
+
+    srcTile.removePiece();
+    srcTile.insertPiece(srcPiece);
+    srcPiece.setPieceTileId(srcTileId);
+  }
+
+  /**
+   * Gets the winner declared by moves made with {@link #makeMove(int)}.
+   * @return Alliance of the winner, null if undecided.
+   */
+  public Alliance getWinner() {
+    return this.compactBoard.getWinner();
+  }
+
+  /**
+   * Creates a detached copy of this Board without {@link Gog}. Pieces are
+   * cloned with their piece ids kept, so the copy can be searched on another
+   * thread while this Board keeps changing.
+   * @return Board copy of the current board state.
+   */
+  public Board copy() {
+    final Board copy = new Board();
+
+    for (int i = 0; i < BoardUtils.TOTAL_BOARD_TILES; i++) {
+      final Piece piece = getPiece(i);
+      if (piece != null) {
+        final Piece pieceCopy = piece.clone();
+        pieceCopy.board = copy;
+        copy.insertPiece(i, pieceCopy);
+      }
+    }
+    copy.compactBoard.setWinner(getWinner());
+
+    return copy;
+  }
+
   /**
    * Method that empties board Tiles pieces.
    */
   public void clearBoard() {
-    this.tiles = new LinkedList<Tile>();
+    this.tiles = new ArrayList<Tile>(BoardUtils.TOTAL_BOARD_TILES);
+    this.compactBoard.clear();
     // Add new empty Tiles in board
     for (int i = 0; i < BoardUtils.TOTAL_BOARD_TILES; i++) {
       // Set Tile territory
@@ -100,8 +203,8 @@ public class Board {
   public boolean insertPiece(final int srcPieceTileId, final Piece piece) {
     if (this.getTile(srcPieceTileId).isTileEmpty()) {
       piece.setPieceTileId(srcPieceTileId);
-      this.getAllTiles().get(srcPieceTileId).insertPiece(piece);
       this.getTile(srcPieceTileId).insertPiece(piece);
+      this.compactBoard.setPiece(srcPieceTileId, BoardUtils.encodePiece(piece));
       return true;
     }
     return false;
@@ -115,10 +218,9 @@ public class Board {
    */
   public boolean replacePiece(final int tgtTileId, final Piece srcTileId) {
     if (this.getTile(tgtTileId).isTileOccupied()) {
-      // TODO: improve piece manipulation efficiency
       srcTileId.setPieceTileId(tgtTileId);
-      this.getAllTiles().get(tgtTileId).replacePiece(srcTileId);
       this.getTile(tgtTileId).replacePiece(srcTileId);
+      this.compactBoard.setPiece(tgtTileId, BoardUtils.encodePiece(srcTileId));
 
       return true;
     }
@@ -132,15 +234,16 @@ public class Board {
    * @return boolean true if successful, else false.
    */
   public boolean movePiece(final int srcPieceTileId, final int tgtPieceTileId) {
-    // insert copy of source piece into target tile
+    // relocate source piece into target tile
     if (this.getTile(srcPieceTileId).isTileOccupied() &&
         this.getTile(tgtPieceTileId).isTileEmpty())
     {
-      final Piece srcPieceCopy = this.getTile(srcPieceTileId).getPiece().clone();
-      srcPieceCopy.setPieceTileId(tgtPieceTileId);
-      this.getTile(tgtPieceTileId).insertPiece(srcPieceCopy);
+      final Piece srcPiece = this.getTile(srcPieceTileId).getPiece();
+      srcPiece.setPieceTileId(tgtPieceTileId);
+      this.getTile(tgtPieceTileId).insertPiece(srcPiece);
       // delete source piece
       this.getTile(srcPieceTileId).removePiece();
+      this.compactBoard.movePiece(srcPieceTileId, tgtPieceTileId);
 
       return true;
     }
@@ -155,6 +258,7 @@ public class Board {
   public boolean deletePiece(final int pieceTileId) {
     if (this.getTile(pieceTileId).isTileOccupied()) {
       this.getTile(pieceTileId).removePiece();
+      this.compactBoard.removePiece(pieceTileId);
       return true;
     }
     return false;
@@ -170,14 +274,18 @@ public class Board {
     if (this.getTile(srcPieceTileId).isTileOccupied() &&
         this.getTile(tgtPieceTileId).isTileOccupied())
     {
-      final Piece tmpSrcPiece = this.getTile(srcPieceTileId).getPiece().clone();
-      final Piece tmpTgtPiece = this.getTile(tgtPieceTileId).getPiece().clone();
+      final Piece tmpSrcPiece = this.getTile(srcPieceTileId).getPiece();
+      final Piece tmpTgtPiece = this.getTile(tgtPieceTileId).getPiece();
 
       tmpSrcPiece.setPieceTileId(tgtPieceTileId);
       tmpTgtPiece.setPieceTileId(srcPieceTileId);
 
-      this.getAllTiles().get(srcPieceTileId).replacePiece(tmpTgtPiece);
-      this.getAllTiles().get(tgtPieceTileId).replacePiece(tmpSrcPiece);
+      this.getTile(srcPieceTileId).replacePiece(tmpTgtPiece);
+      this.getTile(tgtPieceTileId).replacePiece(tmpSrcPiece);
+
+      final int srcPieceCode = this.compactBoard.getCode(srcPieceTileId);
+      this.compactBoard.setPiece(srcPieceTileId, this.compactBoard.getCode(tgtPieceTileId));
+      this.compactBoard.setPiece(tgtPieceTileId, srcPieceCode);
 
       return true;
     }
@@ -237,25 +345,49 @@ public class Board {
    * Gets current board state.
    * @return List<Tile> gameBoard field.
    */
-  public LinkedList<Tile> getAllTiles() {
+  public List<Tile> getAllTiles() {
     return this.tiles;
   }
 
-  public List<Move> getLegalMoves() {
-    List<Move> legalMoves = new ArrayList<Move>();
-    Map<Integer, Move> candidateMoves;
-
-    Map<Integer, Piece> pieces = collectPieces(gog.getCurrTurnMaker());
+  /**
+   * Gets the compact representation of the current board state. Stays in sync
+   * as long as pieces are manipulated through this Board.
+   * @return CompactBoard compactBoard field.
+   */
+  public CompactBoard getCompactBoard() {
+    return this.compactBoard;
+  }
 
-    for (Map.Entry<Integer, Piece> pieceEntry : pieces.entrySet()) {
-      candidateMoves = pieceEntry.getValue().evaluateMoves();
+  /**
+   * Gets the Zobrist key of the current piece placement.
+   * @return long Zobrist key of the compact board.
+   */
+  public long getZobristKey() {
+    return this.compactBoard.getZobristKey();
+  }
 
-      for (Map.Entry<Integer, Move> moveEntry : candidateMoves.entrySet()) {
-        Move move = moveEntry.getValue();
+  /**
+   * Generates all legal moves of the given {@link Alliance} into a caller
+   * supplied buffer without allocating.
+   * @param alliance Alliance of the pieces to move.
+   * @param moves    buffer with room for {@link MoveGenerator#MAX_MOVES} moves.
+   * @return int amount of {@link PackedMove} written.
+   */
+  public int generateMoves(Alliance alliance, int[] moves) {
+    return MoveGenerator.generateMoves(this.compactBoard, alliance, moves, 0);
+  }
 
-        if (move != null && move.getMoveType().getValue() != -1)
-          legalMoves.add(move);
-      }
+  public List<Move> getLegalMoves() {
+    final Alliance currTurnMaker = gog.getCurrTurnMaker();
+    final Player player = gog.getPlayer(currTurnMaker);
+    final int movesCount = generateMoves(currTurnMaker, this.moveBuffer);
+    final List<Move> legalMoves = new ArrayList<Move>(movesCount);
+
+    for (int i = 0; i < movesCount; i++) {
+      final Move move = new Move(player, this,
+          PackedMove.getSrcTileId(moveBuffer[i]), PackedMove.getTgtTileId(moveBuffer[i]));
+      move.evaluate();
+      legalMoves.add(move);
     }
 
     return legalMoves;
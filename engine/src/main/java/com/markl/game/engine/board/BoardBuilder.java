@@ -4,8 +4,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
-import com.badlogic.gdx.Gdx;
 import com.markl.game.engine.board.pieces.Captain;
 import com.markl.game.engine.board.pieces.Colonel;
 import com.markl.game.engine.board.pieces.Flag;
@@ -22,6 +22,7 @@ import com.markl.game.engine.board.pieces.Piece;
 import com.markl.game.engine.board.pieces.Private;
 import com.markl.game.engine.board.pieces.Sergeant;
 import com.markl.game.engine.board.pieces.Spy;
+import com.markl.game.util.Log;
 import com.markl.game.util.Utils;
 
 /**
@@ -38,6 +39,7 @@ public class BoardBuilder {
   private int blackPiecesCount;                  // Black pieces counter
   private int whitePiecesCount;                  // White pieces counter
   private final LinkedHashMap<Integer, Piece> boardConfig; // HashMap of board configuration that contains all designated pieces
+  private Random random;                         // Random of the random builds. Shared Utils random if null
 
   public BoardBuilder(Board board) {
     this.board = board;
@@ -365,6 +367,42 @@ public class BoardBuilder {
     }
   }
 
+  /**
+   * Creates board configuration sampled from a formation book on both
+   * territories.
+   * @param book FormationBook to sample from. Random build if null.
+   */
+  public void createBoardBookBuild(final FormationBook book) {
+    createTerritoryBookBuild(Alliance.BLACK, book);
+    createTerritoryBookBuild(Alliance.WHITE, book);
+  }
+
+  /**
+   * Creates build on specified territory sampled from a formation book.
+   * @param alliance Alliance to build territory for.
+   * @param book     FormationBook to sample from. Random build if null.
+   */
+  public void createTerritoryBookBuild(final Alliance alliance, final FormationBook book) {
+    if (book == null) {
+      createTerritoryRandomBuild(alliance);
+      return;
+    }
+
+    final int index = book.sample(getRandom());
+    final Player owner = alliance == Alliance.BLACK ? playerBlack : playerWhite;
+
+    for (int territoryIndex = 0; territoryIndex < FormationBook.TERRITORY_TILES; territoryIndex++) {
+      final int rankCode = book.getRankCode(index, territoryIndex);
+      if (rankCode == BoardUtils.EMPTY_CODE)
+        continue;
+
+      final Piece piece = BoardUtils.pieceInstanceCreator(this.board.getGog(),
+          BoardUtils.getRankName(rankCode), owner, alliance);
+      piece.setPieceTileId(FormationBook.getTileId(alliance, territoryIndex));
+      setPiece(piece, false);
+    }
+  }
+
   /**
    * Builds board pieces initial arrangement.
    * Debug mode skips board configuration size check.
@@ -374,19 +412,19 @@ public class BoardBuilder {
   public void build(boolean isMissingAllowed) {
     // Checks if all pieces has been set
     if ((this.boardConfig.size() == 42 || this.boardConfig.size() == 21) && !isMissingAllowed) {
-      Gdx.app.log(this.getClass().getName(), "ERROR: Missing piece(s)");
+      Log.log(this.getClass().getName(), "ERROR: Missing piece(s)");
       return;
     }
 
     this.board.clearBoard();
-    List<Tile> tiles = this.board.getAllTiles();
 
-    // Insert pieces to Board Tiles based on build config.
+    // Insert pieces to Board Tiles based on build config. Skipped if not empty.
+    // Piece ids are renumbered since randomly set pieces are clones sharing
+    // the id of their original, while the AI tells enemy pieces apart by id.
+    int pieceId = 0;
     for (final Map.Entry<Integer, Piece> entry : this.boardConfig.entrySet()) {
-      // insert piece to Tile if empty
-      if (tiles.get(entry.getKey()).isTileEmpty()) {
-        tiles.get(entry.getKey()).insertPiece(entry.getValue());
-      }
+      entry.getValue().pieceId = pieceId++;
+      this.board.insertPiece(entry.getKey(), entry.getValue());
     }
 
     this.board.getGog().setBlackPiecesCount(this.blackPiecesCount);
@@ -460,7 +498,7 @@ public class BoardBuilder {
     int randomEmptyTile;
 
     while (pieceInstanceCounter < piece.getLegalPieceInstanceCount()) {
-      randomEmptyTile = Utils.getRandomIntWithExclusion(from, to, occupiedTiles);
+      randomEmptyTile = Utils.getRandomIntWithExclusion(getRandom(), from, to, occupiedTiles);
       pieceCopy.setPieceTileId(randomEmptyTile);
       // TODO: Fix to check if randomEmptyTile is empty
       if (setPiece(pieceCopy, false)) {
@@ -471,6 +509,19 @@ public class BoardBuilder {
     }
   }
 
+  /**
+   * Sets the random number generator of the random builds, e.g. to reproduce
+   * a build without touching the shared Utils random other threads draw from.
+   * @param random Random to draw from, null for the shared Utils random.
+   */
+  public void setRandom(final Random random) {
+    this.random = random;
+  }
+
+  private Random getRandom() {
+    return this.random != null ? this.random : Utils.getRandom();
+  }
+
   /**
    * Method that counts all piece instances that has been set into boardConfig
    * field.
@@ -519,7 +570,7 @@ public class BoardBuilder {
     if ((piece.getAlliance() == Alliance.BLACK &&
           piece.getPieceTileId() < BoardUtils.TOTAL_BOARD_TILES / 2) ||
         (piece.getAlliance() == Alliance.WHITE &&
-         piece.getPieceTileId() > BoardUtils.TOTAL_BOARD_TILES / 2))
+         piece.getPieceTileId() >= BoardUtils.TOTAL_BOARD_TILES / 2))
     {
       return true;
     }
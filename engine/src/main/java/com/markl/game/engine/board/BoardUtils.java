@@ -88,6 +88,30 @@ public class BoardUtils {
   public static final int PRIVATE_COUNT       = 6;
   public static final int FLAG_COUNT          = 1;
 
+  /** Pieces compact rank code. Ordered by power level with Spy on top */
+  public static final int EMPTY_CODE         = 0;
+  public static final int FLAG_CODE          = 1;
+  public static final int PRIVATE_CODE       = 2;
+  public static final int SERGEANT_CODE      = 3;
+  public static final int LT_TWO_CODE        = 4;
+  public static final int LT_ONE_CODE        = 5;
+  public static final int CAPTAIN_CODE       = 6;
+  public static final int MAJOR_CODE         = 7;
+  public static final int LT_COLONEL_CODE    = 8;
+  public static final int COLONEL_CODE       = 9;
+  public static final int GENERAL_ONE_CODE   = 10;
+  public static final int GENERAL_TWO_CODE   = 11;
+  public static final int GENERAL_THREE_CODE = 12;
+  public static final int GENERAL_FOUR_CODE  = 13;
+  public static final int GENERAL_FIVE_CODE  = 14;
+  public static final int SPY_CODE           = 15;
+  public static final int RANK_CODE_COUNT    = 15;
+
+  /** Pieces compact code layout. Low nibble holds the rank code, high bits the alliance */
+  public static final int RANK_CODE_MASK = 0x0F;
+  public static final int BLACK_CODE_BIT = 0x10;
+  public static final int WHITE_CODE_BIT = 0x20;
+
   /**
    * Creates Piece instance of the passed in piece rank and alliance.
    * @param pieceRankName   name or rank of the piece to be created.
@@ -134,6 +158,127 @@ public class BoardUtils {
     return piece;
   }
 
+  /**
+   * Gets the compact rank code of the piece rank name.
+   * @param pieceRankName name or rank of the piece.
+   * @return int rank code. {@link #EMPTY_CODE} if unknown rank.
+   */
+  public static int getRankCode(final String pieceRankName) {
+    switch (pieceRankName) {
+      case FLAG_RANK:          return FLAG_CODE;
+      case PRIVATE_RANK:       return PRIVATE_CODE;
+      case SERGEANT_RANK:      return SERGEANT_CODE;
+      case LT_TWO_RANK:        return LT_TWO_CODE;
+      case LT_ONE_RANK:        return LT_ONE_CODE;
+      case CAPTAIN_RANK:       return CAPTAIN_CODE;
+      case MAJOR_RANK:         return MAJOR_CODE;
+      case LT_COLONEL_RANK:    return LT_COLONEL_CODE;
+      case COLONEL_RANK:       return COLONEL_CODE;
+      case GENERAL_ONE_RANK:   return GENERAL_ONE_CODE;
+      case GENERAL_TWO_RANK:   return GENERAL_TWO_CODE;
+      case GENERAL_THREE_RANK: return GENERAL_THREE_CODE;
+      case GENERAL_FOUR_RANK:  return GENERAL_FOUR_CODE;
+      case GENERAL_FIVE_RANK:  return GENERAL_FIVE_CODE;
+      case SPY_RANK:           return SPY_CODE;
+      default:                 return EMPTY_CODE;
+    }
+  }
+
+  /**
+   * Gets the piece rank name of the compact rank code.
+   * @param rankCode compact rank code, with or without alliance bits.
+   * @return String rank name. Null if empty.
+   */
+  public static String getRankName(final int rankCode) {
+    switch (rankCode & RANK_CODE_MASK) {
+      case FLAG_CODE:          return FLAG_RANK;
+      case PRIVATE_CODE:       return PRIVATE_RANK;
+      case SERGEANT_CODE:      return SERGEANT_RANK;
+      case LT_TWO_CODE:        return LT_TWO_RANK;
+      case LT_ONE_CODE:        return LT_ONE_RANK;
+      case CAPTAIN_CODE:       return CAPTAIN_RANK;
+      case MAJOR_CODE:         return MAJOR_RANK;
+      case LT_COLONEL_CODE:    return LT_COLONEL_RANK;
+      case COLONEL_CODE:       return COLONEL_RANK;
+      case GENERAL_ONE_CODE:   return GENERAL_ONE_RANK;
+      case GENERAL_TWO_CODE:   return GENERAL_TWO_RANK;
+      case GENERAL_THREE_CODE: return GENERAL_THREE_RANK;
+      case GENERAL_FOUR_CODE:  return GENERAL_FOUR_RANK;
+      case GENERAL_FIVE_CODE:  return GENERAL_FIVE_RANK;
+      case SPY_CODE:           return SPY_RANK;
+      default:                 return null;
+    }
+  }
+
+  /**
+   * Gets the power level of the compact rank code.
+   * @param rankCode compact rank code, with or without alliance bits.
+   * @return int power level. 0 if empty.
+   */
+  public static int getRankCodePowLvl(final int rankCode) {
+    final int code = rankCode & RANK_CODE_MASK;
+    return code == SPY_CODE ? SPY_POW : code;
+  }
+
+  /**
+   * Gets the legal instance count of the compact rank code.
+   * @param rankCode compact rank code, with or without alliance bits.
+   * @return int allowed amount of piece instance per Player. 0 if empty.
+   */
+  public static int getRankCodeCount(final int rankCode) {
+    switch (rankCode & RANK_CODE_MASK) {
+      case EMPTY_CODE:   return 0;
+      case PRIVATE_CODE: return PRIVATE_COUNT;
+      case SPY_CODE:     return SPY_COUNT;
+      default:           return 1;
+    }
+  }
+
+  /**
+   * Encodes piece rank code and alliance into a single compact piece code.
+   * @param rankCode compact rank code.
+   * @param alliance Alliance of the piece.
+   * @return int compact piece code.
+   */
+  public static int encodePiece(final int rankCode, final Alliance alliance) {
+    return (rankCode & RANK_CODE_MASK) | getAllianceCodeBit(alliance);
+  }
+
+  /**
+   * Encodes {@link Piece} instance into a single compact piece code.
+   * @param piece Piece to encode.
+   * @return int compact piece code. {@link #EMPTY_CODE} if piece is null.
+   */
+  public static int encodePiece(final Piece piece) {
+    if (piece == null)
+      return EMPTY_CODE;
+
+    return encodePiece(getRankCode(piece.getRank()), piece.getAlliance());
+  }
+
+  /**
+   * Gets the alliance bit used in the compact piece code.
+   * @param alliance Alliance of the piece.
+   * @return int alliance code bit.
+   */
+  public static int getAllianceCodeBit(final Alliance alliance) {
+    return alliance == Alliance.WHITE ? WHITE_CODE_BIT : BLACK_CODE_BIT;
+  }
+
+  /**
+   * Gets the {@link Alliance} of the compact piece code.
+   * @param pieceCode compact piece code.
+   * @return Alliance of the piece. Null if empty.
+   */
+  public static Alliance getCodeAlliance(final int pieceCode) {
+    if ((pieceCode & WHITE_CODE_BIT) != 0)
+      return Alliance.WHITE;
+    else if ((pieceCode & BLACK_CODE_BIT) != 0)
+      return Alliance.BLACK;
+
+    return null;
+  }
+
   /**
    *
    * @return tile column number on a 2D board
@@ -0,0 +1,384 @@
+package com.markl.game.engine.board;
+
+import static com.markl.game.engine.board.BoardUtils.BLACK_CODE_BIT;
+import static com.markl.game.engine.board.BoardUtils.EMPTY_CODE;
+import static com.markl.game.engine.board.BoardUtils.FLAG_CODE;
+import static com.markl.game.engine.board.BoardUtils.RANK_CODE_MASK;
+import static com.markl.game.engine.board.BoardUtils.TOTAL_BOARD_TILES;
+import static com.markl.game.engine.board.BoardUtils.WHITE_CODE_BIT;
+
+import java.util.Random;
+
+/**
+ * Compact array based representation of the {@link Board}. Each Tile is
+ * stored as a single byte piece code (see {@link BoardUtils#encodePiece}) and
+ * each {@link Alliance} has its own 72-bit occupancy mask split into two longs.
+ * Tiles 0 - 63 are in the low mask and tiles 64 - 71 in the high mask.
+ *
+ * Unlike the {@link Tile} list of the Board, this representation holds no
+ * object references and can be copied or queried without allocation.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class CompactBoard {
+
+  /** Default max amount of moves that can be made before unmaking */
+  public static final int MAX_PLIES = 1024;
+
+  /** Zobrist keys of each Tile and piece code. Empty tiles key to 0 */
+  private static final long[] ZOBRIST_PIECE_KEYS = new long[TOTAL_BOARD_TILES * 64];
+  /** Zobrist key of WHITE being the side to move */
+  public static final long ZOBRIST_WHITE_TO_MOVE;
+
+  static {
+    final Random rand = new Random(0x6f6f6f6fL); // Fixed seed for reproducible keys
+    for (int i = 0; i < ZOBRIST_PIECE_KEYS.length; i++)
+      ZOBRIST_PIECE_KEYS[i] = (i & 63) == EMPTY_CODE ? 0L : rand.nextLong();
+    ZOBRIST_WHITE_TO_MOVE = rand.nextLong();
+  }
+
+  private final byte[] codes;    // Compact piece code of each Tile. EMPTY_CODE if empty.
+  private long blackLo;          // Black occupancy mask of tiles 0 - 63
+  private long blackHi;          // Black occupancy mask of tiles 64 - 71
+  private long whiteLo;          // White occupancy mask of tiles 0 - 63
+  private long whiteHi;          // White occupancy mask of tiles 64 - 71
+  private int winnerBit;         // Alliance code bit of the winner. 0 if undecided.
+  private final int[] undoStack; // Source code, target code and previous winner of each made move
+  private int ply;               // Amount of moves made and not yet unmade
+  private long zobristKey;       // Incrementally updated Zobrist key of all pieces
+
+  /**
+   * No argument constructor that creates an empty board.
+   */
+  public CompactBoard() {
+    this(MAX_PLIES);
+  }
+
+  /**
+   * Creates an empty board that can make the given amount of moves before
+   * unmaking. Boards that never unmake, e.g. of the game server, need only 1
+   * along with {@link #clearUndo()}.
+   * @param maxPlies undo stack capacity.
+   */
+  public CompactBoard(final int maxPlies) {
+    this.codes = new byte[TOTAL_BOARD_TILES];
+    this.undoStack = new int[maxPlies];
+  }
+
+  /**
+   * Copy constructor.
+   * @param other CompactBoard to copy.
+   */
+  public CompactBoard(final CompactBoard other) {
+    this.codes = new byte[TOTAL_BOARD_TILES];
+    this.undoStack = new int[MAX_PLIES];
+    copyFrom(other);
+  }
+
+  /**
+   * Overwrites this board with the contents of another board without
+   * allocating. The undo stack is not copied, thus the copy can not unmake
+   * moves made on the other board.
+   * @param other CompactBoard to copy from.
+   */
+  public void copyFrom(final CompactBoard other) {
+    System.arraycopy(other.codes, 0, this.codes, 0, TOTAL_BOARD_TILES);
+    this.blackLo = other.blackLo;
+    this.blackHi = other.blackHi;
+    this.whiteLo = other.whiteLo;
+    this.whiteHi = other.whiteHi;
+    this.winnerBit = other.winnerBit;
+    this.zobristKey = other.zobristKey;
+    this.ply = 0;
+  }
+
+  /**
+   * Copies the compact piece codes of all Tiles into a buffer.
+   * @param dst buffer of at least TOTAL_BOARD_TILES length.
+   */
+  public void copyCodesTo(final byte[] dst) {
+    System.arraycopy(this.codes, 0, dst, 0, TOTAL_BOARD_TILES);
+  }
+
+  /**
+   * Creates a copy of this board.
+   * @return CompactBoard copy.
+   */
+  public CompactBoard copy() {
+    return new CompactBoard(this);
+  }
+
+  /**
+   * Empties all Tiles.
+   */
+  public void clear() {
+    for (int i = 0; i < TOTAL_BOARD_TILES; i++)
+      this.codes[i] = EMPTY_CODE;
+
+    this.blackLo = 0L;
+    this.blackHi = 0L;
+    this.whiteLo = 0L;
+    this.whiteHi = 0L;
+    this.winnerBit = 0;
+    this.zobristKey = 0L;
+    this.ply = 0;
+  }
+
+  /**
+   * Makes a move without evaluating it. The engagement result is taken from
+   * the move class of the packed move, thus it can be forced regardless of the
+   * engaging pieces ranks. Also declares the winner if the move concludes the
+   * game.
+   *
+   * @param move {@link PackedMove} to make. Must not be INVALID.
+   */
+  public void makeMove(final int move) {
+    final int srcTileId = PackedMove.getSrcTileId(move);
+    final int tgtTileId = PackedMove.getTgtTileId(move);
+    final int srcPieceCode = this.codes[srcTileId];
+    final int tgtPieceCode = this.codes[tgtTileId];
+    final int srcRank = srcPieceCode & RANK_CODE_MASK;
+
+    if (this.ply == this.undoStack.length)
+      throw new IllegalStateException("CompactBoard undo stack overflow");
+
+    this.undoStack[this.ply++] = (srcPieceCode & 0xFF) | ((tgtPieceCode & 0xFF) << 8) | (this.winnerBit << 16);
+
+    switch (PackedMove.getMoveTypeValue(move)) {
+      case 0: // DRAW
+        removePiece(srcTileId);
+        removePiece(tgtTileId);
+        break;
+
+      case 1: // NORMAL
+        removePiece(srcTileId);
+        setPiece(tgtTileId, srcPieceCode);
+
+        // Check if Flag has been maneuvered into the opposite end row of the board.
+        if (srcRank == FLAG_CODE && isOppositeEndRow(tgtTileId, srcPieceCode))
+          this.winnerBit = srcPieceCode & ~RANK_CODE_MASK;
+        break;
+
+      case 2: // AGGRESSIVE_WIN
+        removePiece(srcTileId);
+        setPiece(tgtTileId, srcPieceCode);
+
+        if ((tgtPieceCode & RANK_CODE_MASK) == FLAG_CODE)
+          this.winnerBit = srcPieceCode & ~RANK_CODE_MASK;
+        break;
+
+      case 3: // AGGRESSIVE_LOSE
+        removePiece(srcTileId);
+
+        if (srcRank == FLAG_CODE && (tgtPieceCode & RANK_CODE_MASK) != FLAG_CODE)
+          this.winnerBit = tgtPieceCode & ~RANK_CODE_MASK;
+        break;
+
+      default:
+        this.ply--;
+        throw new IllegalArgumentException("Can not make move " + PackedMove.toString(move));
+    }
+  }
+
+  /**
+   * Unmakes the last made move.
+   *
+   * @param move {@link PackedMove} last made with {@link #makeMove(int)}.
+   */
+  public void unmakeMove(final int move) {
+    final int undo = this.undoStack[--this.ply];
+    final int srcTileId = PackedMove.getSrcTileId(move);
+    final int tgtTileId = PackedMove.getTgtTileId(move);
+
+    setPiece(srcTileId, undo & 0xFF);
+    setPiece(tgtTileId, (undo >>> 8) & 0xFF);
+    this.winnerBit = undo >>> 16;
+  }
+
+  /**
+   * Forgets the made moves, which can no longer be unmade, to free the undo
+   * stack.
+   */
+  public void clearUndo() {
+    this.ply = 0;
+  }
+
+  /**
+   * Gets the winner declared by the made moves.
+   * @return Alliance of the winner, null if the game is not yet concluded.
+   */
+  public Alliance getWinner() {
+    return BoardUtils.getCodeAlliance(this.winnerBit);
+  }
+
+  public boolean isGameOver() {
+    return this.winnerBit != 0;
+  }
+
+  /**
+   * Declares or clears the winner without making a move.
+   * @param winner Alliance of the winner, null if undecided.
+   */
+  public void setWinner(final Alliance winner) {
+    this.winnerBit = winner == null ? 0 : BoardUtils.getAllianceCodeBit(winner);
+  }
+
+  /**
+   * Gets the Zobrist key of the current piece placement. Kept up to date on
+   * every piece manipulation. XOR with {@link #ZOBRIST_WHITE_TO_MOVE} to key
+   * positions by the side to move as well.
+   * @return long zobristKey field.
+   */
+  public long getZobristKey() {
+    return this.zobristKey;
+  }
+
+  /**
+   * Gets the amount of moves made and not yet unmade.
+   * @return int ply field.
+   */
+  public int getPly() {
+    return this.ply;
+  }
+
+  private static boolean isOppositeEndRow(final int tileId, final int pieceCode) {
+    if ((pieceCode & BLACK_CODE_BIT) != 0)
+      return tileId >= BoardUtils.LAST_ROW_INIT;
+
+    return tileId < BoardUtils.SECOND_ROW_INIT;
+  }
+
+  /**
+   * Sets the piece code of a Tile, replacing any existing piece.
+   * @param tileId    Tile id.
+   * @param pieceCode compact piece code. EMPTY_CODE empties the Tile.
+   */
+  public void setPiece(final int tileId, final int pieceCode) {
+    clearMask(tileId);
+    this.zobristKey ^= ZOBRIST_PIECE_KEYS[tileId * 64 + this.codes[tileId]] ^
+      ZOBRIST_PIECE_KEYS[tileId * 64 + pieceCode];
+    this.codes[tileId] = (byte) pieceCode;
+    if ((pieceCode & WHITE_CODE_BIT) != 0)
+      setMask(tileId, true);
+    else if ((pieceCode & BLACK_CODE_BIT) != 0)
+      setMask(tileId, false);
+  }
+
+  /**
+   * Empties a Tile.
+   * @param tileId Tile id.
+   */
+  public void removePiece(final int tileId) {
+    clearMask(tileId);
+    this.zobristKey ^= ZOBRIST_PIECE_KEYS[tileId * 64 + this.codes[tileId]];
+    this.codes[tileId] = EMPTY_CODE;
+  }
+
+  /**
+   * Moves a piece from one Tile to another, replacing any piece in the target.
+   * @param srcTileId source Tile id.
+   * @param tgtTileId target Tile id.
+   */
+  public void movePiece(final int srcTileId, final int tgtTileId) {
+    final int pieceCode = this.codes[srcTileId];
+    removePiece(srcTileId);
+    setPiece(tgtTileId, pieceCode);
+  }
+
+  /**
+   * Gets the compact piece code of a Tile.
+   * @param tileId Tile id.
+   * @return int piece code. EMPTY_CODE if empty.
+   */
+  public int getCode(final int tileId) {
+    return this.codes[tileId];
+  }
+
+  public boolean isTileEmpty(final int tileId) {
+    return this.codes[tileId] == EMPTY_CODE;
+  }
+
+  public boolean isTileOccupied(final int tileId) {
+    return this.codes[tileId] != EMPTY_CODE;
+  }
+
+  /**
+   * Checks if a Tile is occupied by a piece of the given {@link Alliance}.
+   * @param tileId   Tile id.
+   * @param alliance Alliance to check.
+   * @return boolean true if occupied by the alliance, else false.
+   */
+  public boolean isOccupiedBy(final int tileId, final Alliance alliance) {
+    return (this.codes[tileId] & BoardUtils.getAllianceCodeBit(alliance)) != 0;
+  }
+
+  /**
+   * Counts all pieces of the given {@link Alliance}.
+   * @param alliance Alliance to count.
+   * @return int pieces count.
+   */
+  public int countPieces(final Alliance alliance) {
+    return Long.bitCount(getOccupancyLo(alliance)) + Long.bitCount(getOccupancyHi(alliance));
+  }
+
+  /**
+   * Gets the occupancy mask of tiles 0 - 63.
+   * @param alliance Alliance of the mask.
+   * @return long occupancy mask.
+   */
+  public long getOccupancyLo(final Alliance alliance) {
+    return alliance == Alliance.WHITE ? this.whiteLo : this.blackLo;
+  }
+
+  /**
+   * Gets the occupancy mask of tiles 64 - 71.
+   * @param alliance Alliance of the mask.
+   * @return long occupancy mask.
+   */
+  public long getOccupancyHi(final Alliance alliance) {
+    return alliance == Alliance.WHITE ? this.whiteHi : this.blackHi;
+  }
+
+  private void setMask(final int tileId, final boolean isWhite) {
+    if (tileId < 64) {
+      if (isWhite) this.whiteLo |= 1L << tileId;
+      else         this.blackLo |= 1L << tileId;
+    } else {
+      if (isWhite) this.whiteHi |= 1L << (tileId - 64);
+      else         this.blackHi |= 1L << (tileId - 64);
+    }
+  }
+
+  private void clearMask(final int tileId) {
+    if (tileId < 64) {
+      final long bit = ~(1L << tileId);
+      this.whiteLo &= bit;
+      this.blackLo &= bit;
+    } else {
+      final long bit = ~(1L << (tileId - 64));
+      this.whiteHi &= bit;
+      this.blackHi &= bit;
+    }
+  }
+
+  /**
+   * @return String representation of the board for debugging
+   */
+  @Override
+  public String toString() {
+    String debugBoard = "\nCompactBoard\n";
+    for (int i = 0; i < TOTAL_BOARD_TILES; i += 9) {
+      for (int j = i; j < i + 9; j++) {
+        final int code = this.codes[j];
+        if (code == EMPTY_CODE)
+          debugBoard += " . ";
+        else
+          debugBoard += (BoardUtils.getCodeAlliance(code) == Alliance.WHITE ? "w" : "b") +
+            String.format("%-2d", code & BoardUtils.RANK_CODE_MASK);
+      }
+      debugBoard += "\n";
+    }
+    return debugBoard;
+  }
+}
@@ -0,0 +1,174 @@
+package com.markl.game.engine.board;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+/**
+ * Read only book of initial territory formations scored by self-play, from
+ * which formations are sampled at game start weighted by their score.
+ *
+ * Formations are stored from the point of view of their owner, i.e. territory
+ * index 0 is the owner's back row left corner. Black territory indices map
+ * directly to Tile ids, White ones are rotated half a turn.
+ *
+ * Binary layout, big endian:
+ *   header  magic int, version int, formations count int, total weight int.
+ *   records cumulative weight int, then the rank codes of the territory
+ *           packed two per byte, the lower nibble first.
+ *
+ * The cumulative weights let a formation be sampled with a binary search
+ * directly on the buffer, which is memory-mapped when opened from a file.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class FormationBook {
+
+  public static final int MAGIC = 0x474F4746; // "GOGF"
+  public static final int VERSION = 1;
+  public static final int TERRITORY_TILES = BoardUtils.TOTAL_BOARD_TILES / 2;
+  public static final int HEADER_SIZE = 16;
+  public static final int RECORD_SIZE = 4 + TERRITORY_TILES / 2;
+
+  private final ByteBuffer buffer;
+  private final int size;        // Amount of formations
+  private final int totalWeight; // Sum of the formation weights
+
+  private FormationBook(final ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+      throw new IllegalArgumentException("Not a formation book");
+    if (buffer.getInt(4) != VERSION)
+      throw new IllegalArgumentException("Unsupported formation book version " + buffer.getInt(4));
+
+    this.buffer = buffer;
+    this.size = buffer.getInt(8);
+    this.totalWeight = buffer.getInt(12);
+
+    if (size <= 0 || totalWeight <= 0 || buffer.capacity() < HEADER_SIZE + size * RECORD_SIZE)
+      throw new IllegalArgumentException("Corrupted formation book");
+  }
+
+  /**
+   * Opens a book file by memory-mapping it.
+   * @param file book file.
+   * @return FormationBook of the file.
+   */
+  public static FormationBook open(final File file) throws IOException {
+    final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      final FileChannel channel = randomAccessFile.getChannel();
+      // The mapping stays valid after the channel is closed
+      return new FormationBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Wraps the bytes of a book, e.g. read from an asset that is not a file.
+   * @param bytes book file content.
+   * @return FormationBook of the bytes.
+   */
+  public static FormationBook wrap(final byte[] bytes) {
+    return new FormationBook(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Writes a book.
+   * @param out        stream to write to. Not closed.
+   * @param formations rank codes of each formation by territory index.
+   * @param weights    positive sampling weight of each formation.
+   */
+  public static void write(final OutputStream out, final byte[][] formations,
+      final int[] weights) throws IOException
+  {
+    if (formations.length == 0 || formations.length != weights.length)
+      throw new IllegalArgumentException("Formations and weights must be non empty and of equal size");
+
+    int totalWeight = 0;
+    for (final int weight : weights) {
+      if (weight <= 0)
+        throw new IllegalArgumentException("Weights must be positive");
+      totalWeight += weight;
+    }
+
+    final DataOutputStream dataOut = new DataOutputStream(out);
+    dataOut.writeInt(MAGIC);
+    dataOut.writeInt(VERSION);
+    dataOut.writeInt(formations.length);
+    dataOut.writeInt(totalWeight);
+
+    int cumulativeWeight = 0;
+    for (int i = 0; i < formations.length; i++) {
+      cumulativeWeight += weights[i];
+      dataOut.writeInt(cumulativeWeight);
+      for (int j = 0; j < TERRITORY_TILES; j += 2)
+        dataOut.writeByte((formations[i][j] & 0x0F) | (formations[i][j + 1] & 0x0F) << 4);
+    }
+    dataOut.flush();
+  }
+
+  /**
+   * Samples a formation weighted by its score.
+   * @param random random source.
+   * @return int formation index.
+   */
+  public int sample(final Random random) {
+    final int pick = random.nextInt(totalWeight);
+
+    // First formation whose cumulative weight exceeds the pick
+    int low = 0;
+    int high = size - 1;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (buffer.getInt(HEADER_SIZE + mid * RECORD_SIZE) > pick)
+        high = mid;
+      else
+        low = mid + 1;
+    }
+
+    return low;
+  }
+
+  /**
+   * Gets the rank code of a formation on a territory index.
+   * @param index          formation index.
+   * @param territoryIndex index within the territory, from the owner's point of view.
+   * @return int rank code, {@link BoardUtils#EMPTY_CODE} if empty.
+   */
+  public int getRankCode(final int index, final int territoryIndex) {
+    final int packed = buffer.get(HEADER_SIZE + index * RECORD_SIZE + 4 + territoryIndex / 2);
+    return (territoryIndex & 1) == 0 ? packed & 0x0F : (packed >> 4) & 0x0F;
+  }
+
+  /**
+   * Gets the sampling weight of a formation.
+   * @param index formation index.
+   * @return int weight.
+   */
+  public int getWeight(final int index) {
+    final int cumulativeWeight = buffer.getInt(HEADER_SIZE + index * RECORD_SIZE);
+    return index == 0 ? cumulativeWeight :
+      cumulativeWeight - buffer.getInt(HEADER_SIZE + (index - 1) * RECORD_SIZE);
+  }
+
+  /**
+   * Gets the Tile id of a territory index.
+   * @param alliance       owner of the territory.
+   * @param territoryIndex index within the territory, from the owner's point of view.
+   * @return int Tile id.
+   */
+  public static int getTileId(final Alliance alliance, final int territoryIndex) {
+    return alliance == Alliance.BLACK ? territoryIndex :
+      BoardUtils.TOTAL_BOARD_TILES - 1 - territoryIndex;
+  }
+
+  public int size()           { return this.size; }
+  public int getTotalWeight() { return this.totalWeight; }
+}
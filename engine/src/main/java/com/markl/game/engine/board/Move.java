@@ -1,8 +1,8 @@
 package com.markl.game.engine.board;
 
-import com.badlogic.gdx.Gdx;
 import com.markl.game.Gog;
 import com.markl.game.engine.board.pieces.Piece;
+import com.markl.game.util.Log;
 
 /**
  * Move class that serves as the mobility of each Piece. All pieces movement are
@@ -41,9 +41,9 @@ public class Move {
   private final int srcTileId;        // Location of the occupied Tile in which the piece to be moved.
   private final int tgtTileId;        // Location of the Tile to where the source piece will potentially move into
   private MoveType moveType;          // Move type to determine the behavior of piece relocation
-  private Piece srcPieceOrigin;       // Copy of the source piece
-  private Piece tgtPieceOrigin;       // Copy of the target piece if move type is aggressive or draw
-  private Piece eliminatedPiece;      // Copy of the eliminated piece if move type is aggressive
+  private Piece srcPieceOrigin;       // The source piece
+  private Piece tgtPieceOrigin;       // The target piece if move type is aggressive or draw
+  private Piece eliminatedPiece;      // The eliminated piece if move type is aggressive
   private boolean isExecuted = false; // boolean that holds if the this Move instance has bee executed
 
   private MoveType bias = null;
@@ -79,11 +79,21 @@ public class Move {
    * AGGRESSIVE_LOSE = if target Tile contains opposing higher ranking piece.
    */
   public void evaluate() {
-    // Make source piece origin copy
-    this.srcPieceOrigin = this.board.getTile(srcTileId).getPiece().clone();
-    // Make target piece origin copy if exist
-    if (board.getTile(tgtTileId).isTileOccupied())
-      this.tgtPieceOrigin = this.board.getTile(tgtTileId).getPiece().clone();
+    // Return if out of bounds or edge piece wrapping
+    if (isOutOfBounds() || isSrcEdgePieceWrapping()) {
+      this.moveType = MoveType.INVALID;
+      return;
+    }
+
+    final CompactBoard compactBoard = this.board.getCompactBoard();
+    final int srcPieceCode = compactBoard.getCode(srcTileId);
+    final int tgtPieceCode = compactBoard.getCode(tgtTileId);
+
+    // Keep source and target piece origin. Pieces are relocated by reference
+    // so these are the very instances restored on undo.
+    this.srcPieceOrigin = this.board.getTile(srcTileId).getPiece();
+    if (tgtPieceCode != BoardUtils.EMPTY_CODE)
+      this.tgtPieceOrigin = this.board.getTile(tgtTileId).getPiece();
     else
       this.tgtPieceOrigin = null;
 
@@ -93,26 +103,12 @@ public class Move {
       return;
     }
 
-    // Return if out of bounds or edge piece wrapping
-    if (isOutOfBounds() || isSrcEdgePieceWrapping()) {
-      this.moveType = MoveType.INVALID;
-      return;
-    }
-
     if (isMoveLegal()) {
-      if (board.getTile(tgtTileId).isTileOccupied())
-        if (isFriendlyFire())
+      if (tgtPieceCode != BoardUtils.EMPTY_CODE)
+        if (isFriendlyFire(srcPieceCode, tgtPieceCode))
           this.moveType = MoveType.INVALID;
         else
-          if (isSameRank() && isTgtPieceFlag())
-            this.moveType = MoveType.AGGRESSIVE_WIN;
-          else if (isSameRank())
-            this.moveType = MoveType.DRAW;
-          else
-            if (isTgtPieceEliminated())
-              this.moveType = MoveType.AGGRESSIVE_WIN;
-            else
-              this.moveType = MoveType.AGGRESSIVE_LOSE;
+          this.moveType = arbitrate(srcPieceCode, tgtPieceCode);
       else
         this.moveType = MoveType.NORMAL;
 
@@ -122,6 +118,33 @@ public class Move {
     this.moveType = MoveType.INVALID;
   }
 
+  /**
+   * Arbitrates the engagement of two opposing pieces from their compact piece
+   * codes. Higher ranking piece eliminates lower ranking piece. Spy piece
+   * eliminates all pieces regardless of rank except the Private piece. Same
+   * ranks eliminate each other, except Flag against Flag where the aggressor
+   * wins the engagement.
+   *
+   * @param srcPieceCode compact piece code of the aggressor.
+   * @param tgtPieceCode compact piece code of the defender.
+   * @return MoveType DRAW, AGGRESSIVE_WIN or AGGRESSIVE_LOSE.
+   */
+  public static MoveType arbitrate(final int srcPieceCode, final int tgtPieceCode) {
+    final int srcRank = srcPieceCode & BoardUtils.RANK_CODE_MASK;
+    final int tgtRank = tgtPieceCode & BoardUtils.RANK_CODE_MASK;
+
+    if (srcRank == tgtRank)
+      return srcRank == BoardUtils.FLAG_CODE ? MoveType.AGGRESSIVE_WIN : MoveType.DRAW;
+    else if (srcRank == BoardUtils.PRIVATE_CODE && tgtRank == BoardUtils.SPY_CODE)
+      return MoveType.AGGRESSIVE_WIN;
+    else if (srcRank == BoardUtils.SPY_CODE && tgtRank == BoardUtils.PRIVATE_CODE)
+      return MoveType.AGGRESSIVE_LOSE;
+    else if (srcRank > tgtRank)
+      return MoveType.AGGRESSIVE_WIN;
+    else
+      return MoveType.AGGRESSIVE_LOSE;
+  }
+
   /**
    * Executes this Move instance and actuate the Move to reflect the changes
    * in the Board.
@@ -131,13 +154,13 @@ public class Move {
   public boolean execute() {
     switch (this.moveType.getValue()) {
       case -1: // INVALID
-        Gdx.app.log(this.getClass().getName(), "Invalid Move");
+        Log.log(this.getClass().getName(), "Invalid Move");
         return false;
 
       case 0: // DRAW
         // Eliminates both pieces from the game.
-        this.board.getTile(this.srcTileId).removePiece();
-        this.board.getTile(this.tgtTileId).removePiece();
+        this.board.deletePiece(this.srcTileId);
+        this.board.deletePiece(this.tgtTileId);
         break;
 
       case 1: // NORMAL
@@ -153,7 +176,7 @@ public class Move {
 
       case 2: // AGGRESSIVE_WIN
         this.board.replacePiece(this.tgtTileId, this.srcPieceOrigin);
-        this.board.getTile(this.srcTileId).removePiece();
+        this.board.deletePiece(this.srcTileId);
         this.eliminatedPiece = this.tgtPieceOrigin;
 
         // Check if source or target piece is Flag rank, then conclude the game.
@@ -162,7 +185,7 @@ public class Move {
         break;
 
       case 3: // AGGRESSIVE_LOSE
-        this.board.getTile(this.srcTileId).removePiece();
+        this.board.deletePiece(this.srcTileId);
         this.eliminatedPiece = this.srcPieceOrigin;
 
         if (isSrcPieceFlag() && !isTgtPieceFlag())
@@ -203,8 +226,8 @@ public class Move {
    */
   private boolean isOutOfBounds() {
     // Check if within bounds
-    if (this.srcTileId >= 0 || this.srcTileId <= 71 ||
-        this.tgtTileId >= 0 || this.tgtTileId <= 71) {
+    if (this.srcTileId >= 0 && this.srcTileId < BoardUtils.TOTAL_BOARD_TILES &&
+        this.tgtTileId >= 0 && this.tgtTileId < BoardUtils.TOTAL_BOARD_TILES) {
       return false;
         }
     return true;
@@ -236,53 +259,18 @@ public class Move {
   /**
    * Checks if sourcePiece and targetPiece has the same {@link Alliance}.
    *
+   * @param srcPieceCode compact piece code of the source piece.
+   * @param tgtPieceCode compact piece code of the target piece.
    * @return boolean true if sourcePiece and targetPiece has the same
    * Alliance, else false.
    */
-  private boolean isFriendlyFire() {
-    if (tgtPieceOrigin.getAlliance() == srcPieceOrigin.getAlliance())
-      return true;
-
-    return false;
-  }
-
-  /**
-   * Checks if sourcePiece and targetPiece has the same rank.
-   *
-   * @return boolean true if same rank, else false.
-   */
-  private boolean isSameRank() {
-    if (srcPieceOrigin.getRank() == tgtPieceOrigin.getRank())
+  private boolean isFriendlyFire(final int srcPieceCode, final int tgtPieceCode) {
+    if ((srcPieceCode & tgtPieceCode & ~BoardUtils.RANK_CODE_MASK) != 0)
       return true;
 
     return false;
   }
 
-  /**
-   * Checks if target piece has been eliminated by the source piece. Higher
-   * ranking piece will eliminate lower ranking piece.
-   * Spy piece will eliminated all pieces regardless of rank except the Private
-   * piece.
-   *
-   * If both pieces were are of Flag rank, the aggressor piece will win
-   * the engagement.
-   *
-   * @return boolean true if target piece is subordinate to the source piece,
-   * else false.
-   */
-  private boolean isTgtPieceEliminated() {
-    if (isSrcPieceFlag() && isTgtPieceFlag())
-      return true;
-    else if (srcPieceOrigin.getRank().equals("Private") && tgtPieceOrigin.getRank().equals("Spy"))
-      return true;
-    else if (srcPieceOrigin.getRank().equals("Spy") && tgtPieceOrigin.getRank().equals("Private"))
-      return false;
-    else if (srcPieceOrigin.getPowLvl() > tgtPieceOrigin.getPowLvl())
-      return true;
-    else
-      return false;
-  }
-
   /**
    * Checks if the target piece is ranked Flag.
    *
@@ -443,8 +431,8 @@ public class Move {
         return false;
 
       case 0: // DRAW
-        this.board.getTile(this.srcTileId).insertPiece(srcPieceOrigin);
-        this.board.getTile(this.tgtTileId).insertPiece(tgtPieceOrigin);
+        this.board.insertPiece(this.srcTileId, srcPieceOrigin);
+        this.board.insertPiece(this.tgtTileId, tgtPieceOrigin);
         break;
 
       case 1: // NORMAL
@@ -463,7 +451,7 @@ public class Move {
           restoreGame();
 
         this.board.movePiece(this.tgtTileId, this.srcTileId);
-        this.board.getTile(this.tgtTileId).insertPiece(this.eliminatedPiece);
+        this.board.insertPiece(this.tgtTileId, this.eliminatedPiece);
         this.eliminatedPiece = null;
 
         this.isExecuted = false;
@@ -473,7 +461,7 @@ public class Move {
         if (isSrcPieceFlag() && !isTgtPieceFlag())
           restoreGame();
 
-        this.board.getTile(this.srcTileId).insertPiece(this.eliminatedPiece);
+        this.board.insertPiece(this.srcTileId, this.eliminatedPiece);
         this.eliminatedPiece = null;
 
         this.isExecuted = false;
@@ -537,13 +525,13 @@ public class Move {
   public void endGame(Player winner) {
     if (this.bias == null)
       this.gog.endGame(winner);
-    // Gdx.app.log(this.getClas().getName(), "\n\n" + winner.getAlliance() + " player WON!\n");
+    // Log.log(this.getClas().getName(), "\n\n" + winner.getAlliance() + " player WON!\n");
   }
 
   public void restoreGame() {
     if (this.bias == null)
       this.board.getGog().restoreGame();
-    // Gdx.app.log(this.getClas().getName(), "Game Restored!");
+    // Log.log(this.getClas().getName(), "Game Restored!");
   }
 
   public void setBias(MoveType bias) {
@@ -0,0 +1,120 @@
+package com.markl.game.engine.board;
+
+import static com.markl.game.engine.board.BoardUtils.BOARD_TILES_COL_COUNT;
+import static com.markl.game.engine.board.BoardUtils.EMPTY_CODE;
+import static com.markl.game.engine.board.BoardUtils.TOTAL_BOARD_TILES;
+
+import com.markl.game.engine.board.Move.MoveType;
+
+/**
+ * Legal move generator over {@link CompactBoard}. Moves are written as
+ * {@link PackedMove} ints into a caller supplied buffer so that generating
+ * moves does not allocate anything.
+ *
+ * The move class of each generated move is the true engagement result of
+ * {@link Move#arbitrate}, i.e. NORMAL, DRAW, AGGRESSIVE_WIN or
+ * AGGRESSIVE_LOSE. INVALID moves are never generated.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class MoveGenerator {
+
+  /** Max amount of moves a single side can have. 21 pieces, 4 directions each */
+  public static final int MAX_MOVES = 21 * 4;
+
+  /** Adjacent Tile ids of each Tile. Directions are up, right, down, left. -1 if none */
+  private static final int[] ADJACENT_TILES = new int[TOTAL_BOARD_TILES * 4];
+
+  static {
+    for (int tileId = 0; tileId < TOTAL_BOARD_TILES; tileId++) {
+      final int col = tileId % BOARD_TILES_COL_COUNT;
+      ADJACENT_TILES[tileId * 4]     = tileId >= BoardUtils.SECOND_ROW_INIT ? tileId - BOARD_TILES_COL_COUNT : -1;
+      ADJACENT_TILES[tileId * 4 + 1] = col < BOARD_TILES_COL_COUNT - 1 ? tileId + 1 : -1;
+      ADJACENT_TILES[tileId * 4 + 2] = tileId < BoardUtils.LAST_ROW_INIT ? tileId + BOARD_TILES_COL_COUNT : -1;
+      ADJACENT_TILES[tileId * 4 + 3] = col > 0 ? tileId - 1 : -1;
+    }
+  }
+
+  /**
+   * Generates all legal moves of the given {@link Alliance}.
+   *
+   * @param board    board to generate moves from.
+   * @param alliance Alliance of the pieces to move.
+   * @param moves    buffer to write packed moves into. Must have room for
+   *                 {@link #MAX_MOVES} moves from offset.
+   * @param offset   index of moves to start writing at.
+   * @return int amount of moves written.
+   */
+  public static int generateMoves(final CompactBoard board, final Alliance alliance,
+      final int[] moves, final int offset)
+  {
+    int count = offset;
+    long mask = board.getOccupancyLo(alliance);
+
+    while (mask != 0) {
+      final int srcTileId = Long.numberOfTrailingZeros(mask);
+      mask &= mask - 1;
+      count = generatePieceMoves(board, srcTileId, moves, count);
+    }
+
+    mask = board.getOccupancyHi(alliance);
+    while (mask != 0) {
+      final int srcTileId = 64 + Long.numberOfTrailingZeros(mask);
+      mask &= mask - 1;
+      count = generatePieceMoves(board, srcTileId, moves, count);
+    }
+
+    return count - offset;
+  }
+
+  /**
+   * Generates all legal moves of the piece occupying the source Tile.
+   *
+   * @param board     board to generate moves from.
+   * @param srcTileId Tile id of the piece to move.
+   * @param moves     buffer to write packed moves into.
+   * @param offset    index of moves to start writing at.
+   * @return int index after the last written move.
+   */
+  public static int generatePieceMoves(final CompactBoard board, final int srcTileId,
+      final int[] moves, final int offset)
+  {
+    final int srcPieceCode = board.getCode(srcTileId);
+    final int allianceBits = srcPieceCode & ~BoardUtils.RANK_CODE_MASK;
+    int count = offset;
+
+    for (int i = srcTileId * 4, end = i + 4; i < end; i++) {
+      final int tgtTileId = ADJACENT_TILES[i];
+      if (tgtTileId < 0)
+        continue;
+
+      final int tgtPieceCode = board.getCode(tgtTileId);
+      if (tgtPieceCode == EMPTY_CODE)
+        moves[count++] = PackedMove.pack(srcTileId, tgtTileId, MoveType.NORMAL.getValue());
+      else if ((tgtPieceCode & allianceBits) == 0)
+        moves[count++] = PackedMove.pack(srcTileId, tgtTileId,
+            Move.arbitrate(srcPieceCode, tgtPieceCode).getValue());
+    }
+
+    return count;
+  }
+
+  /**
+   * Gets the adjacent Tile id in the given direction.
+   * @param tileId    Tile id.
+   * @param direction 0 for upward direction, 1 right, 2 down, 3 left.
+   * @return int adjacent Tile id, -1 if off the board.
+   */
+  public static int getAdjacentTileId(final int tileId, final int direction) {
+    return ADJACENT_TILES[tileId * 4 + direction];
+  }
+
+  /**
+   * Constructor method that ensures this {@link MoveGenerator} class cannot be
+   * instantiated.
+   */
+  private MoveGenerator() {
+    throw new RuntimeException("You cannot instantiate MoveGenerator class");
+  }
+}
@@ -0,0 +1,106 @@
+package com.markl.game.engine.board;
+
+import com.markl.game.engine.board.Move.MoveType;
+
+/**
+ * Utility class for moves packed into a single int. Used wherever {@link Move}
+ * instances would be too heavy, e.g. move generation and AI search.
+ *
+ * Layout:
+ *   bits  0 - 6  = source Tile id
+ *   bits  7 - 13 = target Tile id
+ *   bits 14 - 16 = move class, i.e. {@link MoveType} value + 1
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class PackedMove {
+
+  /** Empty move. Decodes as an INVALID move from and to Tile 0 */
+  public static final int NONE = 0;
+
+  private static final int TILE_BITS  = 7;
+  private static final int TILE_MASK  = (1 << TILE_BITS) - 1;
+  private static final int TGT_SHIFT  = TILE_BITS;
+  private static final int TYPE_SHIFT = TILE_BITS * 2;
+  private static final int TYPE_MASK  = 0x7;
+
+  private static final MoveType[] MOVE_TYPES = {
+    MoveType.INVALID, MoveType.DRAW, MoveType.NORMAL,
+    MoveType.AGGRESSIVE_WIN, MoveType.AGGRESSIVE_LOSE
+  };
+
+  /**
+   * Packs a move into an int.
+   * @param srcTileId     source Tile id.
+   * @param tgtTileId     target Tile id.
+   * @param moveTypeValue {@link MoveType} value from -1 to 3.
+   * @return int packed move.
+   */
+  public static int pack(final int srcTileId, final int tgtTileId, final int moveTypeValue) {
+    return srcTileId | (tgtTileId << TGT_SHIFT) | ((moveTypeValue + 1) << TYPE_SHIFT);
+  }
+
+  /**
+   * Packs a {@link Move} instance into an int.
+   * @param move Move to pack. Must be evaluated.
+   * @return int packed move.
+   */
+  public static int pack(final Move move) {
+    return pack(move.getSrcTileId(), move.getTgtTileId(), move.getMoveType().getValue());
+  }
+
+  public static int getSrcTileId(final int move) {
+    return move & TILE_MASK;
+  }
+
+  public static int getTgtTileId(final int move) {
+    return (move >>> TGT_SHIFT) & TILE_MASK;
+  }
+
+  /**
+   * Gets the {@link MoveType} value of the packed move.
+   * @param move packed move.
+   * @return int move type value from -1 to 3.
+   */
+  public static int getMoveTypeValue(final int move) {
+    return ((move >>> TYPE_SHIFT) & TYPE_MASK) - 1;
+  }
+
+  public static MoveType getMoveType(final int move) {
+    return MOVE_TYPES[(move >>> TYPE_SHIFT) & TYPE_MASK];
+  }
+
+  /**
+   * Checks if the packed move engages an opposing piece.
+   * @param move packed move.
+   * @return boolean true if DRAW, AGGRESSIVE_WIN or AGGRESSIVE_LOSE, else false.
+   */
+  public static boolean isAggressive(final int move) {
+    final int moveTypeValue = getMoveTypeValue(move);
+    return moveTypeValue == 0 || moveTypeValue >= 2;
+  }
+
+  /**
+   * Overrides the move class of a packed move. Used to force engagement
+   * results when the opposing piece rank is unknown.
+   * @param move          packed move.
+   * @param moveTypeValue new {@link MoveType} value.
+   * @return int packed move with the new move class.
+   */
+  public static int withMoveType(final int move, final int moveTypeValue) {
+    return (move & ~(TYPE_MASK << TYPE_SHIFT)) | ((moveTypeValue + 1) << TYPE_SHIFT);
+  }
+
+  public static String toString(final int move) {
+    return getSrcTileId(move) + " to " + getTgtTileId(move) + " " + getMoveType(move);
+  }
+
+  /**
+   * Constructor method that ensures this {@link PackedMove} class cannot be
+   * instantiated.
+   */
+  private PackedMove() {
+    throw new RuntimeException("You cannot instantiate PackedMove class");
+  }
+}
@@ -0,0 +1,438 @@
+package com.markl.game.network;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move.MoveType;
+
+/**
+ * Binary wire format of the online game, shared by the client and the game
+ * server. Every message starts with a 1 byte opcode, followed by:
+ *
+ *   Requests, client to server
+ *     JOIN_ANY                                     pair with any waiting player
+ *     JOIN           matchId                       join a known match
+ *     FORMATION      formation                     submit the own formation
+ *     ARRANGE        formation                     update the own formation while arranging
+ *     MOVE           turnId src tgt                make a move
+ *     LEAVE                                        leave the match
+ *     RESUME         token turnId                  resume the match of a session after
+ *                                                  a disconnection, turnId being the last
+ *                                                  move received, 0 if none
+ *
+ *   Events, server to client
+ *     JOINED         matchId alliance token
+ *     JOIN_REJECTED  matchId
+ *     FORMATION_REJECTED
+ *     MATCH_STARTED  firstMoveMaker formation occupancy
+ *     MOVE_MADE      turnId src tgt moveType
+ *     MOVE_REJECTED  turnId
+ *     GAME_OVER      winner
+ *     RESUME_REJECTED                              session unknown or expired
+ *     ARRANGEMENT    formation                     own formation as last arranged, sent on
+ *                                                  resuming before it is submitted
+ *
+ * turnId is an unsigned varint, 7 bits per byte with the high bit set on all
+ * but the last byte, thus 1 byte for the first 127 turns. src and tgt are
+ * single byte Tile ids, alliance and moveType single bytes. matchId and the
+ * session token are a varint length followed by ASCII characters.
+ *
+ * formation is the {@link FormationBook} record layout, the rank codes of the
+ * 36 territory tiles packed two per byte, the lower nibble first, for 18
+ * bytes. occupancy is the 36 bit mask of the enemy occupied territory tiles
+ * in 5 bytes, the lowest bits first.
+ *
+ * A message fills a whole transport frame, thus carries no length of its own.
+ * Decoding allocates nothing but the id strings and formation arrays.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class GameCodec {
+
+  // Requests
+  public static final int OP_JOIN_ANY           = 0x01;
+  public static final int OP_JOIN               = 0x02;
+  public static final int OP_FORMATION          = 0x03;
+  public static final int OP_MOVE               = 0x04;
+  public static final int OP_LEAVE              = 0x05;
+  public static final int OP_ARRANGE            = 0x06;
+  public static final int OP_RESUME             = 0x07;
+
+  // Events
+  public static final int OP_JOINED             = 0x41;
+  public static final int OP_JOIN_REJECTED      = 0x42;
+  public static final int OP_FORMATION_REJECTED = 0x43;
+  public static final int OP_MATCH_STARTED      = 0x44;
+  public static final int OP_MOVE_MADE          = 0x45;
+  public static final int OP_MOVE_REJECTED      = 0x46;
+  public static final int OP_GAME_OVER          = 0x47;
+  public static final int OP_RESUME_REJECTED    = 0x48;
+  public static final int OP_ARRANGEMENT        = 0x49;
+
+  public static final int FORMATION_BLOCK_SIZE = FormationBook.TERRITORY_TILES / 2;
+  public static final int OCCUPANCY_BLOCK_SIZE = (FormationBook.TERRITORY_TILES + 7) / 8;
+  public static final int MAX_ID_LENGTH        = 32; // Of match ids and session tokens
+  public static final int MAX_MESSAGE_SIZE     = 80; // Longest message is JOINED with the longest ids
+
+  private static final int NO_ALLIANCE = 0xFF; // Winner of an abandoned match
+
+  /** Requests of a client, handled by the server */
+  public interface RequestHandler {
+    void onJoinAny();
+    void onJoin(String matchId);
+    void onFormation(byte[] formation);
+    void onMove(int turnId, int srcTileId, int tgtTileId);
+    void onLeave();
+    void onArrange(byte[] formation);
+    void onResume(String sessionToken, int lastTurnId);
+  }
+
+  /** Events of the server, handled by a client */
+  public interface EventHandler {
+    void onJoined(String matchId, Alliance alliance, String sessionToken);
+    void onJoinRejected(String matchId);
+    void onFormationRejected();
+    void onMatchStarted(Alliance firstMoveMaker, byte[] formation, long enemyOccupancy);
+    void onMoveMade(int turnId, int srcTileId, int tgtTileId, MoveType moveType);
+    void onMoveRejected(int turnId);
+    void onGameOver(Alliance winner);
+    void onResumeRejected();
+    void onArrangement(byte[] formation);
+  }
+
+  /**
+   * Constructor method that ensures this GameCodec cannot be instantiated.
+   */
+  private GameCodec() {}
+
+  public static void writeJoinAny(ByteBuffer buf) {
+    buf.put((byte) OP_JOIN_ANY);
+  }
+
+  public static void writeJoin(ByteBuffer buf, String matchId) {
+    buf.put((byte) OP_JOIN);
+    writeString(buf, matchId);
+  }
+
+  public static void writeFormation(ByteBuffer buf, byte[] formation) {
+    buf.put((byte) OP_FORMATION);
+    writeFormationBlock(buf, formation);
+  }
+
+  public static void writeMove(ByteBuffer buf, int turnId, int srcTileId, int tgtTileId) {
+    buf.put((byte) OP_MOVE);
+    writeVarInt(buf, turnId);
+    buf.put((byte) srcTileId);
+    buf.put((byte) tgtTileId);
+  }
+
+  public static void writeLeave(ByteBuffer buf) {
+    buf.put((byte) OP_LEAVE);
+  }
+
+  public static void writeArrange(ByteBuffer buf, byte[] formation) {
+    buf.put((byte) OP_ARRANGE);
+    writeFormationBlock(buf, formation);
+  }
+
+  public static void writeResume(ByteBuffer buf, String sessionToken, int lastTurnId) {
+    buf.put((byte) OP_RESUME);
+    writeString(buf, sessionToken);
+    writeVarInt(buf, lastTurnId);
+  }
+
+  public static void writeJoined(ByteBuffer buf, String matchId, Alliance alliance, String sessionToken) {
+    buf.put((byte) OP_JOINED);
+    writeString(buf, matchId);
+    buf.put((byte) alliance.ordinal());
+    writeString(buf, sessionToken);
+  }
+
+  public static void writeJoinRejected(ByteBuffer buf, String matchId) {
+    buf.put((byte) OP_JOIN_REJECTED);
+    writeString(buf, matchId);
+  }
+
+  public static void writeFormationRejected(ByteBuffer buf) {
+    buf.put((byte) OP_FORMATION_REJECTED);
+  }
+
+  public static void writeMatchStarted(ByteBuffer buf, Alliance firstMoveMaker, byte[] formation,
+      long enemyOccupancy)
+  {
+    buf.put((byte) OP_MATCH_STARTED);
+    buf.put((byte) firstMoveMaker.ordinal());
+    writeFormationBlock(buf, formation);
+    for (int i = 0; i < OCCUPANCY_BLOCK_SIZE; i++)
+      buf.put((byte) (enemyOccupancy >>> (i * 8)));
+  }
+
+  public static void writeMoveMade(ByteBuffer buf, int turnId, int srcTileId, int tgtTileId,
+      MoveType moveType)
+  {
+    buf.put((byte) OP_MOVE_MADE);
+    writeVarInt(buf, turnId);
+    buf.put((byte) srcTileId);
+    buf.put((byte) tgtTileId);
+    buf.put((byte) moveType.getValue());
+  }
+
+  public static void writeMoveRejected(ByteBuffer buf, int turnId) {
+    buf.put((byte) OP_MOVE_REJECTED);
+    writeVarInt(buf, turnId);
+  }
+
+  public static void writeGameOver(ByteBuffer buf, Alliance winner) {
+    buf.put((byte) OP_GAME_OVER);
+    buf.put((byte) (winner != null ? winner.ordinal() : NO_ALLIANCE));
+  }
+
+  public static void writeResumeRejected(ByteBuffer buf) {
+    buf.put((byte) OP_RESUME_REJECTED);
+  }
+
+  public static void writeArrangement(ByteBuffer buf, byte[] formation) {
+    buf.put((byte) OP_ARRANGEMENT);
+    writeFormationBlock(buf, formation);
+  }
+
+  /**
+   * Decodes a request message and passes it to the handler.
+   * @param buf     message, from its position to its limit.
+   * @param handler RequestHandler to pass the request to.
+   * @throws IllegalArgumentException if the message is malformed.
+   */
+  public static void decodeRequest(ByteBuffer buf, RequestHandler handler) {
+    try {
+      final int opcode = buf.get() & 0xFF;
+      switch (opcode) {
+        case OP_JOIN_ANY:
+          checkEnd(buf);
+          handler.onJoinAny();
+          break;
+
+        case OP_JOIN: {
+          final String matchId = readString(buf);
+          checkEnd(buf);
+          handler.onJoin(matchId);
+          break;
+        }
+
+        case OP_FORMATION: {
+          final byte[] formation = readFormationBlock(buf);
+          checkEnd(buf);
+          handler.onFormation(formation);
+          break;
+        }
+
+        case OP_MOVE: {
+          final int turnId = readVarInt(buf);
+          final int srcTileId = buf.get() & 0xFF;
+          final int tgtTileId = buf.get() & 0xFF;
+          checkEnd(buf);
+          handler.onMove(turnId, srcTileId, tgtTileId);
+          break;
+        }
+
+        case OP_LEAVE:
+          checkEnd(buf);
+          handler.onLeave();
+          break;
+
+        case OP_ARRANGE: {
+          final byte[] formation = readFormationBlock(buf);
+          checkEnd(buf);
+          handler.onArrange(formation);
+          break;
+        }
+
+        case OP_RESUME: {
+          final String sessionToken = readString(buf);
+          final int lastTurnId = readVarInt(buf);
+          checkEnd(buf);
+          handler.onResume(sessionToken, lastTurnId);
+          break;
+        }
+
+        default:
+          throw new IllegalArgumentException("Unknown request opcode " + opcode);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated request", e);
+    }
+  }
+
+  /**
+   * Decodes an event message and passes it to the handler.
+   * @param buf     message, from its position to its limit.
+   * @param handler EventHandler to pass the event to.
+   * @throws IllegalArgumentException if the message is malformed.
+   */
+  public static void decodeEvent(ByteBuffer buf, EventHandler handler) {
+    try {
+      final int opcode = buf.get() & 0xFF;
+      switch (opcode) {
+        case OP_JOINED: {
+          final String matchId = readString(buf);
+          final Alliance alliance = readAlliance(buf);
+          final String sessionToken = readString(buf);
+          checkEnd(buf);
+          handler.onJoined(matchId, alliance, sessionToken);
+          break;
+        }
+
+        case OP_JOIN_REJECTED: {
+          final String matchId = readString(buf);
+          checkEnd(buf);
+          handler.onJoinRejected(matchId);
+          break;
+        }
+
+        case OP_FORMATION_REJECTED:
+          checkEnd(buf);
+          handler.onFormationRejected();
+          break;
+
+        case OP_MATCH_STARTED: {
+          final Alliance firstMoveMaker = readAlliance(buf);
+          final byte[] formation = readFormationBlock(buf);
+          long enemyOccupancy = 0L;
+          for (int i = 0; i < OCCUPANCY_BLOCK_SIZE; i++)
+            enemyOccupancy |= (buf.get() & 0xFFL) << (i * 8);
+          checkEnd(buf);
+          handler.onMatchStarted(firstMoveMaker, formation, enemyOccupancy);
+          break;
+        }
+
+        case OP_MOVE_MADE: {
+          final int turnId = readVarInt(buf);
+          final int srcTileId = buf.get() & 0xFF;
+          final int tgtTileId = buf.get() & 0xFF;
+          final MoveType moveType = readMoveType(buf);
+          checkEnd(buf);
+          handler.onMoveMade(turnId, srcTileId, tgtTileId, moveType);
+          break;
+        }
+
+        case OP_MOVE_REJECTED: {
+          final int turnId = readVarInt(buf);
+          checkEnd(buf);
+          handler.onMoveRejected(turnId);
+          break;
+        }
+
+        case OP_GAME_OVER: {
+          final int winner = buf.get() & 0xFF;
+          checkEnd(buf);
+          handler.onGameOver(winner == NO_ALLIANCE ? null : toAlliance(winner));
+          break;
+        }
+
+        case OP_RESUME_REJECTED:
+          checkEnd(buf);
+          handler.onResumeRejected();
+          break;
+
+        case OP_ARRANGEMENT: {
+          final byte[] formation = readFormationBlock(buf);
+          checkEnd(buf);
+          handler.onArrangement(formation);
+          break;
+        }
+
+        default:
+          throw new IllegalArgumentException("Unknown event opcode " + opcode);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated event", e);
+    }
+  }
+
+  /**
+   * Writes an unsigned varint, 7 bits per byte, the lowest bits first.
+   * @param value non negative value.
+   */
+  public static void writeVarInt(ByteBuffer buf, int value) {
+    while ((value & ~0x7F) != 0) {
+      buf.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buf.put((byte) value);
+  }
+
+  public static int readVarInt(ByteBuffer buf) {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      final int b = buf.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        return value;
+    }
+
+    throw new IllegalArgumentException("Varint longer than 5 bytes");
+  }
+
+  private static void writeString(ByteBuffer buf, String value) {
+    if (value.length() > MAX_ID_LENGTH)
+      throw new IllegalArgumentException("Id longer than " + MAX_ID_LENGTH);
+
+    writeVarInt(buf, value.length());
+    for (int i = 0; i < value.length(); i++)
+      buf.put((byte) value.charAt(i));
+  }
+
+  private static String readString(ByteBuffer buf) {
+    final int length = readVarInt(buf);
+    if (length > MAX_ID_LENGTH)
+      throw new IllegalArgumentException("Id longer than " + MAX_ID_LENGTH);
+
+    final char[] chars = new char[length];
+    for (int i = 0; i < length; i++)
+      chars[i] = (char) (buf.get() & 0x7F);
+
+    return new String(chars);
+  }
+
+  private static void writeFormationBlock(ByteBuffer buf, byte[] formation) {
+    for (int i = 0; i < FormationBook.TERRITORY_TILES; i += 2)
+      buf.put((byte) ((formation[i] & 0x0F) | (formation[i + 1] & 0x0F) << 4));
+  }
+
+  private static byte[] readFormationBlock(ByteBuffer buf) {
+    final byte[] formation = new byte[FormationBook.TERRITORY_TILES];
+    for (int i = 0; i < FormationBook.TERRITORY_TILES; i += 2) {
+      final int packed = buf.get();
+      formation[i] = (byte) (packed & 0x0F);
+      formation[i + 1] = (byte) ((packed >> 4) & 0x0F);
+    }
+
+    return formation;
+  }
+
+  private static Alliance readAlliance(ByteBuffer buf) {
+    return toAlliance(buf.get() & 0xFF);
+  }
+
+  private static Alliance toAlliance(int ordinal) {
+    if (ordinal >= Alliance.values().length)
+      throw new IllegalArgumentException("Unknown alliance " + ordinal);
+    return Alliance.values()[ordinal];
+  }
+
+  private static MoveType readMoveType(ByteBuffer buf) {
+    final int value = buf.get();
+    for (MoveType moveType : MoveType.values())
+      if (moveType.getValue() == value && moveType != MoveType.INVALID)
+        return moveType;
+
+    throw new IllegalArgumentException("Unknown move type " + value);
+  }
+
+  private static void checkEnd(ByteBuffer buf) {
+    if (buf.hasRemaining())
+      throw new IllegalArgumentException(buf.remaining() + " trailing bytes");
+  }
+}
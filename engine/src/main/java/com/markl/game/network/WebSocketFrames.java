@@ -0,0 +1,208 @@
+package com.markl.game.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+/**
+ * Minimal WebSocket (RFC 6455) framing of the {@link GameCodec} messages,
+ * shared by the client transport and the game server.
+ *
+ * Only what the game needs is supported: unfragmented binary frames of up to
+ * {@link #MAX_PAYLOAD_SIZE} bytes, i.e. a single byte payload length, and the
+ * close, ping and pong control frames. Anything else is a protocol error.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class WebSocketFrames {
+
+  public static final int OP_BINARY = 0x2;
+  public static final int OP_CLOSE  = 0x8;
+  public static final int OP_PING   = 0x9;
+  public static final int OP_PONG   = 0xA;
+
+  public static final int MAX_PAYLOAD_SIZE   = 125;                      // Largest payload of a single byte length
+  public static final int MAX_FRAME_SIZE     = 2 + 4 + MAX_PAYLOAD_SIZE; // Header, mask key and payload
+  public static final int MAX_HANDSHAKE_SIZE = 4096;
+
+  public static final Charset ASCII = Charset.forName("US-ASCII");
+
+  private static final int FIN_BIT  = 0x80;
+  private static final int MASK_BIT = 0x80;
+  private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+  private static final char[] BASE64_CHARS =
+    "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+  /** Receives the frames read by {@link WebSocketFrames#readFrame} */
+  public interface FrameHandler {
+    /**
+     * @param opcode  opcode of the frame.
+     * @param payload unmasked payload, only valid during the call.
+     */
+    void onFrame(int opcode, ByteBuffer payload);
+  }
+
+  /**
+   * Constructor method that ensures this WebSocketFrames cannot be instantiated.
+   */
+  private WebSocketFrames() {}
+
+  /**
+   * Writes a whole frame.
+   * @param out        buffer to write to, at least {@link #MAX_FRAME_SIZE} remaining.
+   * @param opcode     opcode of the frame.
+   * @param payload    payload from its position to its limit, left unchanged.
+   * @param maskRandom source of the mask key, null to leave the frame unmasked.
+   *                   Clients must mask their frames, servers must not.
+   */
+  public static void writeFrame(ByteBuffer out, int opcode, ByteBuffer payload, Random maskRandom) {
+    final int length = payload.remaining();
+    if (length > MAX_PAYLOAD_SIZE)
+      throw new IllegalArgumentException("Payload of " + length + " bytes exceeds " + MAX_PAYLOAD_SIZE);
+
+    out.put((byte) (FIN_BIT | opcode));
+    if (maskRandom == null) {
+      out.put((byte) length);
+      for (int i = payload.position(); i < payload.limit(); i++)
+        out.put(payload.get(i));
+      return;
+    }
+
+    final int maskKey = maskRandom.nextInt();
+    out.put((byte) (MASK_BIT | length));
+    out.putInt(maskKey);
+    for (int i = 0; i < length; i++)
+      out.put((byte) (payload.get(payload.position() + i) ^ (maskKey >>> (24 - (i & 3) * 8))));
+  }
+
+  /**
+   * Reads a single frame if it has been wholly received, and passes it to the
+   * handler.
+   * @param in         received bytes, from its position to its limit.
+   * @param isMasked   whether frames are expected masked, i.e. read by the server.
+   * @param handler    FrameHandler to pass the frame to.
+   * @return boolean true if a frame has been read and the position moved past
+   *         it, false if it is incomplete and the position left unchanged.
+   * @throws IllegalArgumentException on a protocol error.
+   */
+  public static boolean readFrame(ByteBuffer in, boolean isMasked, FrameHandler handler) {
+    if (in.remaining() < 2)
+      return false;
+
+    final int start = in.position();
+    final int first = in.get(start) & 0xFF;
+    final int second = in.get(start + 1) & 0xFF;
+    final int opcode = first & 0x0F;
+    final int length = second & 0x7F;
+
+    if ((first & FIN_BIT) == 0 || (first & 0x70) != 0)
+      throw new IllegalArgumentException("Fragmented or extended frame");
+    if (((second & MASK_BIT) != 0) != isMasked)
+      throw new IllegalArgumentException(isMasked ? "Unmasked client frame" : "Masked server frame");
+    if (length > MAX_PAYLOAD_SIZE)
+      throw new IllegalArgumentException("Frame payload longer than " + MAX_PAYLOAD_SIZE);
+
+    final int headerSize = isMasked ? 6 : 2;
+    if (in.remaining() < headerSize + length)
+      return false;
+
+    final int payloadStart = start + headerSize;
+    if (isMasked) {
+      final int maskKey = in.getInt(start + 2);
+      for (int i = 0; i < length; i++)
+        in.put(payloadStart + i, (byte) (in.get(payloadStart + i) ^ (maskKey >>> (24 - (i & 3) * 8))));
+    }
+
+    final int limit = in.limit();
+    in.position(payloadStart);
+    in.limit(payloadStart + length);
+    try {
+      handler.onFrame(opcode, in.slice());
+    } finally {
+      in.limit(limit);
+      in.position(payloadStart + length);
+    }
+
+    return true;
+  }
+
+  /**
+   * Finds the end of the HTTP headers of the opening handshake.
+   * @param in received bytes, from its position to its limit, flipped from
+   *           the read buffer.
+   * @return int index right after the blank line ending the headers, -1 if
+   *         not wholly received yet.
+   * @throws IllegalArgumentException if the headers are longer than
+   *         MAX_HANDSHAKE_SIZE or fill the whole read buffer, which could
+   *         then never take the rest of them.
+   */
+  public static int findHandshakeEnd(ByteBuffer in) {
+    for (int i = in.position(); i + 3 < in.limit(); i++)
+      if (in.get(i) == '\r' && in.get(i + 1) == '\n' && in.get(i + 2) == '\r' && in.get(i + 3) == '\n')
+        return i + 4;
+
+    if (in.remaining() >= MAX_HANDSHAKE_SIZE || in.limit() == in.capacity())
+      throw new IllegalArgumentException("Handshake longer than " + Math.min(in.capacity(), MAX_HANDSHAKE_SIZE));
+    return -1;
+  }
+
+  /**
+   * Gets a header value out of the handshake headers.
+   * @param headers whole handshake, status or request line included.
+   * @param name    case insensitive header name.
+   * @return String trimmed header value, null if missing.
+   */
+  public static String getHeader(String headers, String name) {
+    for (String line : headers.split("\r\n")) {
+      final int colon = line.indexOf(':');
+      if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase(name))
+        return line.substring(colon + 1).trim();
+    }
+
+    return null;
+  }
+
+  /**
+   * Creates the Sec-WebSocket-Key of a client handshake.
+   */
+  public static String createKey(Random random) {
+    final byte[] nonce = new byte[16];
+    random.nextBytes(nonce);
+    return base64(nonce);
+  }
+
+  /**
+   * Gets the Sec-WebSocket-Accept the server answers the given key with.
+   */
+  public static String getAcceptKey(String key) {
+    try {
+      final MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+      return base64(sha1.digest((key + ACCEPT_GUID).getBytes(ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 unavailable", e);
+    }
+  }
+
+  /**
+   * Base64 encoding, as java.util.Base64 is missing on older Android versions.
+   */
+  private static String base64(byte[] bytes) {
+    final StringBuilder builder = new StringBuilder((bytes.length + 2) / 3 * 4);
+    for (int i = 0; i < bytes.length; i += 3) {
+      final int remaining = bytes.length - i;
+      final int chunk = (bytes[i] & 0xFF) << 16 |
+        (remaining > 1 ? (bytes[i + 1] & 0xFF) << 8 : 0) |
+        (remaining > 2 ? (bytes[i + 2] & 0xFF) : 0);
+
+      builder.append(BASE64_CHARS[(chunk >> 18) & 0x3F]);
+      builder.append(BASE64_CHARS[(chunk >> 12) & 0x3F]);
+      builder.append(remaining > 1 ? BASE64_CHARS[(chunk >> 6) & 0x3F] : '=');
+      builder.append(remaining > 2 ? BASE64_CHARS[chunk & 0x3F] : '=');
+    }
+
+    return builder.toString();
+  }
+}
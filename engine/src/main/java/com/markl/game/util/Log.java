@@ -0,0 +1,82 @@
+package com.markl.game.util;
+
+/**
+ * Pluggable logger of the engine and AI. Logs to the standard streams unless
+ * another {@link Logger} is set, e.g. one that forwards to Gdx.app.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class Log {
+
+  /**
+   * Log output of the engine and AI. Mirrors the libGDX ApplicationLogger
+   * methods so that it can be adapted one to one.
+   */
+  public interface Logger {
+    void log(String tag, String message);
+    void error(String tag, String message, Throwable exception);
+    void debug(String tag, String message);
+  }
+
+  /** Logger printing to System.out and System.err */
+  public static final Logger STANDARD = new Logger() {
+    @Override
+    public void log(String tag, String message) {
+      System.out.println("[" + tag + "] " + message);
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable exception) {
+      System.err.println("[" + tag + "] " + message);
+      if (exception != null)
+        exception.printStackTrace(System.err);
+    }
+
+    @Override
+    public void debug(String tag, String message) {
+      System.out.println("[" + tag + "] " + message);
+    }
+  };
+
+  /** Logger discarding everything */
+  public static final Logger NONE = new Logger() {
+    @Override public void log(String tag, String message) {}
+    @Override public void error(String tag, String message, Throwable exception) {}
+    @Override public void debug(String tag, String message) {}
+  };
+
+  private static volatile Logger logger = STANDARD;
+
+  public static void setLogger(Logger logger) {
+    Log.logger = logger != null ? logger : NONE;
+  }
+
+  public static Logger getLogger() {
+    return logger;
+  }
+
+  public static void log(String tag, String message) {
+    logger.log(tag, message);
+  }
+
+  public static void error(String tag, String message) {
+    logger.error(tag, message, null);
+  }
+
+  public static void error(String tag, String message, Throwable exception) {
+    logger.error(tag, message, exception);
+  }
+
+  public static void debug(String tag, String message) {
+    logger.debug(tag, message);
+  }
+
+  /**
+   * Constructor method that ensures this {@link Log} class cannot be
+   * instantiated.
+   */
+  private Log() {
+    throw new RuntimeException("You cannot instantiate Log class");
+  }
+}
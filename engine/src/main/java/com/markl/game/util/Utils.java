@@ -16,6 +16,23 @@ public class Utils {
 
   private static Random rand = new Random();
 
+  /**
+   * Reseeds the random number generator, e.g. to reproduce random board
+   * builds in benchmarks.
+   * @param seed random seed.
+   */
+  public static void setRandomSeed(long seed) {
+    rand = new Random(seed);
+  }
+
+  /**
+   * Gets the shared random number generator.
+   * @return Random rand field.
+   */
+  public static Random getRandom() {
+    return rand;
+  }
+
   /**
    * Generates random integer.
    * @param min starting number to generate random numbers from.
@@ -38,6 +55,20 @@ public class Utils {
    * ref: https://stackoverflow.com/a/6443346/11850077
    */
   public static int getRandomIntWithExclusion(int min, int max, int... exclude) {
+    return getRandomIntWithExclusion(rand, min, max, exclude);
+  }
+
+  /**
+   * Generates random integer exclusive of some numbers from the given random
+   * number generator instead of the shared one.
+   * @param rand Random to draw from.
+   * @param min Min number to generate random numbers from.
+   * @param max Max number to generate random numbers until.
+   * @param exlude Int or int array number/numbers to exclude from being
+   * generated.
+   * @return randomly generated int.
+   */
+  public static int getRandomIntWithExclusion(Random rand, int min, int max, int... exclude) {
     int random = min + rand.nextInt(max - min + 1 - exclude.length);
     for (int ex : exclude) {
       if (random < ex) {
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.markl.game.Gog;
 import com.markl.game.engine.board.pieces.Flag;
 import com.markl.game.engine.board.pieces.Piece;
 import com.markl.game.engine.board.pieces.Spy;
@@ -17,35 +18,37 @@ class BoardTest {
 
   private Board board;
   private BoardBuilder builder;
+  private Player player;
 
   @BeforeEach
   void setUp() {
-    this.board = new Board();
-    this.builder = new BoardBuilder(board);
+    final Gog gog = new Gog();
+    this.board = gog.getBoard();
+    this.builder = gog.getBoardBuilder();
+    this.player = gog.getPlayer(Alliance.BLACK);
   }
 
   @Test
   @DisplayName("Test Board.getAllTiles()")
   void getAllTilesTest() {
     assertNotNull(this.board.getAllTiles());
+    assertEquals(BoardUtils.TOTAL_BOARD_TILES, this.board.getAllTiles().size());
   }
 
   @Test
   @DisplayName("Test Board.addTile()")
   void addTileTest() {
-    assertEquals(this.board.getAllTiles().size(), 0);
+    final int tileId = BoardUtils.TOTAL_BOARD_TILES;
+    this.board.addTile(tileId, null);
 
-    this.board.addTile(0, null);
-
-    assertNotNull(this.board.getTile(0));
-    assertEquals(this.board.getAllTiles().size(), 1);
+    assertNotNull(this.board.getTile(tileId));
+    assertEquals(tileId + 1, this.board.getAllTiles().size());
   }
 
   @Test
   @DisplayName("Test Board.insertPiece()")
   void insertPieceTest() {
-    this.board.addTile(0, null);
-    Piece flag = new Flag(this.board, null, null);
+    Piece flag = new Flag(0, this.board, this.player, Alliance.BLACK);
 
     assertTrue(this.board.insertPiece(0, flag));
     assertFalse(this.board.insertPiece(0, flag));
@@ -55,8 +58,7 @@ class BoardTest {
   @Test
   @DisplayName("Test Board.deletePiece()")
   void deletePieceTest() {
-    this.board.addTile(0, null);
-    Piece flag = new Flag(this.board, null, null);
+    Piece flag = new Flag(0, this.board, this.player, Alliance.BLACK);
     this.board.insertPiece(0, flag);
 
     assertTrue(this.board.deletePiece(0));
@@ -67,10 +69,8 @@ class BoardTest {
   @Test
   @DisplayName("Test Board.replacePiece")
   void replacePieceTest() {
-    this.board.addTile(0, null);
-    this.board.addTile(1, null);
-    Piece flag = new Flag(this.board, null, null);
-    Piece spy = new Spy(this.board, null, null);
+    Piece flag = new Flag(0, this.board, this.player, Alliance.BLACK);
+    Piece spy = new Spy(1, this.board, this.player, Alliance.BLACK);
     this.board.insertPiece(0, flag);
 
     // Valid piece replacement
@@ -85,9 +85,7 @@ class BoardTest {
   @Test
   @DisplayName("Test Board.movePiece()")
   void movePieceTest() {
-    this.board.addTile(0, null);
-    this.board.addTile(1, null);
-    Piece flag = new Flag(this.board, null, null);
+    Piece flag = new Flag(0, this.board, this.player, Alliance.BLACK);
     this.board.insertPiece(0, flag);
 
     // Valid move piece
@@ -96,6 +94,8 @@ class BoardTest {
     assertTrue(this.board.movePiece(0, 1));
     assertTrue(this.board.getTile(0).isTileEmpty());
     assertTrue(this.board.getTile(1).getPiece().getRank().equals("Flag"));
+    assertEquals(BoardUtils.EMPTY_CODE, this.board.getCompactBoard().getCode(0));
+    assertEquals(BoardUtils.encodePiece(flag), this.board.getCompactBoard().getCode(1));
 
     // Invalid move piece
     assertFalse(this.board.movePiece(0, 1));
@@ -104,11 +104,8 @@ class BoardTest {
   @Test
   @DisplayName("Test Board.swapPiece()")
   void swapPieceTest() {
-    this.board.addTile(0, null);
-    this.board.addTile(1, null);
-    this.board.addTile(2, null);
-    Piece flag = new Flag(this.board, null, null);
-    Piece spy = new Spy(this.board, null, null);
+    Piece flag = new Flag(0, this.board, this.player, Alliance.BLACK);
+    Piece spy = new Spy(1, this.board, this.player, Alliance.BLACK);
     this.board.insertPiece(0, flag);
     this.board.insertPiece(1, spy);
 
@@ -120,6 +117,8 @@ class BoardTest {
 
     assertTrue(this.board.getTile(0).getPiece().getRank().equals("Spy"));
     assertTrue(this.board.getTile(1).getPiece().getRank().equals("Flag"));
+    assertEquals(BoardUtils.encodePiece(spy), this.board.getCompactBoard().getCode(0));
+    assertEquals(BoardUtils.encodePiece(flag), this.board.getCompactBoard().getCode(1));
 
     // Empty Tile piece swap
     assertFalse(this.board.swapPiece(1, 2));
@@ -129,13 +128,14 @@ class BoardTest {
   @DisplayName("Test Board.discardPieces()")
   void discardPiecesTest() {
     this.builder.createBoardDemoBuild();
-    this.builder.build(false);
+    this.builder.build(true);
 
     assertTrue(this.board.getTile(0).isTileOccupied());
     this.board.clearBoard();
 
     for (int i = 0; i < BoardUtils.TOTAL_BOARD_TILES; i++) {
       assertTrue(this.board.getTile(i).isTileEmpty());
+      assertEquals(BoardUtils.EMPTY_CODE, this.board.getCompactBoard().getCode(i));
     }
   }
 
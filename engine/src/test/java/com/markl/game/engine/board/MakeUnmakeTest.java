@@ -0,0 +1,193 @@
+package com.markl.game.engine.board;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+
+import com.markl.game.Gog;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.pieces.Piece;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link Board#makeMove(int)} and {@link Board#unmakeMove(int)}
+ * are exact inverses of each other, on both the Tile list and the
+ * {@link CompactBoard} mirror. The search, transposition table, endgame
+ * solver and game server all rely on it.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+class MakeUnmakeTest {
+
+  private static final int GAMES = 50;
+  private static final int MAX_DEPTH = 80;
+
+  private static final int[] ENGAGEMENTS = {
+    MoveType.DRAW.getValue(), MoveType.AGGRESSIVE_WIN.getValue(), MoveType.AGGRESSIVE_LOSE.getValue()
+  };
+
+  /**
+   * Full state of a board at one ply.
+   */
+  private static class State {
+    private final byte[] codes = new byte[BoardUtils.TOTAL_BOARD_TILES];
+    private final Piece[] pieces = new Piece[BoardUtils.TOTAL_BOARD_TILES];
+    private final long[] occupancy = new long[4];
+    private final long zobristKey;
+    private final Alliance winner;
+
+    private State(Board board) {
+      final CompactBoard compactBoard = board.getCompactBoard();
+      compactBoard.copyCodesTo(codes);
+      for (int i = 0; i < pieces.length; i++)
+        pieces[i] = board.getPiece(i);
+      occupancy[0] = compactBoard.getOccupancyLo(Alliance.BLACK);
+      occupancy[1] = compactBoard.getOccupancyHi(Alliance.BLACK);
+      occupancy[2] = compactBoard.getOccupancyLo(Alliance.WHITE);
+      occupancy[3] = compactBoard.getOccupancyHi(Alliance.WHITE);
+      zobristKey = compactBoard.getZobristKey();
+      winner = compactBoard.getWinner();
+    }
+
+    private void assertRestored(Board board, String context) {
+      final State other = new State(board);
+      assertArrayEquals(codes, other.codes, context);
+      for (int i = 0; i < pieces.length; i++) {
+        assertSame(pieces[i], other.pieces[i], context + ", piece of tile " + i);
+        if (pieces[i] != null)
+          assertEquals(i, pieces[i].getPieceTileId(), context + ", tile id of piece");
+      }
+      assertArrayEquals(occupancy, other.occupancy, context);
+      assertEquals(zobristKey, other.zobristKey, context);
+      assertEquals(winner, other.winner, context);
+    }
+  }
+
+  @Test
+  @DisplayName("Test Board.makeMove() and Board.unmakeMove() round trip")
+  void randomSequencesTest() {
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+    for (int game = 0; game < GAMES; game++) {
+      final Random rand = new Random(game);
+      final Board board = createRandomBoard();
+      final int[] made = new int[MAX_DEPTH];
+      final State[] states = new State[MAX_DEPTH];
+      Alliance alliance = rand.nextBoolean() ? Alliance.WHITE : Alliance.BLACK;
+      int depth = 0;
+
+      while (depth < MAX_DEPTH && board.getWinner() == null) {
+        final int count = board.generateMoves(alliance, moves);
+        if (count == 0)
+          break;
+
+        int move = moves[rand.nextInt(count)];
+        // Force every engagement result regardless of ranks, as the AI does for hidden pieces
+        if (PackedMove.isAggressive(move) && rand.nextBoolean())
+          move = PackedMove.withMoveType(move, ENGAGEMENTS[rand.nextInt(ENGAGEMENTS.length)]);
+
+        states[depth] = new State(board);
+        board.makeMove(move);
+        made[depth++] = move;
+        assertConsistent(board, "Game " + game + " after " + PackedMove.toString(move));
+        alliance = alliance == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+      }
+
+      while (depth > 0) {
+        board.unmakeMove(made[--depth]);
+        states[depth].assertRestored(board, "Game " + game + " unmaking ply " + depth);
+      }
+      assertEquals(0, board.getCompactBoard().getPly());
+    }
+  }
+
+  @Test
+  @DisplayName("Test CompactBoard flag wins are unmade")
+  void flagWinsTest() {
+    final int blackFlag = BoardUtils.encodePiece(BoardUtils.FLAG_CODE, Alliance.BLACK);
+    final int whiteFlag = BoardUtils.encodePiece(BoardUtils.FLAG_CODE, Alliance.WHITE);
+    final int whitePrivate = BoardUtils.encodePiece(BoardUtils.PRIVATE_CODE, Alliance.WHITE);
+    final int blackSpy = BoardUtils.encodePiece(BoardUtils.SPY_CODE, Alliance.BLACK);
+
+    // Flag maneuvered into the opposite end row
+    assertWinUnmade(new int[] {60, blackFlag}, PackedMove.pack(60, 69, MoveType.NORMAL.getValue()),
+        Alliance.BLACK);
+    assertWinUnmade(new int[] {12, whiteFlag}, PackedMove.pack(12, 3, MoveType.NORMAL.getValue()),
+        Alliance.WHITE);
+    // Flag captured
+    assertWinUnmade(new int[] {10, whitePrivate, 1, blackFlag},
+        PackedMove.pack(10, 1, MoveType.AGGRESSIVE_WIN.getValue()), Alliance.WHITE);
+    // Flag engaging a piece, and a flag
+    assertWinUnmade(new int[] {1, blackFlag, 10, whitePrivate},
+        PackedMove.pack(1, 10, MoveType.AGGRESSIVE_LOSE.getValue()), Alliance.WHITE);
+    assertWinUnmade(new int[] {1, blackFlag, 10, whiteFlag},
+        PackedMove.pack(1, 10, MoveType.AGGRESSIVE_WIN.getValue()), Alliance.BLACK);
+    // No win when neither piece is a flag
+    final CompactBoard board = createCompactBoard(new int[] {1, blackSpy, 10, whitePrivate});
+    board.makeMove(PackedMove.pack(1, 10, MoveType.AGGRESSIVE_LOSE.getValue()));
+    assertNull(board.getWinner());
+  }
+
+  private static void assertWinUnmade(int[] placement, int move, Alliance winner) {
+    final CompactBoard board = createCompactBoard(placement);
+    final byte[] codes = new byte[BoardUtils.TOTAL_BOARD_TILES];
+    board.copyCodesTo(codes);
+    final long zobristKey = board.getZobristKey();
+
+    board.makeMove(move);
+    assertEquals(winner, board.getWinner(), PackedMove.toString(move));
+    board.unmakeMove(move);
+
+    final byte[] restored = new byte[BoardUtils.TOTAL_BOARD_TILES];
+    board.copyCodesTo(restored);
+    assertArrayEquals(codes, restored);
+    assertEquals(zobristKey, board.getZobristKey());
+    assertNull(board.getWinner());
+  }
+
+  /**
+   * @param placement pairs of Tile id and piece code.
+   */
+  private static CompactBoard createCompactBoard(int[] placement) {
+    final CompactBoard board = new CompactBoard();
+    for (int i = 0; i < placement.length; i += 2)
+      board.setPiece(placement[i], placement[i + 1]);
+    return board;
+  }
+
+  private static Board createRandomBoard() {
+    final Gog gog = new Gog();
+    gog.getBoardBuilder().createBoardRandomBuild();
+    gog.getBoardBuilder().build(true);
+    return gog.getBoard();
+  }
+
+  /**
+   * Checks the compact board against the Tile list, and its incremental
+   * Zobrist key against one computed from scratch.
+   */
+  private static void assertConsistent(Board board, String context) {
+    final CompactBoard compactBoard = board.getCompactBoard();
+    final CompactBoard fresh = new CompactBoard();
+
+    for (int i = 0; i < BoardUtils.TOTAL_BOARD_TILES; i++) {
+      final Piece piece = board.getPiece(i);
+      final int pieceCode = piece == null ? BoardUtils.EMPTY_CODE : BoardUtils.encodePiece(piece);
+      assertEquals(pieceCode, compactBoard.getCode(i), context + ", tile " + i);
+      if (pieceCode != BoardUtils.EMPTY_CODE)
+        fresh.setPiece(i, pieceCode);
+    }
+
+    assertEquals(fresh.getZobristKey(), compactBoard.getZobristKey(), context);
+    for (Alliance alliance : Alliance.values()) {
+      assertEquals(fresh.getOccupancyLo(alliance), compactBoard.getOccupancyLo(alliance), context);
+      assertEquals(fresh.getOccupancyHi(alliance), compactBoard.getOccupancyHi(alliance), context);
+    }
+  }
+}
@@ -0,0 +1,297 @@
+package com.markl.game.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move.MoveType;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that every {@link GameCodec} message decodes to what was written,
+ * and that malformed messages are refused rather than misread.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+class GameCodecTest {
+
+  private static final String MATCH_ID = "m42";
+  private static final String TOKEN = "m42.AbCdEfGhIjKlMnOp";
+  private static final String LONGEST_ID = "0123456789abcdef0123456789ABCDEF";
+  private static final int[] TURN_IDS = { 0, 1, 127, 128, 300, 16383, 16384, Integer.MAX_VALUE };
+  private static final int[] TURN_ID_SIZES = { 1, 1, 1, 2, 2, 2, 3, 5 };
+
+  /**
+   * Records the last decoded message as text.
+   */
+  private static class Recorder implements GameCodec.RequestHandler, GameCodec.EventHandler {
+    private String message;
+
+    @Override public void onJoinAny()                     { message = "joinAny"; }
+    @Override public void onJoin(String matchId)          { message = "join " + matchId; }
+    @Override public void onFormation(byte[] formation)   { message = "formation " + Arrays.toString(formation); }
+    @Override public void onLeave()                       { message = "leave"; }
+    @Override public void onArrange(byte[] formation)     { message = "arrange " + Arrays.toString(formation); }
+    @Override public void onFormationRejected()           { message = "formationRejected"; }
+    @Override public void onJoinRejected(String matchId)  { message = "joinRejected " + matchId; }
+    @Override public void onMoveRejected(int turnId)      { message = "moveRejected " + turnId; }
+    @Override public void onGameOver(Alliance winner)     { message = "gameOver " + winner; }
+    @Override public void onResumeRejected()              { message = "resumeRejected"; }
+    @Override public void onArrangement(byte[] formation) { message = "arrangement " + Arrays.toString(formation); }
+
+    @Override
+    public void onMove(int turnId, int srcTileId, int tgtTileId) {
+      message = "move " + turnId + " " + srcTileId + " " + tgtTileId;
+    }
+
+    @Override
+    public void onResume(String sessionToken, int lastTurnId) {
+      message = "resume " + sessionToken + " " + lastTurnId;
+    }
+
+    @Override
+    public void onJoined(String matchId, Alliance alliance, String sessionToken) {
+      message = "joined " + matchId + " " + alliance + " " + sessionToken;
+    }
+
+    @Override
+    public void onMatchStarted(Alliance firstMoveMaker, byte[] formation, long enemyOccupancy) {
+      message = "matchStarted " + firstMoveMaker + " " + Arrays.toString(formation) + " " +
+        Long.toHexString(enemyOccupancy);
+    }
+
+    @Override
+    public void onMoveMade(int turnId, int srcTileId, int tgtTileId, MoveType moveType) {
+      message = "moveMade " + turnId + " " + srcTileId + " " + tgtTileId + " " + moveType;
+    }
+  }
+
+  /** Writes a single message into the given buffer */
+  private interface Writer {
+    void write(ByteBuffer buf);
+  }
+
+  @Test
+  @DisplayName("Test GameCodec.decodeRequest() round trip")
+  void requestsTest() {
+    final byte[] formation = createFormation();
+    final String formationText = Arrays.toString(formation);
+
+    assertRequest("joinAny", new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeJoinAny(buf); }
+    });
+    assertRequest("join " + MATCH_ID, new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeJoin(buf, MATCH_ID); }
+    });
+    assertRequest("formation " + formationText, new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeFormation(buf, formation); }
+    });
+    assertRequest("leave", new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeLeave(buf); }
+    });
+    assertRequest("arrange " + formationText, new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeArrange(buf, formation); }
+    });
+
+    for (final int turnId : TURN_IDS) {
+      assertRequest("move " + turnId + " 20 29", new Writer() {
+        public void write(ByteBuffer buf) { GameCodec.writeMove(buf, turnId, 20, 29); }
+      });
+      assertRequest("resume " + TOKEN + " " + turnId, new Writer() {
+        public void write(ByteBuffer buf) { GameCodec.writeResume(buf, TOKEN, turnId); }
+      });
+    }
+  }
+
+  @Test
+  @DisplayName("Test GameCodec.decodeEvent() round trip")
+  void eventsTest() {
+    final byte[] formation = createFormation();
+    final long occupancy = 0xFEDCBA987L; // All 36 bits in use
+
+    for (final Alliance alliance : Alliance.values()) {
+      assertEvent("joined " + MATCH_ID + " " + alliance + " " + TOKEN, new Writer() {
+        public void write(ByteBuffer buf) { GameCodec.writeJoined(buf, MATCH_ID, alliance, TOKEN); }
+      });
+      assertEvent("matchStarted " + alliance + " " + Arrays.toString(formation) + " fedcba987", new Writer() {
+        public void write(ByteBuffer buf) { GameCodec.writeMatchStarted(buf, alliance, formation, occupancy); }
+      });
+      assertEvent("gameOver " + alliance, new Writer() {
+        public void write(ByteBuffer buf) { GameCodec.writeGameOver(buf, alliance); }
+      });
+    }
+
+    assertEvent("gameOver null", new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeGameOver(buf, null); }
+    });
+    assertEvent("joinRejected " + MATCH_ID, new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeJoinRejected(buf, MATCH_ID); }
+    });
+    assertEvent("formationRejected", new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeFormationRejected(buf); }
+    });
+    assertEvent("resumeRejected", new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeResumeRejected(buf); }
+    });
+    assertEvent("arrangement " + Arrays.toString(formation), new Writer() {
+      public void write(ByteBuffer buf) { GameCodec.writeArrangement(buf, formation); }
+    });
+
+    for (final int turnId : TURN_IDS) {
+      for (final MoveType moveType : MoveType.values()) {
+        if (moveType == MoveType.INVALID)
+          continue;
+        assertEvent("moveMade " + turnId + " 51 42 " + moveType, new Writer() {
+          public void write(ByteBuffer buf) { GameCodec.writeMoveMade(buf, turnId, 51, 42, moveType); }
+        });
+      }
+      assertEvent("moveRejected " + turnId, new Writer() {
+        public void write(ByteBuffer buf) { GameCodec.writeMoveRejected(buf, turnId); }
+      });
+    }
+  }
+
+  @Test
+  @DisplayName("Test GameCodec.writeVarInt() and GameCodec.readVarInt()")
+  void varIntTest() {
+    final ByteBuffer buf = ByteBuffer.allocate(8);
+    for (int i = 0; i < TURN_IDS.length; i++) {
+      buf.clear();
+      GameCodec.writeVarInt(buf, TURN_IDS[i]);
+      buf.flip();
+      assertEquals(TURN_ID_SIZES[i], buf.remaining(), "Size of " + TURN_IDS[i]);
+      assertEquals(TURN_IDS[i], GameCodec.readVarInt(buf));
+      assertFalse(buf.hasRemaining());
+    }
+
+    // Continuation bit set on all 5 bytes
+    try {
+      GameCodec.readVarInt(ByteBuffer.wrap(new byte[] { -1, -1, -1, -1, -1, 0 }));
+      fail("Varint longer than 5 bytes read");
+    } catch (IllegalArgumentException expected) {}
+  }
+
+  @Test
+  @DisplayName("Test GameCodec.MAX_MESSAGE_SIZE")
+  void maxMessageSizeTest() {
+    final ByteBuffer buf = ByteBuffer.allocate(GameCodec.MAX_MESSAGE_SIZE);
+    GameCodec.writeJoined(buf, LONGEST_ID, Alliance.BLACK, LONGEST_ID);
+    assertTrue(buf.position() <= GameCodec.MAX_MESSAGE_SIZE);
+
+    try {
+      GameCodec.writeJoin(ByteBuffer.allocate(64), LONGEST_ID + "0");
+      fail("Id longer than MAX_ID_LENGTH written");
+    } catch (IllegalArgumentException expected) {}
+  }
+
+  @Test
+  @DisplayName("Test GameCodec refusing malformed messages")
+  void malformedTest() {
+    final Recorder recorder = new Recorder();
+
+    // Empty, and unknown or misdirected opcodes
+    assertMalformedRequest(new byte[0]);
+    assertMalformedEvent(new byte[0]);
+    assertMalformedRequest(new byte[] { 0x00 });
+    assertMalformedRequest(new byte[] { GameCodec.OP_JOINED });
+    assertMalformedEvent(new byte[] { GameCodec.OP_JOIN_ANY });
+    assertMalformedEvent(new byte[] { 0x7F });
+
+    // Id longer than MAX_ID_LENGTH
+    final byte[] longJoin = new byte[2 + GameCodec.MAX_ID_LENGTH + 1];
+    longJoin[0] = GameCodec.OP_JOIN;
+    longJoin[1] = (byte) (GameCodec.MAX_ID_LENGTH + 1);
+    Arrays.fill(longJoin, 2, longJoin.length, (byte) 'a');
+    assertMalformedRequest(longJoin);
+
+    // Unknown alliance and move type
+    assertMalformedEvent(new byte[] { GameCodec.OP_GAME_OVER, 2 });
+    assertMalformedEvent(new byte[] { GameCodec.OP_JOINED, 1, 'm', 2, 1, 't' });
+    assertMalformedEvent(new byte[] { GameCodec.OP_MOVE_MADE, 1, 20, 29, 4 });
+    assertMalformedEvent(new byte[] { GameCodec.OP_MOVE_MADE, 1, 20, 29, (byte) MoveType.INVALID.getValue() });
+
+    // The well formed counterparts of the above are decoded
+    GameCodec.decodeEvent(ByteBuffer.wrap(new byte[] { GameCodec.OP_JOINED, 1, 'm', 0, 1, 't' }), recorder);
+    assertEquals("joined m WHITE t", recorder.message);
+    GameCodec.decodeEvent(ByteBuffer.wrap(new byte[] { GameCodec.OP_MOVE_MADE, 1, 20, 29, 3 }), recorder);
+    assertEquals("moveMade 1 20 29 AGGRESSIVE_LOSE", recorder.message);
+  }
+
+  /**
+   * Checks a request round trip, and that every truncation of it and the
+   * message followed by a trailing byte are refused.
+   */
+  private static void assertRequest(String expected, Writer writer) {
+    final byte[] message = write(writer);
+    final Recorder recorder = new Recorder();
+    GameCodec.decodeRequest(ByteBuffer.wrap(message), recorder);
+    assertEquals(expected, recorder.message);
+
+    for (int length = 0; length < message.length; length++)
+      assertMalformedRequest(Arrays.copyOf(message, length));
+    assertMalformedRequest(Arrays.copyOf(message, message.length + 1));
+  }
+
+  /**
+   * Checks an event round trip, see {@link #assertRequest}.
+   */
+  private static void assertEvent(String expected, Writer writer) {
+    final byte[] message = write(writer);
+    final Recorder recorder = new Recorder();
+    GameCodec.decodeEvent(ByteBuffer.wrap(message), recorder);
+    assertEquals(expected, recorder.message);
+
+    for (int length = 0; length < message.length; length++)
+      assertMalformedEvent(Arrays.copyOf(message, length));
+    assertMalformedEvent(Arrays.copyOf(message, message.length + 1));
+  }
+
+  private static void assertMalformedRequest(byte[] message) {
+    final Recorder recorder = new Recorder();
+    try {
+      GameCodec.decodeRequest(ByteBuffer.wrap(message), recorder);
+      fail("Malformed request decoded: " + Arrays.toString(message));
+    } catch (IllegalArgumentException expected) {}
+    assertNull(recorder.message, "Handler called on " + Arrays.toString(message));
+  }
+
+  private static void assertMalformedEvent(byte[] message) {
+    final Recorder recorder = new Recorder();
+    try {
+      GameCodec.decodeEvent(ByteBuffer.wrap(message), recorder);
+      fail("Malformed event decoded: " + Arrays.toString(message));
+    } catch (IllegalArgumentException expected) {}
+    assertNull(recorder.message, "Handler called on " + Arrays.toString(message));
+  }
+
+  private static byte[] write(Writer writer) {
+    final ByteBuffer buf = ByteBuffer.allocate(GameCodec.MAX_MESSAGE_SIZE);
+    writer.write(buf);
+    assertTrue(buf.position() <= GameCodec.MAX_MESSAGE_SIZE);
+    return Arrays.copyOf(buf.array(), buf.position());
+  }
+
+  /**
+   * Creates a formation of every rank, its pieces on the lowest territory
+   * indices.
+   */
+  private static byte[] createFormation() {
+    final byte[] formation = new byte[FormationBook.TERRITORY_TILES];
+    int index = 0;
+    for (int rankCode = BoardUtils.FLAG_CODE; rankCode <= BoardUtils.SPY_CODE; rankCode++)
+      for (int i = 0; i < BoardUtils.getRankCodeCount(rankCode); i++)
+        formation[index++] = (byte) rankCode;
+    return formation;
+  }
+}
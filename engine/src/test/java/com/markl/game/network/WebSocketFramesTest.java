@@ -0,0 +1,203 @@
+package com.markl.game.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the {@link WebSocketFrames} framing both ways, its refusal of the
+ * frames the game does not support, and the opening handshake helpers.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+class WebSocketFramesTest {
+
+  /**
+   * Records the frames read, copying their payload out of the read buffer.
+   */
+  private static class Recorder implements WebSocketFrames.FrameHandler {
+    private int frames;
+    private int opcode;
+    private byte[] payload;
+
+    @Override
+    public void onFrame(int opcode, ByteBuffer payload) {
+      this.frames++;
+      this.opcode = opcode;
+      this.payload = new byte[payload.remaining()];
+      payload.get(this.payload);
+    }
+  }
+
+  @Test
+  @DisplayName("Test WebSocketFrames.readFrame() of unmasked frames")
+  void unmaskedTest() {
+    for (int length : new int[] { 0, 1, 19, WebSocketFrames.MAX_PAYLOAD_SIZE }) {
+      final byte[] payload = createPayload(length);
+      final ByteBuffer frame = writeFrame(WebSocketFrames.OP_BINARY, payload, null);
+      assertEquals(2 + length, frame.remaining());
+
+      final Recorder recorder = new Recorder();
+      assertTrue(WebSocketFrames.readFrame(frame, false, recorder));
+      assertEquals(WebSocketFrames.OP_BINARY, recorder.opcode);
+      assertArrayEquals(payload, recorder.payload);
+      assertFalse(frame.hasRemaining());
+    }
+  }
+
+  @Test
+  @DisplayName("Test WebSocketFrames.readFrame() of masked frames")
+  void maskedTest() {
+    final Random random = new Random(1);
+    for (int length : new int[] { 0, 1, 19, WebSocketFrames.MAX_PAYLOAD_SIZE }) {
+      final byte[] payload = createPayload(length);
+      final ByteBuffer frame = writeFrame(WebSocketFrames.OP_BINARY, payload, random);
+      assertEquals(6 + length, frame.remaining());
+      if (length >= 4) {
+        final byte[] sent = Arrays.copyOfRange(frame.array(), 6, 6 + length);
+        assertFalse(Arrays.equals(payload, sent), "Payload sent unmasked");
+      }
+
+      final Recorder recorder = new Recorder();
+      assertTrue(WebSocketFrames.readFrame(frame, true, recorder));
+      assertEquals(WebSocketFrames.OP_BINARY, recorder.opcode);
+      assertArrayEquals(payload, recorder.payload);
+      assertFalse(frame.hasRemaining());
+    }
+  }
+
+  @Test
+  @DisplayName("Test WebSocketFrames.readFrame() of partially received frames")
+  void partialTest() {
+    final ByteBuffer in = ByteBuffer.allocate(3 * WebSocketFrames.MAX_FRAME_SIZE);
+    final byte[] first = createPayload(30);
+    final byte[] second = createPayload(7);
+    in.put(writeFrame(WebSocketFrames.OP_BINARY, first, new Random(2)));
+    in.put(writeFrame(WebSocketFrames.OP_PING, second, new Random(3)));
+    final int total = in.position();
+
+    // Every prefix of the first frame is left for more bytes to arrive
+    final Recorder recorder = new Recorder();
+    for (int length = 0; length < 6 + first.length; length++) {
+      in.position(0).limit(length);
+      assertFalse(WebSocketFrames.readFrame(in, true, recorder));
+      assertEquals(0, in.position());
+    }
+    assertEquals(0, recorder.frames);
+
+    // Both frames are read from a single buffer one after the other
+    in.position(0).limit(total);
+    assertTrue(WebSocketFrames.readFrame(in, true, recorder));
+    assertArrayEquals(first, recorder.payload);
+    assertTrue(WebSocketFrames.readFrame(in, true, recorder));
+    assertEquals(WebSocketFrames.OP_PING, recorder.opcode);
+    assertArrayEquals(second, recorder.payload);
+    assertFalse(WebSocketFrames.readFrame(in, true, recorder));
+    assertEquals(2, recorder.frames);
+  }
+
+  @Test
+  @DisplayName("Test WebSocketFrames refusing unsupported frames")
+  void protocolErrorTest() {
+    final byte[] payload = createPayload(4);
+
+    // Masking of the wrong side
+    assertProtocolError(writeFrame(WebSocketFrames.OP_BINARY, payload, null), true);
+    assertProtocolError(writeFrame(WebSocketFrames.OP_BINARY, payload, new Random(4)), false);
+
+    // Fragment without FIN, reserved bits, and 16 bit payload length
+    assertProtocolError(ByteBuffer.wrap(new byte[] { WebSocketFrames.OP_BINARY, 0 }), false);
+    assertProtocolError(ByteBuffer.wrap(new byte[] { (byte) 0xC2, 0 }), false);
+    assertProtocolError(ByteBuffer.wrap(new byte[] { (byte) 0x82, 126, 0, (byte) 200 }), false);
+
+    try {
+      writeFrame(WebSocketFrames.OP_BINARY, createPayload(WebSocketFrames.MAX_PAYLOAD_SIZE + 1), null);
+      fail("Payload longer than MAX_PAYLOAD_SIZE written");
+    } catch (IllegalArgumentException expected) {}
+  }
+
+  @Test
+  @DisplayName("Test WebSocketFrames.getAcceptKey() and WebSocketFrames.createKey()")
+  void keysTest() {
+    // Example of RFC 6455 section 1.3
+    assertEquals("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=", WebSocketFrames.getAcceptKey("dGhlIHNhbXBsZSBub25jZQ=="));
+
+    final String key = WebSocketFrames.createKey(new Random(5));
+    assertEquals(24, key.length());
+    assertTrue(key.endsWith("=="), key);
+    assertFalse(key.equals(WebSocketFrames.createKey(new Random(6))));
+  }
+
+  @Test
+  @DisplayName("Test WebSocketFrames.findHandshakeEnd() and WebSocketFrames.getHeader()")
+  void handshakeTest() {
+    final String request =
+      "GET /game HTTP/1.1\r\n" +
+      "Host: localhost:8080\r\n" +
+      "Upgrade: websocket\r\n" +
+      "Connection: Upgrade\r\n" +
+      "sec-websocket-key:   dGhlIHNhbXBsZSBub25jZQ==  \r\n" +
+      "Sec-WebSocket-Version: 13\r\n\r\n";
+    final byte[] bytes = request.getBytes(WebSocketFrames.ASCII);
+    final ByteBuffer in = ByteBuffer.allocate(1024);
+
+    // Incomplete, then complete with the first frame right behind
+    in.put(bytes, 0, bytes.length - 1).flip();
+    assertEquals(-1, WebSocketFrames.findHandshakeEnd(in));
+    in.clear();
+    in.put(bytes).put((byte) 0x82).flip();
+    assertEquals(bytes.length, WebSocketFrames.findHandshakeEnd(in));
+
+    assertEquals("dGhlIHNhbXBsZSBub25jZQ==", WebSocketFrames.getHeader(request, "Sec-WebSocket-Key"));
+    assertEquals("websocket", WebSocketFrames.getHeader(request, "upgrade"));
+    assertNull(WebSocketFrames.getHeader(request, "Origin"));
+
+    // Headers filling the whole read buffer could never be completed
+    final ByteBuffer full = ByteBuffer.allocate(64);
+    while (full.hasRemaining())
+      full.put((byte) 'x');
+    full.flip();
+    try {
+      WebSocketFrames.findHandshakeEnd(full);
+      fail("Handshake filling the read buffer left waiting");
+    } catch (IllegalArgumentException expected) {}
+  }
+
+  private static void assertProtocolError(ByteBuffer frame, boolean isMasked) {
+    final Recorder recorder = new Recorder();
+    try {
+      WebSocketFrames.readFrame(frame, isMasked, recorder);
+      fail("Unsupported frame read: " + Arrays.toString(frame.array()));
+    } catch (IllegalArgumentException expected) {}
+    assertEquals(0, recorder.frames);
+  }
+
+  /**
+   * Writes a single frame.
+   * @return ByteBuffer holding the frame from its position to its limit.
+   */
+  private static ByteBuffer writeFrame(int opcode, byte[] payload, Random maskRandom) {
+    final ByteBuffer out = ByteBuffer.allocate(WebSocketFrames.MAX_FRAME_SIZE);
+    WebSocketFrames.writeFrame(out, opcode, ByteBuffer.wrap(payload), maskRandom);
+    out.flip();
+    return out;
+  }
+
+  private static byte[] createPayload(int length) {
+    final byte[] payload = new byte[length];
+    for (int i = 0; i < length; i++)
+      payload[i] = (byte) (i * 31 + 7);
+    return payload;
+  }
+}
@@ -0,0 +1,308 @@
+package com.markl.game.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.network.GameCodec;
+
+/**
+ * Server side of a single client connection. Decodes the {@link GameCodec}
+ * requests of the client into {@link GameServer} calls, and encodes the
+ * events of its match back for the client.
+ *
+ * A dropped connection keeps the seat of the player, which a later session
+ * of the client may resume with the session token given on joining.
+ *
+ * Match requests received while a join or resume is in progress, e.g. the
+ * formation a resuming client sends right after RESUME, are held and handled
+ * in order once it completes.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class ClientSession implements PlayerChannel, GameCodec.RequestHandler {
+
+  /**
+   * Sends encoded messages to the client. Called on the event loop of the
+   * match, thus must not block.
+   */
+  public interface MessageSink {
+    /**
+     * @param message one whole message, from its position to its limit. Not
+     *                retained by the caller, thus may be kept as is.
+     */
+    void send(ByteBuffer message);
+  }
+
+  public static final int MAX_HELD_REQUESTS = 8; // Held while joining, later ones are handled right away
+
+  private final GameServer server;
+  private final MessageSink sink;
+  private final ArrayDeque<Runnable> heldRequests = new ArrayDeque<>(); // Guarded by itself
+  private volatile String matchId;    // Joined match, null if none
+  private volatile Alliance alliance;  // Alliance in the joined match
+  private volatile boolean isJoining;  // Join requested, neither joined nor rejected yet
+  private volatile boolean isClosed;   // Connection closed
+
+  public ClientSession(GameServer server, MessageSink sink) {
+    this.server = server;
+    this.sink = sink;
+  }
+
+  /**
+   * Handles a request message of the client.
+   * @throws IllegalArgumentException if the message is malformed, in which
+   *         case the connection should be closed.
+   */
+  public void receive(ByteBuffer message) {
+    GameCodec.decodeRequest(message, this);
+  }
+
+  /**
+   * Disconnects from the joined match, if any, once the connection has been
+   * closed. The match may be resumed by another session.
+   */
+  public void close() {
+    isClosed = true;
+    final String leftMatchId = takeMatchId();
+    if (leftMatchId != null)
+      server.disconnect(leftMatchId, alliance, this);
+  }
+
+  /**
+   * Requests are decoded on the connection thread while joins complete on an
+   * event loop, thus a join in progress is flagged right away, so that a
+   * repeated request can not take a second seat.
+   */
+  @Override
+  public void onJoinAny() {
+    if (matchId == null && !isJoining) {
+      isJoining = true;
+      server.joinAnyMatch(this);
+    }
+  }
+
+  @Override
+  public void onJoin(String matchId) {
+    if (this.matchId == null && !isJoining) {
+      isJoining = true;
+      server.joinMatch(matchId, this);
+    }
+  }
+
+  @Override
+  public void onFormation(final byte[] formation) {
+    if (hold(new Runnable() {
+      @Override
+      public void run() {
+        onFormation(formation);
+      }
+    })) return;
+
+    if (matchId != null)
+      server.submitFormation(matchId, alliance, formation);
+    else
+      onFormationRejected();
+  }
+
+  @Override
+  public void onArrange(final byte[] formation) {
+    if (hold(new Runnable() {
+      @Override
+      public void run() {
+        onArrange(formation);
+      }
+    })) return;
+
+    if (matchId != null)
+      server.arrangeFormation(matchId, alliance, formation);
+  }
+
+  @Override
+  public void onResume(String sessionToken, int lastTurnId) {
+    if (matchId == null && !isJoining) {
+      isJoining = true;
+      server.resumeMatch(sessionToken, lastTurnId, this);
+    }
+  }
+
+  @Override
+  public void onMove(final int turnId, final int srcTileId, final int tgtTileId) {
+    if (hold(new Runnable() {
+      @Override
+      public void run() {
+        onMove(turnId, srcTileId, tgtTileId);
+      }
+    })) return;
+
+    if (matchId != null)
+      server.makeMove(matchId, alliance, turnId, srcTileId, tgtTileId);
+    else
+      onMoveRejected(turnId, "No match joined");
+  }
+
+  @Override
+  public void onLeave() {
+    if (hold(new Runnable() {
+      @Override
+      public void run() {
+        onLeave();
+      }
+    })) return;
+
+    final String leftMatchId = takeMatchId();
+    if (leftMatchId != null)
+      server.leave(leftMatchId, alliance, this);
+  }
+
+  @Override
+  public void onJoined(ServerMatch match, Alliance alliance) {
+    this.alliance = alliance;
+    this.matchId = match.getMatchId();
+
+    // Closed while joining, the seat is kept as if dropped right after
+    if (isClosed) {
+      releaseHeldRequests(false);
+      close();
+      return;
+    }
+
+    final ByteBuffer buf = allocate();
+    GameCodec.writeJoined(buf, match.getMatchId(), alliance, match.getSessionToken(alliance));
+    send(buf);
+    releaseHeldRequests(true);
+  }
+
+  @Override
+  public void onResumed(ServerMatch match, Alliance alliance) {
+    this.alliance = alliance;
+    this.matchId = match.getMatchId();
+
+    if (isClosed) {
+      releaseHeldRequests(false);
+      close();
+      return;
+    }
+
+    releaseHeldRequests(true);
+  }
+
+  @Override
+  public void onArrangement(byte[] formation) {
+    final ByteBuffer buf = allocate();
+    GameCodec.writeArrangement(buf, formation);
+    send(buf);
+  }
+
+  @Override
+  public void onResumeRejected() {
+    releaseHeldRequests(true);
+    final ByteBuffer buf = allocate();
+    GameCodec.writeResumeRejected(buf);
+    send(buf);
+  }
+
+  @Override
+  public void onSessionTaken() {
+    matchId = null;
+  }
+
+  @Override
+  public void onJoinRejected(String matchId) {
+    releaseHeldRequests(true);
+    final ByteBuffer buf = allocate();
+    GameCodec.writeJoinRejected(buf, matchId);
+    send(buf);
+  }
+
+  @Override
+  public void onFormationRejected() {
+    final ByteBuffer buf = allocate();
+    GameCodec.writeFormationRejected(buf);
+    send(buf);
+  }
+
+  @Override
+  public void onMatchStarted(Alliance firstMoveMaker, byte[] formation, long enemyOccupancy) {
+    final ByteBuffer buf = allocate();
+    GameCodec.writeMatchStarted(buf, firstMoveMaker, formation, enemyOccupancy);
+    send(buf);
+  }
+
+  @Override
+  public void onMoveMade(int turnId, int srcTileId, int tgtTileId, MoveType moveType) {
+    final ByteBuffer buf = allocate();
+    GameCodec.writeMoveMade(buf, turnId, srcTileId, tgtTileId, moveType);
+    send(buf);
+  }
+
+  @Override
+  public void onMoveRejected(int turnId, String reason) {
+    // Reasons are for the server log only, the client just retries its turn
+    final ByteBuffer buf = allocate();
+    GameCodec.writeMoveRejected(buf, turnId);
+    send(buf);
+  }
+
+  @Override
+  public void onGameOver(Alliance winner) {
+    matchId = null;
+    final ByteBuffer buf = allocate();
+    GameCodec.writeGameOver(buf, winner);
+    send(buf);
+  }
+
+  /**
+   * Holds a match request while a join or resume is in progress.
+   * @param request handles the request again once it has completed.
+   * @return boolean true if held, false to handle it right away.
+   */
+  private boolean hold(Runnable request) {
+    synchronized (heldRequests) {
+      if (!isJoining || heldRequests.size() >= MAX_HELD_REQUESTS)
+        return false;
+
+      heldRequests.add(request);
+      return true;
+    }
+  }
+
+  /**
+   * Ends the join or resume in progress and handles the held requests, in
+   * order and before any request received afterwards.
+   * @param isHandled false to drop them, e.g. once closed.
+   */
+  private void releaseHeldRequests(boolean isHandled) {
+    synchronized (heldRequests) {
+      isJoining = false;
+      Runnable request;
+      while ((request = heldRequests.poll()) != null)
+        if (isHandled)
+          request.run();
+    }
+  }
+
+  /**
+   * Unbinds the joined match, once only even if closed and left at once.
+   * @return String id of the joined match, null if none.
+   */
+  private synchronized String takeMatchId() {
+    final String takenMatchId = matchId;
+    matchId = null;
+    return takenMatchId;
+  }
+
+  private ByteBuffer allocate() {
+    return ByteBuffer.allocate(GameCodec.MAX_MESSAGE_SIZE);
+  }
+
+  private void send(ByteBuffer buf) {
+    buf.flip();
+    sink.send(buf);
+  }
+
+  public String getMatchId()    { return this.matchId; }
+  public Alliance getAlliance() { return this.alliance; }
+}
@@ -0,0 +1,334 @@
+package com.markl.game.server;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.util.Log;
+
+/**
+ * Hosts any amount of concurrent {@link ServerMatch}es, i.e. rooms, in a
+ * registry keyed by match id.
+ *
+ * Matches are sharded by match id across a fixed pool of event loops, each a
+ * single thread running the tasks of its matches one at a time. A match is
+ * thus only ever touched by its own event loop and needs no locking, while
+ * the amount of threads stays fixed regardless of the amount of matches.
+ *
+ * All methods may be called from any thread, e.g. network threads. Results
+ * are told through the {@link PlayerChannel} of the player.
+ *
+ * A player whose connection drops keeps its seat for
+ * {@link #DEFAULT_DISCONNECT_TIMEOUT_MILLIS}, within which it may resume the
+ * match with its session token, else it forfeits. Concluded matches are kept
+ * for {@link #DEFAULT_RETENTION_MILLIS}, for late resumes to learn the result,
+ * then removed from the registry.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class GameServer {
+
+  public static final long DEFAULT_DISCONNECT_TIMEOUT_MILLIS = 60000;
+  public static final long DEFAULT_RETENTION_MILLIS = 60000;
+
+  private static final int MATCH_ID_LENGTH = 12;
+  private static final String MATCH_ID_CHARS = "abcdefghijkmnpqrstuvwxyz23456789"; // No look alike characters
+
+  private final ConcurrentHashMap<String, ServerMatch> matches = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService[] eventLoops;
+  private final long disconnectTimeoutMillis;
+  private final long retentionMillis;
+  private final Random random = new SecureRandom();
+  private final Object lobbyLock = new Object(); // Pairs one waiting player at a time
+  private String openMatchId;                    // Match of the waiting player, null if none
+
+  /**
+   * Task on a single match, run on the event loop of the match.
+   */
+  private abstract class MatchTask implements Runnable {
+
+    private final String matchId;
+
+    private MatchTask(String matchId) {
+      this.matchId = matchId;
+    }
+
+    abstract void run(ServerMatch match);
+
+    /** Called instead of {@link #run(ServerMatch)} if the match is gone */
+    void onMissing() {}
+
+    @Override
+    public void run() {
+      final ServerMatch match = matches.get(matchId);
+      try {
+        if (match != null)
+          run(match);
+        else
+          onMissing();
+      } catch (RuntimeException e) {
+        // Keep the event loop serving the other matches
+        Log.error(GameServer.class.getName(), "Match " + matchId + " task failed", e);
+      }
+
+      if (match != null && match.getState() == ServerMatch.State.GAME_OVER)
+        scheduleRemoval(match);
+    }
+  }
+
+  /**
+   * Creates a server with an event loop per available processor.
+   */
+  public GameServer() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a server.
+   * @param eventLoopCount amount of event loop threads.
+   */
+  public GameServer(int eventLoopCount) {
+    this(eventLoopCount, DEFAULT_DISCONNECT_TIMEOUT_MILLIS, DEFAULT_RETENTION_MILLIS);
+  }
+
+  /**
+   * Creates a server.
+   * @param eventLoopCount          amount of event loop threads.
+   * @param disconnectTimeoutMillis time a disconnected player has to resume its match.
+   * @param retentionMillis         time a concluded match is kept.
+   */
+  public GameServer(int eventLoopCount, long disconnectTimeoutMillis, long retentionMillis) {
+    this.disconnectTimeoutMillis = disconnectTimeoutMillis;
+    this.retentionMillis = retentionMillis;
+    this.eventLoops = new ScheduledExecutorService[Math.max(1, eventLoopCount)];
+    for (int i = 0; i < eventLoops.length; i++) {
+      final String name = "GameServer-loop-" + i;
+      eventLoops[i] = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          final Thread thread = new Thread(runnable, name);
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+  }
+
+  /**
+   * Creates a new match waiting for players.
+   * @return String id of the new match.
+   */
+  public String createMatch() {
+    while (true) {
+      final ServerMatch match = new ServerMatch(createMatchId(), random);
+      if (matches.putIfAbsent(match.getMatchId(), match) == null)
+        return match.getMatchId();
+    }
+  }
+
+  /**
+   * Joins a player into the match of the given id, e.g. one shared with a
+   * friend.
+   * @param matchId id of the match.
+   * @param channel events of the joining player.
+   */
+  public void joinMatch(final String matchId, final PlayerChannel channel) {
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        if (match.join(channel) == null)
+          channel.onJoinRejected(matchId);
+      }
+
+      @Override
+      void onMissing() {
+        channel.onJoinRejected(matchId);
+      }
+    });
+  }
+
+  /**
+   * Pairs a player with the waiting player, else creates a match for it to
+   * wait in.
+   * @param channel events of the joining player.
+   */
+  public void joinAnyMatch(final PlayerChannel channel) {
+    final String matchId;
+    synchronized (lobbyLock) {
+      if (openMatchId == null) {
+        openMatchId = createMatch();
+        matchId = openMatchId;
+      } else {
+        matchId = openMatchId;
+        openMatchId = null;
+      }
+    }
+
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        // The waiting player left in the meantime
+        if (match.join(channel) == null)
+          joinAnyMatch(channel);
+      }
+
+      @Override
+      void onMissing() {
+        joinAnyMatch(channel);
+      }
+    });
+  }
+
+  /**
+   * Submits the formation of a player, see {@link ServerMatch#submitFormation}.
+   */
+  public void submitFormation(final String matchId, final Alliance alliance, final byte[] formation) {
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        match.submitFormation(alliance, formation);
+      }
+    });
+  }
+
+  /**
+   * Updates the formation a player is arranging, see
+   * {@link ServerMatch#arrangeFormation}.
+   */
+  public void arrangeFormation(final String matchId, final Alliance alliance, final byte[] formation) {
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        match.arrangeFormation(alliance, formation);
+      }
+    });
+  }
+
+  /**
+   * Makes a move of a player, see {@link ServerMatch#makeMove}.
+   */
+  public void makeMove(final String matchId, final Alliance alliance, final int turnId,
+      final int srcTileId, final int tgtTileId)
+  {
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        match.makeMove(alliance, turnId, srcTileId, tgtTileId);
+      }
+    });
+  }
+
+  /**
+   * Removes a player from its match, see {@link ServerMatch#leave}.
+   */
+  public void leave(final String matchId, final Alliance alliance, final PlayerChannel channel) {
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        match.leave(alliance, channel);
+      }
+    });
+  }
+
+  /**
+   * Keeps the seat of a player whose connection dropped, see
+   * {@link ServerMatch#disconnect}. The player forfeits unless it resumes
+   * within the disconnect timeout.
+   */
+  public void disconnect(final String matchId, final Alliance alliance, final PlayerChannel channel) {
+    execute(new MatchTask(matchId) {
+      @Override
+      void run(ServerMatch match) {
+        final int disconnection = match.disconnect(alliance, channel);
+        if (disconnection < 0)
+          return;
+
+        getEventLoop(matchId).schedule(new MatchTask(matchId) {
+          @Override
+          void run(ServerMatch match) {
+            match.expireDisconnection(alliance, disconnection);
+          }
+        }, disconnectTimeoutMillis, TimeUnit.MILLISECONDS);
+      }
+    });
+  }
+
+  /**
+   * Resumes the match of a session after a disconnection, see
+   * {@link ServerMatch#resume}.
+   * @param sessionToken session token given to the player on joining.
+   * @param lastTurnId   turn id of the last move the player received, 0 if none.
+   * @param channel      events of the player on its new connection.
+   */
+  public void resumeMatch(final String sessionToken, final int lastTurnId, final PlayerChannel channel) {
+    final int separator = sessionToken.indexOf(ServerMatch.SESSION_TOKEN_SEPARATOR);
+    if (separator <= 0) {
+      channel.onResumeRejected();
+      return;
+    }
+
+    execute(new MatchTask(sessionToken.substring(0, separator)) {
+      @Override
+      void run(ServerMatch match) {
+        if (match.resume(sessionToken, channel, lastTurnId) == null)
+          channel.onResumeRejected();
+      }
+
+      @Override
+      void onMissing() {
+        channel.onResumeRejected();
+      }
+    });
+  }
+
+  public int getMatchCount() {
+    return matches.size();
+  }
+
+  public int getEventLoopCount() {
+    return eventLoops.length;
+  }
+
+  /**
+   * Stops the event loops. Pending tasks are dropped.
+   */
+  public void shutdown() {
+    for (ScheduledExecutorService eventLoop : eventLoops)
+      eventLoop.shutdownNow();
+  }
+
+  private void execute(MatchTask task) {
+    getEventLoop(task.matchId).execute(task);
+  }
+
+  /**
+   * Removes a concluded match once its retention time is over. Called on the
+   * event loop of the match.
+   */
+  private void scheduleRemoval(final ServerMatch match) {
+    getEventLoop(match.getMatchId()).schedule(new Runnable() {
+      @Override
+      public void run() {
+        matches.remove(match.getMatchId(), match);
+      }
+    }, retentionMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private ScheduledExecutorService getEventLoop(String matchId) {
+    return eventLoops[Math.floorMod(matchId.hashCode(), eventLoops.length)];
+  }
+
+  private String createMatchId() {
+    final char[] id = new char[MATCH_ID_LENGTH];
+    for (int i = 0; i < id.length; i++)
+      id[i] = MATCH_ID_CHARS.charAt(random.nextInt(MATCH_ID_CHARS.length()));
+
+    return new String(id);
+  }
+}
@@ -0,0 +1,96 @@
+package com.markl.game.server;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Move.MoveType;
+
+/**
+ * Outbound events of a {@link ServerMatch} to one of its players, implemented
+ * by the network connection of the player.
+ *
+ * Events carry no rank of the opponent pieces. Engagements are only told by
+ * their outcome, as the arbiter does in the physical game.
+ *
+ * Events are raised on the event loop thread of the match, which serves many
+ * other matches, thus implementations must not block, e.g. queue the encoded
+ * event for sending instead of writing it.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public interface PlayerChannel {
+
+  /**
+   * The player joined a match and may submit its formation.
+   * @param match    joined match, giving the session token of the player.
+   * @param alliance Alliance of the player.
+   */
+  void onJoined(ServerMatch match, Alliance alliance);
+
+  /**
+   * The player resumed its match after a disconnection. The missed events
+   * follow.
+   * @param match    resumed match.
+   * @param alliance Alliance of the player.
+   */
+  void onResumed(ServerMatch match, Alliance alliance);
+
+  /**
+   * The resumed player had not submitted its formation yet, and arranged it
+   * as given before the disconnection.
+   * @param formation rank codes of the player pieces, by territory index.
+   */
+  void onArrangement(byte[] formation);
+
+  /**
+   * The session to resume is unknown or its match has been removed.
+   */
+  void onResumeRejected();
+
+  /**
+   * The session of the player has been resumed on another channel, e.g. a
+   * new connection while the dropped one was not noticed yet. No further
+   * events are raised on this channel.
+   */
+  void onSessionTaken();
+
+  /**
+   * The match to join does not exist, is full or has concluded.
+   * @param matchId id of the match.
+   */
+  void onJoinRejected(String matchId);
+
+  /**
+   * The submitted formation is illegal, or one has already been submitted.
+   */
+  void onFormationRejected();
+
+  /**
+   * Both formations have been submitted and the game started.
+   * @param firstMoveMaker  Alliance making the first move.
+   * @param formation       rank codes of the player pieces, by territory index.
+   * @param enemyOccupancy  bit i set if the enemy occupies its territory index i.
+   */
+  void onMatchStarted(Alliance firstMoveMaker, byte[] formation, long enemyOccupancy);
+
+  /**
+   * A move of either player has been made.
+   * @param turnId    turn id of the move.
+   * @param srcTileId source Tile id.
+   * @param tgtTileId target Tile id.
+   * @param moveType  engagement result arbitrated by the server.
+   */
+  void onMoveMade(int turnId, int srcTileId, int tgtTileId, MoveType moveType);
+
+  /**
+   * A move of this player has been refused and the turn is still its own.
+   * @param turnId turn id the move was sent for.
+   * @param reason readable reason.
+   */
+  void onMoveRejected(int turnId, String reason);
+
+  /**
+   * The match has concluded.
+   * @param winner Alliance of the winner, null if abandoned before it started.
+   */
+  void onGameOver(Alliance winner);
+}
@@ -0,0 +1,419 @@
+package com.markl.game.server;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move;
+import com.markl.game.engine.board.Move.MoveType;
+import com.markl.game.engine.board.MoveGenerator;
+import com.markl.game.engine.board.PackedMove;
+
+/**
+ * Authoritative state of a single online match, i.e. a room of the
+ * {@link GameServer}.
+ *
+ * Both players submit their formation to the server, which alone knows the
+ * ranks of every piece. Moves are evaluated with the engine {@link Move} rules
+ * on the server, and only their outcome is told to the players. Clients thus
+ * neither receive the opponent ranks nor decide engagements themselves.
+ *
+ * Formations are rank codes by territory index, see
+ * {@link FormationBook#getTileId(Alliance, int)}. While arranging, a player
+ * sends its formation on every relocation as an ARRANGE request, which the
+ * match keeps for the player to get back on resuming. The player then
+ * submits its final formation with a FORMATION request, which drops the kept
+ * arrangement. There is no separate request committing the kept one.
+ *
+ * The position is held in a {@link CompactBoard} without undo history, so that
+ * an idle match takes well below a kilobyte. The made moves are logged as
+ * {@link PackedMove}s, 4 bytes each, to replay those a player missed while
+ * disconnected. A match is confined to the event loop thread of its shard,
+ * thus it is not synchronized.
+ *
+ * Every player is given a session token on joining. A disconnected player
+ * keeps its seat and may resume the match with it, see
+ * {@link #resume(String, PlayerChannel, int)}.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class ServerMatch {
+
+  public enum State { WAITING, ARRANGING, PLAYING, GAME_OVER }
+
+  public static final char SESSION_TOKEN_SEPARATOR = '.';
+
+  private static final int SESSION_TOKEN_LENGTH = 16; // Random characters after the match id
+  private static final String SESSION_TOKEN_CHARS =
+    "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+  private final String matchId;
+  private final Random random;
+  private final CompactBoard board = new CompactBoard(1);        // Moves are never unmade
+  private final PlayerChannel[] channels = new PlayerChannel[2]; // By player index, WHITE first
+  private final byte[][] formations = new byte[2][];             // Submitted formations by player index
+  private final byte[][] arrangements = new byte[2][];           // Formations being arranged by player index
+  private final String[] sessionTokens = new String[2];          // By player index
+  private final int[] disconnections = new int[2];               // Amount of disconnections by player index
+  private int[] moveLog = new int[0];                            // Made moves, of turn id index + 1
+  private State state = State.WAITING;
+  private Alliance firstMoveMaker;
+  private Alliance currTurnMaker;
+  private Alliance winner;
+  private int currTurnId;
+
+  public ServerMatch(String matchId, Random random) {
+    this.matchId = matchId;
+    this.random = random;
+  }
+
+  /**
+   * Adds a player to the match. The first player plays WHITE, the second BLACK.
+   * @param channel events of the joining player.
+   * @return Alliance of the player, null if the match is full or concluded.
+   */
+  public Alliance join(PlayerChannel channel) {
+    if (state != State.WAITING)
+      return null;
+
+    final Alliance alliance = channels[0] == null ? Alliance.WHITE : Alliance.BLACK;
+    channels[getIndex(alliance)] = channel;
+    sessionTokens[getIndex(alliance)] = createSessionToken();
+    if (channels[0] != null && channels[1] != null)
+      state = State.ARRANGING;
+
+    channel.onJoined(this, alliance);
+    return alliance;
+  }
+
+  /**
+   * Submits the formation of a player. Starts the game once both players
+   * have submitted theirs.
+   * @param alliance  Alliance of the player.
+   * @param formation rank codes by territory index, {@link FormationBook#TERRITORY_TILES} long.
+   * @return boolean true if accepted, false if invalid or already submitted.
+   */
+  public boolean submitFormation(Alliance alliance, byte[] formation) {
+    final int index = getIndex(alliance);
+    // Resubmitted by a resumed session, unsure whether the first one arrived
+    if (formations[index] != null && Arrays.equals(formations[index], formation))
+      return true;
+
+    if ((state != State.WAITING && state != State.ARRANGING) || channels[index] == null ||
+        formations[index] != null || !isLegalFormation(formation))
+    {
+      if (channels[index] != null)
+        channels[index].onFormationRejected();
+      return false;
+    }
+
+    formations[index] = formation.clone();
+    arrangements[index] = null;
+    if (state == State.ARRANGING && formations[0] != null && formations[1] != null)
+      startGame();
+
+    return true;
+  }
+
+  /**
+   * Updates the formation a player is still arranging, sent as the player
+   * relocates its pieces. Kept until submitted and told to the player on
+   * resuming, so that the arrangement outlives the connection of the player.
+   * @param alliance  Alliance of the player.
+   * @param formation rank codes by territory index, {@link FormationBook#TERRITORY_TILES} long.
+   * @return boolean true if accepted, false if invalid or already submitted.
+   */
+  public boolean arrangeFormation(Alliance alliance, byte[] formation) {
+    final int index = getIndex(alliance);
+    if ((state != State.WAITING && state != State.ARRANGING) || channels[index] == null ||
+        formations[index] != null || !isLegalFormation(formation))
+    {
+      if (channels[index] != null)
+        channels[index].onFormationRejected();
+      return false;
+    }
+
+    arrangements[index] = formation.clone();
+    return true;
+  }
+
+  /**
+   * Makes a move of a player if it is legal and its turn.
+   * @param alliance  Alliance of the player.
+   * @param turnId    turn id the player made the move in. Guards against
+   *                  moves sent before a previous one has been received.
+   * @param srcTileId source Tile id.
+   * @param tgtTileId target Tile id.
+   * @return MoveType of the made move, MoveType.INVALID if refused.
+   */
+  public MoveType makeMove(Alliance alliance, int turnId, int srcTileId, int tgtTileId) {
+    final PlayerChannel channel = channels[getIndex(alliance)];
+    final String reason = checkMove(alliance, turnId, srcTileId, tgtTileId);
+    final MoveType moveType = reason == null ? evaluate(srcTileId, tgtTileId) : MoveType.INVALID;
+
+    if (moveType == MoveType.INVALID) {
+      if (channel != null)
+        channel.onMoveRejected(turnId, reason != null ? reason : "Illegal move");
+      return MoveType.INVALID;
+    }
+
+    final int move = PackedMove.pack(srcTileId, tgtTileId, moveType.getValue());
+    board.makeMove(move);
+    board.clearUndo();
+    if (currTurnId > moveLog.length)
+      moveLog = Arrays.copyOf(moveLog, Math.max(32, moveLog.length * 2));
+    moveLog[currTurnId - 1] = move;
+    currTurnId++;
+    currTurnMaker = getOpponent(alliance);
+
+    for (PlayerChannel c : channels)
+      if (c != null)
+        c.onMoveMade(turnId, srcTileId, tgtTileId, moveType);
+
+    if (board.isGameOver())
+      endMatch(board.getWinner());
+
+    return moveType;
+  }
+
+  /**
+   * Removes a player from the match. The opponent wins a started match by
+   * forfeit, an unstarted match is abandoned.
+   * @param alliance Alliance of the leaving player.
+   * @param channel  events of the leaving player. Ignored unless still the
+   *                 one of the player, i.e. not replaced by resuming.
+   */
+  public void leave(Alliance alliance, PlayerChannel channel) {
+    final int index = getIndex(alliance);
+    if (channels[index] == null || channels[index] != channel)
+      return;
+
+    channels[index] = null;
+    forfeit(alliance);
+  }
+
+  /**
+   * Keeps the seat of a player whose connection dropped, for it to resume the
+   * match. A player still waiting for an opponent leaves instead.
+   * @param alliance Alliance of the disconnected player.
+   * @param channel  events of the disconnected player, see {@link #leave}.
+   * @return int disconnection to pass to {@link #expireDisconnection}, -1 if
+   *         the player left or was no longer connected.
+   */
+  public int disconnect(Alliance alliance, PlayerChannel channel) {
+    final int index = getIndex(alliance);
+    if (channels[index] == null || channels[index] != channel)
+      return -1;
+
+    if (state == State.WAITING || state == State.GAME_OVER) {
+      leave(alliance, channel);
+      return -1;
+    }
+
+    channels[index] = null;
+    return ++disconnections[index];
+  }
+
+  /**
+   * Forfeits the match of a player that has not resumed since the given
+   * disconnection.
+   */
+  public void expireDisconnection(Alliance alliance, int disconnection) {
+    final int index = getIndex(alliance);
+    if (channels[index] == null && disconnections[index] == disconnection)
+      forfeit(alliance);
+  }
+
+  /**
+   * Resumes the match of a player after a disconnection. Tells the player
+   * only what it missed: its arrangement if it has not submitted its
+   * formation yet, the start of the game if it has not received any move
+   * yet, the moves made after its last received one, then the result if the
+   * match has concluded.
+   * @param sessionToken session token given to the player on joining.
+   * @param channel      events of the player, replacing the previous ones.
+   * @param lastTurnId   turn id of the last move the player received, 0 if none.
+   * @return Alliance of the player, null if the token is not of this match.
+   */
+  public Alliance resume(String sessionToken, PlayerChannel channel, int lastTurnId) {
+    final int index = sessionToken.equals(sessionTokens[0]) ? 0 :
+      sessionToken.equals(sessionTokens[1]) ? 1 : -1;
+    if (index < 0)
+      return null;
+
+    final Alliance alliance = index == 0 ? Alliance.WHITE : Alliance.BLACK;
+    if (channels[index] != null && channels[index] != channel)
+      channels[index].onSessionTaken();
+    channels[index] = channel;
+    disconnections[index]++;
+    channel.onResumed(this, alliance);
+
+    if (firstMoveMaker == null && formations[index] == null && arrangements[index] != null)
+      channel.onArrangement(arrangements[index].clone());
+
+    if (firstMoveMaker != null) {
+      if (lastTurnId <= 0)
+        channel.onMatchStarted(firstMoveMaker, formations[index].clone(), getEnemyOccupancy(alliance));
+
+      for (int turnId = Math.max(1, lastTurnId + 1); turnId < currTurnId; turnId++) {
+        final int move = moveLog[turnId - 1];
+        channel.onMoveMade(turnId, PackedMove.getSrcTileId(move), PackedMove.getTgtTileId(move),
+            PackedMove.getMoveType(move));
+      }
+    }
+
+    if (state == State.GAME_OVER)
+      channel.onGameOver(winner);
+
+    return alliance;
+  }
+
+  private void forfeit(Alliance alliance) {
+    if (state == State.PLAYING)
+      endMatch(getOpponent(alliance));
+    else if (state != State.GAME_OVER)
+      endMatch(null);
+  }
+
+  private void startGame() {
+    for (Alliance alliance : Alliance.values()) {
+      final byte[] formation = formations[getIndex(alliance)];
+      for (int i = 0; i < formation.length; i++)
+        if (formation[i] != BoardUtils.EMPTY_CODE)
+          board.setPiece(FormationBook.getTileId(alliance, i),
+              BoardUtils.encodePiece(formation[i], alliance));
+    }
+
+    firstMoveMaker = random.nextBoolean() ? Alliance.WHITE : Alliance.BLACK;
+    currTurnMaker = firstMoveMaker;
+    currTurnId = 1;
+    state = State.PLAYING;
+
+    for (Alliance alliance : Alliance.values())
+      if (channels[getIndex(alliance)] != null)
+        channels[getIndex(alliance)].onMatchStarted(firstMoveMaker,
+            formations[getIndex(alliance)].clone(), getEnemyOccupancy(alliance));
+  }
+
+  /**
+   * Gets the territory indices occupied by the enemy at the start of the game.
+   * @return long bit i set if the enemy occupies its territory index i.
+   */
+  private long getEnemyOccupancy(Alliance alliance) {
+    final byte[] enemyFormation = formations[getIndex(getOpponent(alliance))];
+    long enemyOccupancy = 0L;
+    for (int i = 0; i < enemyFormation.length; i++)
+      if (enemyFormation[i] != BoardUtils.EMPTY_CODE)
+        enemyOccupancy |= 1L << i;
+
+    return enemyOccupancy;
+  }
+
+  private void endMatch(Alliance winner) {
+    this.winner = winner;
+    state = State.GAME_OVER;
+    for (PlayerChannel channel : channels)
+      if (channel != null)
+        channel.onGameOver(winner);
+  }
+
+  /**
+   * Checks a move against the match state, before evaluating it.
+   * @return String reason of refusal, null if the move may be evaluated.
+   */
+  private String checkMove(Alliance alliance, int turnId, int srcTileId, int tgtTileId) {
+    if (state != State.PLAYING)
+      return "Match not in progress";
+    if (currTurnMaker != alliance)
+      return "Not your turn";
+    if (turnId != currTurnId)
+      return "Stale turn " + turnId + ", current turn is " + currTurnId;
+    if (srcTileId < 0 || srcTileId >= BoardUtils.TOTAL_BOARD_TILES ||
+        tgtTileId < 0 || tgtTileId >= BoardUtils.TOTAL_BOARD_TILES)
+      return "Tile out of bounds";
+    if (!board.isOccupiedBy(srcTileId, alliance))
+      return "No own piece to move";
+
+    return null;
+  }
+
+  /**
+   * Evaluates a move of an own piece as {@link Move#evaluate()} does, on the
+   * compact piece codes.
+   * @return MoveType of the move, MoveType.INVALID if not to an adjacent Tile
+   *         or onto a friendly piece.
+   */
+  private MoveType evaluate(int srcTileId, int tgtTileId) {
+    boolean isAdjacent = false;
+    for (int direction = 0; direction < 4; direction++)
+      if (MoveGenerator.getAdjacentTileId(srcTileId, direction) == tgtTileId)
+        isAdjacent = true;
+
+    if (!isAdjacent)
+      return MoveType.INVALID;
+
+    final int srcPieceCode = board.getCode(srcTileId);
+    final int tgtPieceCode = board.getCode(tgtTileId);
+    if (tgtPieceCode == BoardUtils.EMPTY_CODE)
+      return MoveType.NORMAL;
+    if ((tgtPieceCode & ~BoardUtils.RANK_CODE_MASK) == (srcPieceCode & ~BoardUtils.RANK_CODE_MASK))
+      return MoveType.INVALID;
+
+    return Move.arbitrate(srcPieceCode, tgtPieceCode);
+  }
+
+  /**
+   * Checks that a formation holds exactly the legal amount of every rank.
+   */
+  private static boolean isLegalFormation(byte[] formation) {
+    if (formation == null || formation.length != FormationBook.TERRITORY_TILES)
+      return false;
+
+    final int[] counts = new int[BoardUtils.RANK_CODE_MASK + 1];
+    for (byte rankCode : formation) {
+      if (rankCode < 0 || rankCode > BoardUtils.SPY_CODE)
+        return false;
+      counts[rankCode]++;
+    }
+
+    for (int rankCode = BoardUtils.FLAG_CODE; rankCode <= BoardUtils.SPY_CODE; rankCode++)
+      if (counts[rankCode] != BoardUtils.getRankCodeCount(rankCode))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Creates a session token, the match id followed by random characters, so
+   * that a resumed session is routed to its match without a registry.
+   */
+  private String createSessionToken() {
+    final StringBuilder token = new StringBuilder(matchId).append(SESSION_TOKEN_SEPARATOR);
+    for (int i = 0; i < SESSION_TOKEN_LENGTH; i++)
+      token.append(SESSION_TOKEN_CHARS.charAt(random.nextInt(SESSION_TOKEN_CHARS.length())));
+
+    return token.toString();
+  }
+
+  private static int getIndex(Alliance alliance) {
+    return alliance == Alliance.WHITE ? 0 : 1;
+  }
+
+  private static Alliance getOpponent(Alliance alliance) {
+    return alliance == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+  }
+
+  public String getSessionToken(Alliance alliance) {
+    return this.sessionTokens[getIndex(alliance)];
+  }
+
+  public String getMatchId()         { return this.matchId; }
+  public State getState()            { return this.state; }
+  public Alliance getWinner()        { return this.winner; }
+  public int getCurrTurn()           { return this.currTurnId; }
+  public Alliance getCurrTurnMaker() { return this.currTurnMaker; }
+}
@@ -0,0 +1,314 @@
+package com.markl.game.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.markl.game.network.WebSocketFrames;
+import com.markl.game.util.Log;
+
+/**
+ * Accepts WebSocket connections of game clients and binds each to a
+ * {@link ClientSession} of the {@link GameServer}.
+ *
+ * All sockets are served by a single non blocking selector thread, which only
+ * moves bytes. Requests are handed over to the event loops of the GameServer,
+ * whose events are queued per connection and written by the selector thread.
+ *
+ * The outbound queue of every connection is bounded. A client not reading its
+ * events fast enough to keep its queue below {@link #QUEUE_CAPACITY} is
+ * disconnected, instead of letting its events pile up in server memory.
+ *
+ * Run with: ./gradlew :gameserver:run -Pport=8080
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public class WebSocketServer implements Runnable {
+
+  public static final int DEFAULT_PORT = 8080;
+  public static final int QUEUE_CAPACITY = 64; // Max amount of unsent events per connection
+
+  private static final int BUFFER_SIZE = 1024; // Per connection read and write buffer size, caps the handshake
+
+  private final GameServer server;
+  private final int port;
+  private final ConcurrentLinkedQueue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+  private Selector selector;
+  private ServerSocketChannel serverChannel;
+  private Thread thread;
+  private volatile boolean isRunning;
+
+  /**
+   * Single client connection, registered on the selector.
+   */
+  private class Connection implements ClientSession.MessageSink, WebSocketFrames.FrameHandler {
+
+    private final SocketChannel channel;
+    private final ClientSession session;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE); // In fill mode
+    private final ArrayDeque<ByteBuffer> outbound = new ArrayDeque<>();      // Guarded by itself
+    private SelectionKey key;
+    private boolean isHandshaken;
+    private boolean isClosing;             // Close frame written, closed once flushed
+    private volatile boolean isOverflowed; // Outbound queue ran full
+
+    private Connection(SocketChannel channel) {
+      this.channel = channel;
+      this.session = new ClientSession(server, this);
+    }
+
+    /**
+     * Queues an event of the match of the client. Called on a GameServer
+     * event loop.
+     */
+    @Override
+    public void send(ByteBuffer message) {
+      synchronized (outbound) {
+        if (outbound.size() >= QUEUE_CAPACITY)
+          isOverflowed = true;
+        else
+          outbound.add(message);
+      }
+
+      pendingWrites.add(this);
+      selector.wakeup();
+    }
+
+    @Override
+    public void onFrame(int opcode, ByteBuffer payload) {
+      switch (opcode) {
+        case WebSocketFrames.OP_BINARY:
+          session.receive(payload);
+          break;
+
+        case WebSocketFrames.OP_PING:
+          if (writeBuffer.remaining() >= WebSocketFrames.MAX_FRAME_SIZE)
+            WebSocketFrames.writeFrame(writeBuffer, WebSocketFrames.OP_PONG, payload, null);
+          break;
+
+        case WebSocketFrames.OP_CLOSE:
+          writeClose();
+          break;
+
+        case WebSocketFrames.OP_PONG:
+          break;
+
+        default:
+          throw new IllegalArgumentException("Unsupported opcode " + opcode);
+      }
+    }
+
+    private void read() throws IOException {
+      if (channel.read(readBuffer) < 0) {
+        close();
+        return;
+      }
+
+      readBuffer.flip();
+      try {
+        if (!isHandshaken)
+          handshake();
+        while (isHandshaken && !isClosing && WebSocketFrames.readFrame(readBuffer, true, this));
+      } finally {
+        readBuffer.compact();
+      }
+    }
+
+    /**
+     * Answers the opening handshake of the client once wholly received.
+     */
+    private void handshake() {
+      final int end = WebSocketFrames.findHandshakeEnd(readBuffer);
+      if (end < 0)
+        return;
+
+      final byte[] request = new byte[end - readBuffer.position()];
+      readBuffer.get(request);
+      final String headers = new String(request, WebSocketFrames.ASCII);
+      final String clientKey = WebSocketFrames.getHeader(headers, "Sec-WebSocket-Key");
+      final String upgrade = WebSocketFrames.getHeader(headers, "Upgrade");
+      if (clientKey == null || upgrade == null || !upgrade.equalsIgnoreCase("websocket"))
+        throw new IllegalArgumentException("Not a WebSocket handshake");
+
+      writeBuffer.put(("HTTP/1.1 101 Switching Protocols\r\n" +
+            "Upgrade: websocket\r\n" +
+            "Connection: Upgrade\r\n" +
+            "Sec-WebSocket-Accept: " + WebSocketFrames.getAcceptKey(clientKey) + "\r\n" +
+            "\r\n").getBytes(WebSocketFrames.ASCII));
+      isHandshaken = true;
+    }
+
+    /**
+     * Frames the queued events into the write buffer and writes as much as
+     * the socket takes.
+     */
+    private void flush() throws IOException {
+      if (isOverflowed) {
+        Log.log(WebSocketServer.class.getName(),
+            "Disconnecting slow client " + channel.socket().getRemoteSocketAddress());
+        close();
+        return;
+      }
+
+      if (isHandshaken && !isClosing) {
+        synchronized (outbound) {
+          while (!outbound.isEmpty() && writeBuffer.remaining() >= WebSocketFrames.MAX_FRAME_SIZE)
+            WebSocketFrames.writeFrame(writeBuffer, WebSocketFrames.OP_BINARY, outbound.poll(), null);
+        }
+      }
+
+      writeBuffer.flip();
+      channel.write(writeBuffer);
+      writeBuffer.compact();
+
+      if (isClosing && writeBuffer.position() == 0) {
+        close();
+        return;
+      }
+
+      final boolean hasPending;
+      synchronized (outbound) {
+        hasPending = !outbound.isEmpty();
+      }
+      key.interestOps(SelectionKey.OP_READ |
+          (writeBuffer.position() > 0 || hasPending ? SelectionKey.OP_WRITE : 0));
+    }
+
+    private void writeClose() {
+      if (!isClosing && writeBuffer.remaining() >= WebSocketFrames.MAX_FRAME_SIZE)
+        WebSocketFrames.writeFrame(writeBuffer, WebSocketFrames.OP_CLOSE, ByteBuffer.allocate(0), null);
+      isClosing = true;
+    }
+
+    private void close() {
+      if (!channel.isOpen())
+        return;
+
+      session.close();
+      key.cancel();
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Closing anyway
+      }
+    }
+  }
+
+  /**
+   * @param server GameServer hosting the matches.
+   * @param port   TCP port to listen on, 0 for any free port.
+   */
+  public WebSocketServer(GameServer server, int port) {
+    this.server = server;
+    this.port = port;
+  }
+
+  /**
+   * Binds the port and starts serving on a new thread.
+   * @throws IOException if the port cannot be bound.
+   */
+  public void start() throws IOException {
+    selector = Selector.open();
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.configureBlocking(false);
+    serverChannel.socket().bind(new InetSocketAddress(port));
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+    isRunning = true;
+    thread = new Thread(this, "WebSocketServer");
+    thread.start();
+  }
+
+  /**
+   * Stops serving and closes all connections.
+   */
+  public void stop() {
+    isRunning = false;
+    selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (isRunning) {
+        selector.select();
+
+        Connection pending;
+        while ((pending = pendingWrites.poll()) != null)
+          if (pending.channel.isOpen())
+            handle(pending, SelectionKey.OP_WRITE);
+
+        final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          final SelectionKey key = keys.next();
+          keys.remove();
+
+          if (!key.isValid())
+            continue;
+          if (key.isAcceptable())
+            accept();
+          else
+            handle((Connection) key.attachment(), key.readyOps());
+        }
+      }
+    } catch (IOException e) {
+      Log.error(WebSocketServer.class.getName(), "Selector failed", e);
+    } finally {
+      for (SelectionKey key : selector.keys())
+        if (key.attachment() instanceof Connection)
+          ((Connection) key.attachment()).close();
+      try {
+        serverChannel.close();
+        selector.close();
+      } catch (IOException e) {
+        // Shutting down anyway
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    final SocketChannel channel = serverChannel.accept();
+    if (channel == null)
+      return;
+
+    channel.configureBlocking(false);
+    channel.socket().setTcpNoDelay(true);
+    final Connection connection = new Connection(channel);
+    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+  }
+
+  private void handle(Connection connection, int readyOps) {
+    try {
+      if ((readyOps & SelectionKey.OP_READ) != 0)
+        connection.read();
+      if (connection.channel.isOpen())
+        connection.flush();
+    } catch (IOException | IllegalArgumentException e) {
+      // Dropped connection or protocol error, the session leaves its match
+      connection.close();
+    }
+  }
+
+  /**
+   * @return int bound port, e.g. the chosen one if created with port 0.
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  public static void main(String[] args) throws IOException {
+    final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    final WebSocketServer webSocketServer = new WebSocketServer(new GameServer(), port);
+    webSocketServer.start();
+    Log.log(WebSocketServer.class.getName(), "Listening on port " + webSocketServer.getPort());
+  }
+}
@@ -0,0 +1,331 @@
+package com.markl.game.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move.MoveType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a {@link ServerMatch} accepts only legal formations and moves
+ * made in turn, and that a resumed player is told exactly what it missed.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+class ServerMatchTest {
+
+  private static final int MOVER_INDEX = 20; // Territory index of a piece free to advance a row
+
+  private ServerMatch match;
+  private Channel white;
+  private Channel black;
+
+  /**
+   * Records the events of a player as text.
+   */
+  private static class Channel implements PlayerChannel {
+    private final List<String> events = new ArrayList<String>();
+
+    @Override public void onResumeRejected()              { events.add("resumeRejected"); }
+    @Override public void onArrangement(byte[] formation) { events.add("arrangement " + formation[0]); }
+    @Override public void onSessionTaken()                { events.add("sessionTaken"); }
+    @Override public void onJoinRejected(String matchId)  { events.add("joinRejected " + matchId); }
+    @Override public void onFormationRejected()           { events.add("formationRejected"); }
+    @Override public void onGameOver(Alliance winner)     { events.add("gameOver " + winner); }
+
+    @Override
+    public void onJoined(ServerMatch match, Alliance alliance) {
+      events.add("joined " + alliance);
+    }
+
+    @Override
+    public void onResumed(ServerMatch match, Alliance alliance) {
+      events.add("resumed " + alliance);
+    }
+
+    @Override
+    public void onMatchStarted(Alliance firstMoveMaker, byte[] formation, long enemyOccupancy) {
+      events.add("matchStarted " + firstMoveMaker + " " + Long.toHexString(enemyOccupancy));
+    }
+
+    @Override
+    public void onMoveMade(int turnId, int srcTileId, int tgtTileId, MoveType moveType) {
+      events.add("moveMade " + turnId + " " + srcTileId + " " + tgtTileId + " " + moveType);
+    }
+
+    @Override
+    public void onMoveRejected(int turnId, String reason) {
+      events.add("moveRejected " + turnId + " " + reason);
+    }
+
+    private List<String> take() {
+      final List<String> taken = new ArrayList<String>(events);
+      events.clear();
+      return taken;
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    match = new ServerMatch("m1", new Random(7));
+    white = new Channel();
+    black = new Channel();
+    assertEquals(Alliance.WHITE, match.join(white));
+    assertEquals(Alliance.BLACK, match.join(black));
+    assertNull(match.join(new Channel()));
+    assertEquals(ServerMatch.State.ARRANGING, match.getState());
+    white.take();
+    black.take();
+  }
+
+  @Test
+  @DisplayName("Test ServerMatch.join() and ServerMatch.leave()")
+  void joinTest() {
+    final String whiteToken = match.getSessionToken(Alliance.WHITE);
+    final String blackToken = match.getSessionToken(Alliance.BLACK);
+    assertTrue(whiteToken.startsWith("m1" + ServerMatch.SESSION_TOKEN_SEPARATOR), whiteToken);
+    assertFalse(whiteToken.equals(blackToken));
+
+    // Only the seated channel may make the player leave
+    match.leave(Alliance.WHITE, black);
+    assertEquals(ServerMatch.State.ARRANGING, match.getState());
+
+    // Leaving before the game started abandons the match, closed to joining
+    match.leave(Alliance.WHITE, white);
+    assertEquals(ServerMatch.State.GAME_OVER, match.getState());
+    assertNull(match.getWinner());
+    assertTrue(white.take().isEmpty());
+    assertEquals(Arrays.asList("gameOver null"), black.take());
+    assertNull(match.join(new Channel()));
+  }
+
+  @Test
+  @DisplayName("Test ServerMatch.submitFormation()")
+  void formationTest() {
+    final byte[] formation = createFormation();
+
+    // Missing piece, extra piece, unknown rank and wrong size
+    final byte[] missing = formation.clone();
+    missing[0] = BoardUtils.EMPTY_CODE;
+    final byte[] extra = formation.clone();
+    extra[35] = BoardUtils.PRIVATE_CODE;
+    final byte[] unknown = formation.clone();
+    unknown[0] = BoardUtils.SPY_CODE + 1;
+    for (byte[] illegal : new byte[][] { missing, extra, unknown, Arrays.copyOf(formation, 35), null }) {
+      assertFalse(match.submitFormation(Alliance.WHITE, illegal));
+      assertFalse(match.arrangeFormation(Alliance.WHITE, illegal));
+    }
+    assertEquals(10, white.take().size());
+
+    assertTrue(match.arrangeFormation(Alliance.WHITE, formation));
+
+    assertTrue(match.submitFormation(Alliance.WHITE, formation));
+    // Identical resubmission of a resumed session is accepted, a different one is not
+    assertTrue(match.submitFormation(Alliance.WHITE, formation));
+    final byte[] swapped = formation.clone();
+    swapped[0] = formation[MOVER_INDEX];
+    swapped[MOVER_INDEX] = formation[0];
+    assertFalse(match.submitFormation(Alliance.WHITE, swapped));
+    assertFalse(match.arrangeFormation(Alliance.WHITE, formation));
+    assertEquals(Arrays.asList("formationRejected", "formationRejected"), white.take());
+    assertEquals(ServerMatch.State.ARRANGING, match.getState());
+
+    // The game starts once both are in, each player told only the enemy occupancy
+    assertTrue(match.submitFormation(Alliance.BLACK, swapped));
+    assertEquals(ServerMatch.State.PLAYING, match.getState());
+    final String started = "matchStarted " + match.getCurrTurnMaker() + " 1fffff";
+    assertEquals(Arrays.asList(started), white.take());
+    assertEquals(Arrays.asList(started), black.take());
+    assertEquals(1, match.getCurrTurn());
+  }
+
+  @Test
+  @DisplayName("Test ServerMatch.makeMove() refusing moves")
+  void refusedMovesTest() {
+    assertEquals(MoveType.INVALID, match.makeMove(Alliance.WHITE, 1, 51, 42));
+    assertEquals("moveRejected 1 Match not in progress", white.take().get(0));
+
+    startGame();
+    white.take();
+    black.take();
+    final Alliance mover = match.getCurrTurnMaker();
+    final Alliance waiter = getOpponent(mover);
+    final Channel moverChannel = getChannel(mover);
+    final Channel waiterChannel = getChannel(waiter);
+    final int srcTileId = FormationBook.getTileId(mover, MOVER_INDEX);
+    final int tgtTileId = getAdvancedTileId(mover, srcTileId);
+
+    // Out of turn
+    final int waiterTileId = FormationBook.getTileId(waiter, MOVER_INDEX);
+    assertEquals(MoveType.INVALID,
+        match.makeMove(waiter, 1, waiterTileId, getAdvancedTileId(waiter, waiterTileId)));
+    assertEquals(Arrays.asList("moveRejected 1 Not your turn"), waiterChannel.take());
+
+    // Stale or future turn
+    assertEquals(MoveType.INVALID, match.makeMove(mover, 0, srcTileId, tgtTileId));
+    assertEquals(MoveType.INVALID, match.makeMove(mover, 2, srcTileId, tgtTileId));
+    assertEquals(Arrays.asList("moveRejected 0 Stale turn 0, current turn is 1",
+        "moveRejected 2 Stale turn 2, current turn is 1"), moverChannel.take());
+
+    // Out of bounds, not an own piece, not adjacent, onto a friendly piece
+    assertRejected(mover, 1, -1, tgtTileId, "Tile out of bounds");
+    assertRejected(mover, 1, srcTileId, BoardUtils.TOTAL_BOARD_TILES, "Tile out of bounds");
+    assertRejected(mover, 1, tgtTileId, srcTileId, "No own piece to move");
+    assertRejected(mover, 1, waiterTileId, tgtTileId, "No own piece to move");
+    assertRejected(mover, 1, srcTileId, getAdvancedTileId(mover, tgtTileId), "Illegal move");
+    assertRejected(mover, 1, srcTileId, FormationBook.getTileId(mover, MOVER_INDEX - 1), "Illegal move");
+    assertTrue(waiterChannel.take().isEmpty());
+    assertEquals(1, match.getCurrTurn());
+    assertSame(mover, match.getCurrTurnMaker());
+
+    // The turn is still the mover's, and only the made move is told to both
+    assertEquals(MoveType.NORMAL, match.makeMove(mover, 1, srcTileId, tgtTileId));
+    final String made = "moveMade 1 " + srcTileId + " " + tgtTileId + " NORMAL";
+    assertEquals(Arrays.asList(made), moverChannel.take());
+    assertEquals(Arrays.asList(made), waiterChannel.take());
+    assertEquals(2, match.getCurrTurn());
+
+    // A resent move is now out of turn
+    assertEquals(MoveType.INVALID, match.makeMove(mover, 1, tgtTileId, getAdvancedTileId(mover, tgtTileId)));
+    assertEquals(Arrays.asList("moveRejected 1 Not your turn"), moverChannel.take());
+  }
+
+  @Test
+  @DisplayName("Test ServerMatch.resume() replaying the missed moves")
+  void resumeTest() {
+    assertNull(match.resume("m1.unknown", new Channel(), 0));
+
+    // Resumed before the game started, nothing to replay
+    final Channel arranging = new Channel();
+    assertEquals(Alliance.WHITE, match.resume(match.getSessionToken(Alliance.WHITE), arranging, 0));
+    assertEquals(Arrays.asList("sessionTaken"), white.take());
+    assertEquals(Arrays.asList("resumed WHITE"), arranging.take());
+    white = arranging;
+
+    // Resumed while arranging, the kept arrangement is told back until submitted
+    final byte[] swapped = createFormation();
+    swapped[0] = swapped[MOVER_INDEX];
+    swapped[MOVER_INDEX] = BoardUtils.FLAG_CODE;
+    assertTrue(match.arrangeFormation(Alliance.WHITE, createFormation()));
+    assertTrue(match.arrangeFormation(Alliance.WHITE, swapped));
+    assertEquals(Alliance.WHITE, match.resume(match.getSessionToken(Alliance.WHITE), white, 0));
+    assertEquals(Arrays.asList("resumed WHITE", "arrangement " + BoardUtils.SPY_CODE), white.take());
+
+    startGame();
+    final List<String> made = playMoves(3);
+    final List<String> events = white.take();
+    final String started = events.get(0);
+    assertEquals(made, events.subList(1, events.size()));
+
+    // Dropped connection, then resumed from each last received turn
+    final int disconnection = match.disconnect(Alliance.WHITE, white);
+    assertTrue(disconnection > 0);
+    Channel resumed = null;
+    for (int lastTurnId = 0; lastTurnId <= made.size(); lastTurnId++) {
+      resumed = new Channel();
+      assertEquals(Alliance.WHITE, match.resume(match.getSessionToken(Alliance.WHITE), resumed, lastTurnId));
+
+      final List<String> expected = new ArrayList<String>();
+      expected.add("resumed WHITE");
+      if (lastTurnId == 0)
+        expected.add(started);
+      expected.addAll(made.subList(lastTurnId, made.size()));
+      assertEquals(expected, resumed.take(), "Resumed from turn " + lastTurnId);
+    }
+
+    // Resumed in time, the stale disconnection no longer forfeits
+    match.expireDisconnection(Alliance.WHITE, disconnection);
+    assertEquals(ServerMatch.State.PLAYING, match.getState());
+    assertEquals(-1, match.disconnect(Alliance.WHITE, white));
+
+    // Unresumed, it does, and the result is told on resuming
+    final int expired = match.disconnect(Alliance.WHITE, resumed);
+    match.expireDisconnection(Alliance.WHITE, expired);
+    assertEquals(ServerMatch.State.GAME_OVER, match.getState());
+    assertSame(Alliance.BLACK, match.getWinner());
+    final List<String> blackEvents = black.take();
+    assertEquals("gameOver BLACK", blackEvents.get(blackEvents.size() - 1));
+
+    final Channel late = new Channel();
+    match.resume(match.getSessionToken(Alliance.WHITE), late, made.size());
+    assertEquals(Arrays.asList("resumed WHITE", "gameOver BLACK"), late.take());
+  }
+
+  private void assertRejected(Alliance alliance, int turnId, int srcTileId, int tgtTileId, String reason) {
+    assertEquals(MoveType.INVALID, match.makeMove(alliance, turnId, srcTileId, tgtTileId));
+    assertEquals(Arrays.asList("moveRejected " + turnId + " " + reason), getChannel(alliance).take());
+  }
+
+  private void startGame() {
+    assertTrue(match.submitFormation(Alliance.WHITE, createFormation()));
+    assertTrue(match.submitFormation(Alliance.BLACK, createFormation()));
+    assertEquals(ServerMatch.State.PLAYING, match.getState());
+  }
+
+  /**
+   * Makes moves advancing the mover piece of either player in turn, the
+   * pieces staying in their own half of the board.
+   * @return List of the told moves.
+   */
+  private List<String> playMoves(int count) {
+    final List<String> made = new ArrayList<String>();
+    final int[] tileIds = {
+      FormationBook.getTileId(Alliance.WHITE, MOVER_INDEX), FormationBook.getTileId(Alliance.BLACK, MOVER_INDEX)
+    };
+
+    for (int turnId = 1; turnId <= count; turnId++) {
+      final Alliance alliance = match.getCurrTurnMaker();
+      final int index = alliance == Alliance.WHITE ? 0 : 1;
+      final int tgtTileId = getAdvancedTileId(alliance, tileIds[index]);
+      assertEquals(MoveType.NORMAL, match.makeMove(alliance, turnId, tileIds[index], tgtTileId));
+      made.add("moveMade " + turnId + " " + tileIds[index] + " " + tgtTileId + " NORMAL");
+      tileIds[index] = tgtTileId;
+    }
+
+    return made;
+  }
+
+  private Channel getChannel(Alliance alliance) {
+    return alliance == Alliance.WHITE ? white : black;
+  }
+
+  private static Alliance getOpponent(Alliance alliance) {
+    return alliance == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+  }
+
+  /**
+   * Gets the Tile a row towards the enemy, BLACK starting on the lowest Tile ids.
+   */
+  private static int getAdvancedTileId(Alliance alliance, int tileId) {
+    return alliance == Alliance.BLACK ? tileId + BoardUtils.BOARD_TILES_COL_COUNT :
+      tileId - BoardUtils.BOARD_TILES_COL_COUNT;
+  }
+
+  /**
+   * Creates a formation of every rank, its pieces on the lowest territory
+   * indices, leaving the row ahead of the last one free.
+   */
+  private static byte[] createFormation() {
+    final byte[] formation = new byte[FormationBook.TERRITORY_TILES];
+    int index = 0;
+    for (int rankCode = BoardUtils.FLAG_CODE; rankCode <= BoardUtils.SPY_CODE; rankCode++)
+      for (int i = 0; i < BoardUtils.getRankCodeCount(rankCode); i++)
+        formation[index++] = (byte) rankCode;
+    return formation;
+  }
+}
@@ -0,0 +1,243 @@
+package com.markl.game.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.markl.game.ai.mcts.RolloutEngine;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.BoardUtils;
+import com.markl.game.engine.board.CompactBoard;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.util.XorShiftRandom;
+
+/**
+ * Offline pipeline that writes the {@link FormationBook} sampled at game
+ * start. Formations are scored by their win rate in self-play:
+ *   1. Random candidate formations are generated.
+ *   2. Screening, every candidate plays against random candidates.
+ *   3. Finals, the best candidates play more games against each other.
+ *   4. The best finalists are written, weighted by their final win rate.
+ *
+ * Games are random playouts of {@link RolloutEngine}, which are cheap enough
+ * to play hundreds of games per formation. Games reaching the ply limit count
+ * as half a win. Each formation plays both sides and the first move maker is
+ * drawn at random.
+ *
+ * Usage: FormationBookGenerator <output file> [candidates] [book size] [games] [seed]
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class FormationBookGenerator {
+
+  private static final int DEFAULT_CANDIDATES = 8192;
+  private static final int DEFAULT_BOOK_SIZE  = 512;
+  private static final int DEFAULT_GAMES      = 256; // Final games per formation, screening plays a quarter
+  private static final int FINALISTS_FACTOR   = 4;   // Finalists per book formation
+  private static final int MAX_PLIES          = 400;
+  private static final int WEIGHT_SCALE       = 1000;
+
+  private final byte[][] candidates;
+  private final int games;
+  private final long seed;
+  private final ExecutorService executor;
+
+  private FormationBookGenerator(final int candidatesCount, final int games, final long seed) {
+    this.games = games;
+    this.seed = seed;
+    this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    this.candidates = new byte[candidatesCount][];
+
+    final XorShiftRandom random = new XorShiftRandom(seed);
+    for (int i = 0; i < candidatesCount; i++)
+      candidates[i] = createRandomFormation(random);
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+    if (args.length < 1) {
+      System.err.println("Usage: FormationBookGenerator <output file> [candidates] [book size] [games] [seed]");
+      System.exit(1);
+    }
+
+    final File file = new File(args[0]);
+    final int candidatesCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CANDIDATES;
+    final int bookSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BOOK_SIZE;
+    final int games = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_GAMES;
+    final long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+    if (bookSize <= 1 || candidatesCount < bookSize || games < 4)
+      throw new IllegalArgumentException("Requires 1 < book size <= candidates and at least 4 games");
+
+    final FormationBookGenerator generator = new FormationBookGenerator(candidatesCount, games, seed);
+    try {
+      final long start = System.currentTimeMillis();
+      generator.generate(file, bookSize);
+      System.out.println("Wrote " + bookSize + " formations to " + file + " in " +
+          (System.currentTimeMillis() - start) / 1000 + "s");
+    } finally {
+      generator.executor.shutdownNow();
+    }
+  }
+
+  private void generate(final File file, final int bookSize)
+    throws IOException, InterruptedException, ExecutionException
+  {
+    // Screening against the whole candidate pool
+    final int[] all = new int[candidates.length];
+    for (int i = 0; i < all.length; i++)
+      all[i] = i;
+    final double[] screeningScores = playAll(all, all, games / 4, 0);
+    System.out.println("Screened " + all.length + " candidates, best win rate " + max(screeningScores));
+
+    // Finals among the best candidates
+    final int[] finalists = getBest(all, screeningScores, Math.min(bookSize * FINALISTS_FACTOR, all.length));
+    final double[] finalScores = playAll(finalists, finalists, games, 1);
+    final int[] ranked = getBest(finalists, finalScores, finalists.length);
+    System.out.println("Played " + finalists.length + " finalists, best win rate " + max(finalScores));
+
+    final double[] scoreOf = new double[candidates.length];
+    for (int i = 0; i < finalists.length; i++)
+      scoreOf[finalists[i]] = finalScores[i];
+
+    final byte[][] formations = new byte[bookSize][];
+    final int[] weights = new int[bookSize];
+    for (int i = 0; i < bookSize; i++) {
+      formations[i] = candidates[ranked[i]];
+      weights[i] = Math.max(1, (int) Math.round(scoreOf[ranked[i]] * WEIGHT_SCALE));
+    }
+
+    final OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+    try {
+      FormationBook.write(out, formations, weights);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Plays games of each player against random opponents of a pool.
+   * @param players   candidate indices to score.
+   * @param opponents candidate indices to draw the opponents from.
+   * @param games     games per player.
+   * @param stage     stage number, keeps the games of each stage independent.
+   * @return double[] win rate of each player.
+   */
+  private double[] playAll(final int[] players, final int[] opponents, final int games,
+      final int stage) throws InterruptedException, ExecutionException
+  {
+    final List<Future<Double>> futures = new ArrayList<>(players.length);
+    for (final int player : players) {
+      final long taskSeed = seed ^ ((long) stage << 32 | player) * 0x9E3779B97F4A7C15L;
+      futures.add(executor.submit(new Callable<Double>() {
+        @Override
+        public Double call() {
+          return play(player, opponents, games, taskSeed);
+        }
+      }));
+    }
+
+    final double[] scores = new double[players.length];
+    for (int i = 0; i < scores.length; i++)
+      scores[i] = futures.get(i).get();
+
+    return scores;
+  }
+
+  private double play(final int player, final int[] opponents, final int games, final long taskSeed) {
+    final XorShiftRandom random = new XorShiftRandom(taskSeed);
+    final RolloutEngine rollout = new RolloutEngine(taskSeed);
+    final CompactBoard board = new CompactBoard();
+    double points = 0;
+
+    for (int game = 0; game < games; game++) {
+      int opponent;
+      do {
+        opponent = opponents[random.nextInt(opponents.length)];
+      } while (opponent == player);
+
+      final Alliance alliance = (game & 1) == 0 ? Alliance.BLACK : Alliance.WHITE;
+      final Alliance enemyAlliance = alliance == Alliance.BLACK ? Alliance.WHITE : Alliance.BLACK;
+      board.clear();
+      placeFormation(board, candidates[player], alliance);
+      placeFormation(board, candidates[opponent], enemyAlliance);
+
+      rollout.load(board);
+      final Alliance winner = rollout.play(random.nextBoolean() ? alliance : enemyAlliance, MAX_PLIES);
+      if (winner == alliance)
+        points += 1;
+      else if (winner == null)
+        points += 0.5;
+    }
+
+    return points / games;
+  }
+
+  private static void placeFormation(final CompactBoard board, final byte[] formation,
+      final Alliance alliance)
+  {
+    for (int i = 0; i < FormationBook.TERRITORY_TILES; i++)
+      if (formation[i] != BoardUtils.EMPTY_CODE)
+        board.setPiece(FormationBook.getTileId(alliance, i), BoardUtils.encodePiece(formation[i], alliance));
+  }
+
+  /**
+   * Creates a formation with the legal piece set on random territory Tiles.
+   */
+  private static byte[] createRandomFormation(final XorShiftRandom random) {
+    final byte[] formation = new byte[FormationBook.TERRITORY_TILES];
+    int size = 0;
+    for (int rankCode = 1; rankCode <= BoardUtils.RANK_CODE_COUNT; rankCode++)
+      for (int i = 0; i < BoardUtils.getRankCodeCount(rankCode); i++)
+        formation[size++] = (byte) rankCode;
+
+    // Fisher-Yates shuffle, empty Tiles included
+    for (int i = formation.length - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final byte tmp = formation[i];
+      formation[i] = formation[j];
+      formation[j] = tmp;
+    }
+
+    return formation;
+  }
+
+  /**
+   * Gets the candidate indices with the highest scores, best first.
+   */
+  private static int[] getBest(final int[] indices, final double[] scores, final int count) {
+    final Integer[] order = new Integer[indices.length];
+    for (int i = 0; i < order.length; i++)
+      order[i] = i;
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer a, Integer b) {
+        return Double.compare(scores[b], scores[a]);
+      }
+    });
+
+    final int[] best = new int[count];
+    for (int i = 0; i < count; i++)
+      best[i] = indices[order[i]];
+
+    return best;
+  }
+
+  private static double max(final double[] values) {
+    double max = 0;
+    for (final double value : values)
+      max = Math.max(max, value);
+    return max;
+  }
+}
@@ -0,0 +1,86 @@
+package com.markl.game.tools;
+
+/**
+ * Results of the games between two tournament players, from the point of
+ * view of the first player, and the Elo difference they imply.
+ *
+ * The Elo difference follows from the score rate p as -400 * log10(1 / p - 1).
+ * Its 95% confidence interval is derived from the standard error of the mean
+ * game score, thus narrows with the square root of the amount of games.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class MatchStats {
+
+  private static final double Z_95 = 1.959964; // Two sided 95% normal quantile
+
+  private int wins;
+  private int draws;
+  private int losses;
+
+  public void addWin()  { this.wins++; }
+  public void addDraw() { this.draws++; }
+  public void addLoss() { this.losses++; }
+
+  public int getWins()   { return this.wins; }
+  public int getDraws()  { return this.draws; }
+  public int getLosses() { return this.losses; }
+  public int getGames()  { return this.wins + this.draws + this.losses; }
+
+  /**
+   * Gets the mean game score, a win being 1 and a draw 0.5.
+   * @return double score rate from 0 to 1, NaN if no games.
+   */
+  public double getScore() {
+    return (wins + draws * 0.5) / getGames();
+  }
+
+  /**
+   * Gets the Elo difference of the first player to the second.
+   * @return double Elo difference. Infinite if either player scored nothing.
+   */
+  public double getElo() {
+    return toElo(getScore());
+  }
+
+  /**
+   * Gets the half width of the 95% confidence interval of the score.
+   * @return double score margin.
+   */
+  public double getScoreMargin() {
+    final int games = getGames();
+    final double score = getScore();
+    final double variance = (wins * sq(1 - score) + draws * sq(0.5 - score) +
+        losses * sq(score)) / games;
+
+    return Z_95 * Math.sqrt(variance / games);
+  }
+
+  /**
+   * Gets the lower bound of the 95% confidence interval of the Elo difference.
+   */
+  public double getEloLow() {
+    return toElo(getScore() - getScoreMargin());
+  }
+
+  /**
+   * Gets the upper bound of the 95% confidence interval of the Elo difference.
+   */
+  public double getEloHigh() {
+    return toElo(getScore() + getScoreMargin());
+  }
+
+  private static double toElo(final double score) {
+    if (score <= 0)
+      return Double.NEGATIVE_INFINITY;
+    if (score >= 1)
+      return Double.POSITIVE_INFINITY;
+
+    return -400 * Math.log10(1 / score - 1);
+  }
+
+  private static double sq(final double value) {
+    return value * value;
+  }
+}
@@ -0,0 +1,98 @@
+package com.markl.game.tools;
+
+import java.util.Random;
+
+import com.markl.game.ai.mcts.AIMCTS;
+import com.markl.game.ai.minimax.AI;
+import com.markl.game.ai.minimax.AIDumb;
+import com.markl.game.ai.minimax.AIMinimax;
+
+/**
+ * Tournament player configuration parsed from the command line. Formats:
+ *   dumb
+ *   minimax[:depth[:thinkMillis[:disposition]]]
+ *   mcts[:maxIterations[:thinkMillis]]
+ *
+ * A new AI is created for every game since AIs keep per game state, e.g. the
+ * rank beliefs of the enemy pieces.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class PlayerSpec {
+
+  private static final int DEFAULT_DEPTH           = 4;
+  private static final long DEFAULT_THINK_MILLIS   = 200;
+  private static final int DEFAULT_MCTS_ITERATIONS = 100000;
+
+  private final String name;
+  private final String type;
+  private final int depth;           // Max search depth, or max iterations of mcts
+  private final long thinkTimeMillis;
+  private final AIMinimax.Disposition disposition;
+
+  private PlayerSpec(String name, String type, int depth, long thinkTimeMillis,
+      AIMinimax.Disposition disposition)
+  {
+    this.name = name;
+    this.type = type;
+    this.depth = depth;
+    this.thinkTimeMillis = thinkTimeMillis;
+    this.disposition = disposition;
+  }
+
+  /**
+   * Parses a player configuration.
+   * @param spec configuration, see class documentation.
+   * @return PlayerSpec of the configuration.
+   */
+  public static PlayerSpec parse(final String spec) {
+    final String[] parts = spec.split(":");
+    final String type = parts[0].toLowerCase();
+
+    switch (type) {
+      case "dumb":
+        return new PlayerSpec(spec, type, 0, 0, null);
+
+      case "minimax":
+        return new PlayerSpec(spec, type,
+            parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_DEPTH,
+            parts.length > 2 ? Long.parseLong(parts[2]) : DEFAULT_THINK_MILLIS,
+            parts.length > 3 ? AIMinimax.Disposition.valueOf(parts[3].toUpperCase()) :
+            AIMinimax.Disposition.AGGRESSIVE);
+
+      case "mcts":
+        return new PlayerSpec(spec, type,
+            parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_MCTS_ITERATIONS,
+            parts.length > 2 ? Long.parseLong(parts[2]) : DEFAULT_THINK_MILLIS,
+            null);
+
+      default:
+        throw new IllegalArgumentException("Unknown player type " + parts[0]);
+    }
+  }
+
+  /**
+   * Creates a new AI of this configuration. Searches run single threaded
+   * since games are played in parallel.
+   * @param seed random seed of AIs that use randomness.
+   * @return AI new instance.
+   */
+  public AI createAI(final long seed) {
+    switch (type) {
+      case "minimax":
+        return new AIMinimax(depth, thinkTimeMillis, 1, disposition);
+      case "mcts":
+        return new AIMCTS(depth, thinkTimeMillis, AIMCTS.DEFAULT_PLAYOUTS_PER_SAMPLE, seed);
+      default:
+        return new AIDumb(new Random(seed));
+    }
+  }
+
+  public String getName() { return this.name; }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
@@ -0,0 +1,250 @@
+package com.markl.game.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.markl.game.Gog;
+import com.markl.game.ai.minimax.AI;
+import com.markl.game.engine.board.Alliance;
+import com.markl.game.engine.board.Board;
+import com.markl.game.engine.board.BoardBuilder;
+import com.markl.game.engine.board.FormationBook;
+import com.markl.game.engine.board.Move;
+import com.markl.game.util.Log;
+
+/**
+ * Headless round robin tournament between AI configurations. Every pair of
+ * players plays the same seeded formations twice with swapped sides, so that
+ * neither the formations nor the side favor a player. Games run in parallel,
+ * one per thread, and games reaching the ply limit are draws.
+ *
+ * Reports the win/draw/loss and Elo difference with its 95% confidence
+ * interval of every pair, and the average time per move and search speed of
+ * every player.
+ *
+ * Usage: TournamentRunner [-games N] [-threads N] [-seed N] [-maxPlies N]
+ *          [-book FILE] PLAYER PLAYER [PLAYER...]
+ * See {@link PlayerSpec} for the player formats.
+ *
+ * @author Mark Lucernas
+ * Created on 10/18/2026.
+ */
+public final class TournamentRunner {
+
+  private static final int DEFAULT_GAMES     = 100; // Games per pair
+  private static final int DEFAULT_MAX_PLIES = 300;
+
+  private final List<PlayerSpec> players = new ArrayList<>();
+  private int games = DEFAULT_GAMES;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private long seed = System.nanoTime();
+  private int maxPlies = DEFAULT_MAX_PLIES;
+  private FormationBook book;
+
+  /** Outcome and search costs of a single game */
+  private static final class GameResult {
+    int firstPlayer;  // Player index playing BLACK
+    int secondPlayer; // Player index playing WHITE
+    Alliance winner;  // Null if drawn
+    final int[] moves = new int[2];
+    final long[] nanos = new long[2];
+    final long[] nodes = new long[2];
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+    final TournamentRunner runner = new TournamentRunner();
+    try {
+      runner.parseArgs(args);
+    } catch (RuntimeException e) {
+      System.err.println(e.getMessage());
+      System.err.println("Usage: TournamentRunner [-games N] [-threads N] [-seed N] [-maxPlies N] " +
+          "[-book FILE] PLAYER PLAYER [PLAYER...]");
+      System.err.println("Players: dumb | minimax[:depth[:thinkMillis[:disposition]]] | " +
+          "mcts[:maxIterations[:thinkMillis]]");
+      System.exit(1);
+    }
+
+    // Keep the report free of the per move search logs
+    Log.setLogger(Log.NONE);
+    runner.run(System.out);
+  }
+
+  private void parseArgs(final String[] args) throws IOException {
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "-games":    this.games = Integer.parseInt(args[++i]); break;
+        case "-threads":  this.threads = Integer.parseInt(args[++i]); break;
+        case "-seed":     this.seed = Long.parseLong(args[++i]); break;
+        case "-maxPlies": this.maxPlies = Integer.parseInt(args[++i]); break;
+        case "-book":     this.book = FormationBook.open(new File(args[++i])); break;
+        default:          players.add(PlayerSpec.parse(args[i]));
+      }
+    }
+
+    if (players.size() < 2)
+      throw new IllegalArgumentException("At least two players are required");
+    if (games < 2 || threads < 1 || maxPlies < 1)
+      throw new IllegalArgumentException("Requires at least 2 games, 1 thread and 1 ply");
+
+    // Each formation is played from both sides
+    this.games += games & 1;
+  }
+
+  private void run(final PrintStream out) throws InterruptedException, ExecutionException {
+    final int n = players.size();
+    final MatchStats[][] stats = new MatchStats[n][n];
+    final long[] moves = new long[n];
+    final long[] nanos = new long[n];
+    final long[] nodes = new long[n];
+
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CompletionService<GameResult> completion = new ExecutorCompletionService<>(executor);
+    int submitted = 0;
+
+    out.println("Tournament seed " + seed + ", " + games + " games per pair, " + threads + " threads");
+
+    try {
+      for (int i = 0; i < n; i++) {
+        for (int j = i + 1; j < n; j++) {
+          stats[i][j] = new MatchStats();
+          for (int game = 0; game < games; game++) {
+            final int black = (game & 1) == 0 ? i : j;
+            final int white = (game & 1) == 0 ? j : i;
+            final long gameSeed = seed + game / 2;
+            completion.submit(new Callable<GameResult>() {
+              @Override
+              public GameResult call() {
+                return playGame(black, white, gameSeed);
+              }
+            });
+            submitted++;
+          }
+        }
+      }
+
+      final long start = System.currentTimeMillis();
+      for (int done = 1; done <= submitted; done++) {
+        final GameResult result = completion.take().get();
+        final int first = Math.min(result.firstPlayer, result.secondPlayer);
+        final MatchStats match = stats[first][Math.max(result.firstPlayer, result.secondPlayer)];
+        final Alliance firstAlliance = first == result.firstPlayer ? Alliance.BLACK : Alliance.WHITE;
+
+        if (result.winner == null)
+          match.addDraw();
+        else if (result.winner == firstAlliance)
+          match.addWin();
+        else
+          match.addLoss();
+
+        final int[] sidePlayers = {result.firstPlayer, result.secondPlayer};
+        for (int side = 0; side < 2; side++) {
+          moves[sidePlayers[side]] += result.moves[side];
+          nanos[sidePlayers[side]] += result.nanos[side];
+          nodes[sidePlayers[side]] += result.nodes[side];
+        }
+
+        if (done % Math.max(1, submitted / 10) == 0)
+          out.println("Played " + done + "/" + submitted + " games in " +
+              (System.currentTimeMillis() - start) / 1000 + "s");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    out.println();
+    out.println(String.format("%-40s %6s %6s %6s %6s %7s  %s",
+          "Pair", "Games", "W", "D", "L", "Score", "Elo (95% CI)"));
+    for (int i = 0; i < n; i++) {
+      for (int j = i + 1; j < n; j++) {
+        final MatchStats match = stats[i][j];
+        out.println(String.format("%-40s %6d %6d %6d %6d %6.1f%%  %s [%s, %s]",
+              players.get(i) + " vs " + players.get(j), match.getGames(),
+              match.getWins(), match.getDraws(), match.getLosses(), match.getScore() * 100,
+              formatElo(match.getElo()), formatElo(match.getEloLow()), formatElo(match.getEloHigh())));
+      }
+    }
+
+    out.println();
+    out.println(String.format("%-40s %8s %12s %14s", "Player", "Moves", "ms/move", "nodes/s"));
+    for (int i = 0; i < n; i++) {
+      out.println(String.format("%-40s %8d %12.2f %14.0f", players.get(i), moves[i],
+            moves[i] == 0 ? 0 : nanos[i] / 1e6 / moves[i],
+            nanos[i] == 0 ? 0 : nodes[i] * 1e9 / nanos[i]));
+    }
+  }
+
+  /**
+   * Plays a single game on a seeded formation. WHITE moves first.
+   * @param black    player index playing BLACK.
+   * @param white    player index playing WHITE.
+   * @param gameSeed seed of the formations and of the AIs.
+   * @return GameResult of the game.
+   */
+  private GameResult playGame(final int black, final int white, final long gameSeed) {
+    final Gog gog = new Gog();
+    final Board board = gog.getBoard();
+    final BoardBuilder builder = gog.getBoardBuilder();
+
+    // Own random per game, the shared Utils random is drawn from by every thread
+    builder.setRandom(new Random(gameSeed));
+    builder.createBoardBookBuild(book);
+    builder.build(true);
+
+    gog.enterGame();
+    gog.setFirstMoveMaker(Alliance.WHITE);
+    gog.start();
+
+    // Gog holds a single AI, thus the AIs are attached to the game directly
+    final AI[] ais = {
+      players.get(black).createAI(gameSeed),
+      players.get(white).createAI(gameSeed ^ 0x5DEECE66DL)
+    };
+    ais[0].setGog(gog);
+    ais[0].setAIAlliance(Alliance.BLACK);
+    ais[1].setGog(gog);
+    ais[1].setAIAlliance(Alliance.WHITE);
+
+    final GameResult result = new GameResult();
+    result.firstPlayer = black;
+    result.secondPlayer = white;
+
+    try {
+      for (int ply = 0; ply < maxPlies && gog.isPlaying(); ply++) {
+        final int side = gog.getCurrTurnMaker() == Alliance.BLACK ? 0 : 1;
+        final long start = System.nanoTime();
+        final Move move = ais[side].generateMove();
+        result.nanos[side] += System.nanoTime() - start;
+        result.nodes[side] += ais[side].getNodeCount();
+        result.moves[side]++;
+
+        if (move == null)
+          break;
+
+        board.move(new Move(gog.getCurrTurnMakerPlayer(), board,
+              move.getSrcTileId(), move.getTgtTileId()), false);
+      }
+    } finally {
+      ais[0].dispose();
+      ais[1].dispose();
+    }
+
+    result.winner = gog.getWinnerPlayer() == null ? null : gog.getWinnerPlayer().getAlliance();
+    return result;
+  }
+
+  private static String formatElo(final double elo) {
+    if (Double.isInfinite(elo))
+      return elo > 0 ? "+inf" : "-inf";
+    return String.format("%+.0f", elo + 0.0); // Adding 0 turns -0 into 0
+  }
+}